@@ -2,6 +2,8 @@ package com.car_rental.car_rental_system.advisor;
 
 import com.car_rental.car_rental_system.dto.ResponseDTO;
 import com.car_rental.car_rental_system.exceptions.BadCredentials;
+import com.car_rental.car_rental_system.exceptions.ServiceBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,6 +30,16 @@ public class AppWideExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDTO(false,e.getMessage()));
     }
 
+    @ExceptionHandler({IllegalArgumentException.class})
+    public ResponseEntity<ResponseDTO> handleIllegalArgumentException(IllegalArgumentException e){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDTO(false,e.getMessage()));
+    }
+
+    @ExceptionHandler({ServiceBusyException.class})
+    public ResponseEntity<ResponseDTO> handleServiceBusyException(ServiceBusyException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(new ResponseDTO(false,e.getMessage()));
+    }
+
     @ExceptionHandler({UsernameNotFoundException.class})
     public ResponseEntity<ResponseDTO> handleCredentialsException(UsernameNotFoundException e){
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDTO(false,e.getMessage()));
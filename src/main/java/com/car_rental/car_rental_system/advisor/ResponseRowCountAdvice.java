@@ -0,0 +1,41 @@
+package com.car_rental.car_rental_system.advisor;
+
+import com.car_rental.car_rental_system.dto.ResponseDTO;
+import com.car_rental.car_rental_system.filter.RequestLoggingFilter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Records the number of rows in list responses for the request summary line of {@link RequestLoggingFilter}.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:15 pm
+ */
+
+@RestControllerAdvice
+public class ResponseRowCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ResponseDTO responseDTO && responseDTO.getBody() instanceof Collection<?> rows
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(RequestLoggingFilter.ROWS_ATTRIBUTE, rows.size());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,55 @@
+package com.car_rental.car_rental_system.advisor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every public method of the service implementations as {@code service.method}, tagged with the
+ * class, method and exception. With a sample rate below 1 only that share of calls is timed.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 10:40 pm
+ */
+
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private MeterRegistry meterRegistry;
+    private double sampleRate;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, @Value("${app.metrics.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Around("execution(public * com.car_rental.car_rental_system.service.impl.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .description("Time spent in service methods")
+                    .tags("class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                            "method", joinPoint.getSignature().getName(),
+                            "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.car_rental.car_rental_system.config;
 
+import com.car_rental.car_rental_system.dto.UserPrincipal;
 import com.car_rental.car_rental_system.entity.Admin;
 import com.car_rental.car_rental_system.repo.AdminRepository;
 import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.util.CacheInvalidator;
+import com.car_rental.car_rental_system.util.PrincipalCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -21,10 +25,15 @@ public class ApplicationConfig {
 
     private AdminRepository adminRepository;
     private UserRepository userRepository;
+    private PrincipalCache principalCache;
+    private CacheInvalidator cacheInvalidator;
 
-    public ApplicationConfig(AdminRepository adminRepository, UserRepository userRepository) {
+    public ApplicationConfig(AdminRepository adminRepository, UserRepository userRepository, PrincipalCache principalCache,
+                             CacheInvalidator cacheInvalidator) {
         this.adminRepository = adminRepository;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Bean
@@ -38,21 +47,33 @@ public class ApplicationConfig {
                     throw new UsernameNotFoundException("User not found with username: " + username);
                 }
 
-                return User.builder()
-                        .username(user.getUsername())
-                        .password(user.getPassword())
-                        .authorities(user.getRole())
-                        .build();
+                return new UserPrincipal(user.getUid(), false, user.getUsername(), user.getPassword(),
+                        AuthorityUtils.createAuthorityList(user.getRole()));
             } else {
-                return User.builder()
-                        .username(admin.getUsername())
-                        .password(admin.getPassword())
-                        .authorities(admin.getRole())
-                        .build();
+                return new UserPrincipal(admin.getId(), true, admin.getUsername(), admin.getPassword(),
+                        AuthorityUtils.createAuthorityList(admin.getRole()));
             }
         };
     }
 
+    /**
+     * Stores the password hash rehashed at the current BCrypt cost after a successful login with a hash of
+     * a lower cost, so stored hashes follow the cost without users changing their passwords.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (principal, encodedPassword) -> {
+            if (adminRepository.updatePassword(principal.getUsername(), encodedPassword) == 0) {
+                userRepository.updatePassword(principal.getUsername(), encodedPassword);
+            }
+            principalCache.invalidate(principal.getUsername());
+            cacheInvalidator.evictUser(principal instanceof UserPrincipal user ? user.getUid() : 0, principal.getUsername());
+            return principal instanceof UserPrincipal user
+                    ? new UserPrincipal(user.getUid(), user.isAdmin(), user.getUsername(), encodedPassword, user.getAuthorities())
+                    : principal;
+        };
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,23 @@
+package com.car_rental.car_rental_system.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on the caches in front of vehicle and user lookups. The cache provider is chosen with
+ * {@code spring.cache.type}: an in-process Caffeine cache by default, a shared cache such as Redis when
+ * several nodes serve the application, and a simple map in tests.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:40 pm
+ */
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String VEHICLES_BY_PLATE = "vehiclesByPlate";
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+}
@@ -0,0 +1,75 @@
+package com.car_rental.car_rental_system.config;
+
+import com.car_rental.car_rental_system.util.PasswordHasher;
+import com.car_rental.car_rental_system.util.QueryMetrics;
+import com.car_rental.car_rental_system.util.RateLimiter;
+import com.car_rental.car_rental_system.util.RideRequestEventHub;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 10:45 pm
+ */
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registers the listener counting the statements each Hibernate session runs.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryMetricsCustomizer() {
+        return properties -> properties.put("hibernate.session.events.auto", QueryMetrics.Listener.class.getName());
+    }
+
+    /**
+     * Registers the number of open ride request event streams.
+     */
+    @Bean
+    public MeterBinder rideRequestStreamsMetrics(RideRequestEventHub eventHub) {
+        return registry -> Gauge.builder("rental.request.streams", eventHub, RideRequestEventHub::size)
+                .description("Open ride request event streams")
+                .register(registry);
+    }
+
+    /**
+     * Registers the queue depth, busy threads and rejections of the password hashing pool.
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("rental.password.queue", passwordHasher, PasswordHasher::queued)
+                    .description("Password hashing tasks waiting for a thread")
+                    .register(registry);
+            Gauge.builder("rental.password.active", passwordHasher, PasswordHasher::active)
+                    .description("Password hashing tasks running")
+                    .register(registry);
+            FunctionCounter.builder("rental.password.rejected", passwordHasher, PasswordHasher::rejected)
+                    .description("Password hashing tasks turned away because the pool was full")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Registers the requests each rate limit bucket turned away and the number of client buckets in use.
+     */
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            for (RateLimiter.Limit limit : rateLimiter.limits()) {
+                FunctionCounter.builder("rental.ratelimit.rejected", limit, RateLimiter.Limit::rejectedCount)
+                        .description("Requests turned away with 429 because the client's bucket was empty")
+                        .tag("bucket", limit.name())
+                        .register(registry);
+            }
+            Gauge.builder("rental.ratelimit.clients", rateLimiter, RateLimiter::size)
+                    .description("Client rate limit buckets in use")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.car_rental.car_rental_system.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Non-blocking database access for the reactive read endpoints, over an R2DBC connection pool configured
+ * with {@code spring.r2dbc.*}. Writes keep going through JPA and its transactions, so no reactive
+ * transaction manager is set up.
+ * <p>
+ * The pool is not exposed as a bean: Spring Boot skips the JDBC DataSource, and with it JPA, as soon as
+ * an R2DBC ConnectionFactory bean exists.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 02:40 am
+ */
+
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(R2dbcProperties properties) {
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build())
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        if (pool.getValidationQuery() != null) {
+            builder.validationQuery(pool.getValidationQuery());
+        }
+        this.connectionPool = new ConnectionPool(builder.build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
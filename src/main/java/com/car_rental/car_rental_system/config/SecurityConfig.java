@@ -1,6 +1,9 @@
 package com.car_rental.car_rental_system.config;
 
 import com.car_rental.car_rental_system.filter.JwtAuthFilter;
+import com.car_rental.car_rental_system.filter.RateLimitFilter;
+import com.car_rental.car_rental_system.util.PasswordHasher;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,8 +16,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -31,12 +34,19 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private JwtAuthFilter jwtFilter;
+    private RateLimitFilter rateLimitFilter;
     private AuthenticationProvider authenticationProvider;
     private UserDetailsService userDetailsService;
+    private UserDetailsPasswordService userDetailsPasswordService;
+    private PasswordHasher passwordHasher;
 
-    public SecurityConfig(JwtAuthFilter jwtFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtFilter, RateLimitFilter rateLimitFilter, UserDetailsService userDetailsService,
+                          UserDetailsPasswordService userDetailsPasswordService, PasswordHasher passwordHasher) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
+        this.passwordHasher = passwordHasher;
     }
 
     @Bean
@@ -47,7 +57,10 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement((session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(HttpMethod.POST, "auth/**").permitAll()
+                        //An asynchronous response (streams, reactive endpoints) was authorized when the request came in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
 
 //                        .requestMatchers( "user/**").hasRole("USER")
 
@@ -56,6 +69,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                //Limited by username once the token is verified, by IP address otherwise
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
                 .authenticationManager(authenticationManager);
 
         return http.build();
@@ -72,6 +87,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        //Hashes of a lower cost than the current one are replaced after a successful login
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
 
         return provider;
     }
@@ -84,7 +101,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return passwordHasher.encoder();
     }
 
 }
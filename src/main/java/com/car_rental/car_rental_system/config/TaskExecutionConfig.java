@@ -0,0 +1,53 @@
+package com.car_rental.car_rental_system.config;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the caller's security context and logging context over to the tasks run by the application
+ * task executor, such as streamed responses. Spring Boot applies the decorator to both the platform
+ * thread pool and, with {@code spring.threads.virtual.enabled}, the virtual thread executor.
+ * <p>
+ * Transactions are not carried over: a task that reads the database opens its own.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 03:40 am
+ */
+
+@Configuration
+public class TaskExecutionConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return task -> {
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                SecurityContext previous = SecurityContextHolder.getContext();
+                Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+                SecurityContextHolder.setContext(securityContext);
+                setMdc(mdc);
+                try {
+                    task.run();
+                } finally {
+                    SecurityContextHolder.setContext(previous);
+                    setMdc(previousMdc);
+                }
+            };
+        };
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
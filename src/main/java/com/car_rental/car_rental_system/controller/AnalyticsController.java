@@ -0,0 +1,74 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.dto.ResponseDTO;
+import com.car_rental.car_rental_system.service.AnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 05:40 am
+ */
+
+@RestController
+@CrossOrigin
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Retrieves the fleet utilisation over a period, per day and model and for the most reserved vehicles.
+     *
+     * @param startDate The first day of the period
+     * @param endDate   The last day of the period
+     * @param limit     The maximum number of vehicles to retrieve
+     * @return ResponseEntity containing the daily and per vehicle utilisation
+     */
+    @GetMapping("/utilisation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getUtilisation(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving fleet utilisation", analyticsService.utilisation(startDate, endDate, limit)));
+    }
+
+    /**
+     * Retrieves the number of ride requests per pickup city and status.
+     *
+     * @return ResponseEntity containing the demand per city, the most pending first
+     */
+    @GetMapping("/demand")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getDemand() {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving demand per city", analyticsService.demand()));
+    }
+
+    /**
+     * Retrieves the approval and rejection rates and the booking lead times of the ride requests.
+     *
+     * @return ResponseEntity containing the outcomes of the ride requests
+     */
+    @GetMapping("/outcomes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getOutcomes() {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride request outcomes", analyticsService.outcomes()));
+    }
+
+    /**
+     * Rebuilds the ride request analytics from the database.
+     *
+     * @return ResponseEntity containing the number of ride requests the analytics were rebuilt from
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> rebuild() {
+        return ResponseEntity.ok(new ResponseDTO(true, "Analytics rebuilt", analyticsService.rebuild()));
+    }
+}
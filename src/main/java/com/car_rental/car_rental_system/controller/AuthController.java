@@ -2,17 +2,25 @@ package com.car_rental.car_rental_system.controller;
 
 import com.car_rental.car_rental_system.dto.AuthenticationRequest;
 import com.car_rental.car_rental_system.dto.AuthenticationResponse;
+import com.car_rental.car_rental_system.dto.RefreshTokenRequest;
 import com.car_rental.car_rental_system.dto.ResponseDTO;
 import com.car_rental.car_rental_system.dto.UserDTO;
+import com.car_rental.car_rental_system.exceptions.BadCredentials;
 import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.service.RefreshTokenService;
 import com.car_rental.car_rental_system.service.UserService;
+import com.car_rental.car_rental_system.util.PasswordHasher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author Dilan
  * @created 27/02/2024 - 01:55 pm
@@ -26,43 +34,100 @@ public class AuthController {
     private UserService userService;
     private AuthenticationManager authenticationManager;
     private JwtService jwtService;
+    private PasswordHasher passwordHasher;
+    private RefreshTokenService refreshTokenService;
 
-    public AuthController(UserService userService, AuthenticationManager authenticationManager, JwtService jwtService) {
+    public AuthController(UserService userService, AuthenticationManager authenticationManager, JwtService jwtService,
+                          PasswordHasher passwordHasher, RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.passwordHasher = passwordHasher;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
-     * Endpoint for user login.
+     * Endpoint for user login. The password is verified on the password hashing pool, and the request
+     * thread is released meanwhile.
      *
      * @param request The AuthenticationRequest containing username and password
-     * @return ResponseEntity containing the JWT token upon successful authentication
+     * @return ResponseEntity containing the access token and a refresh token upon successful authentication
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> Login(@RequestBody AuthenticationRequest request){
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> Login(@RequestBody AuthenticationRequest request){
+        return passwordHasher.submit(() -> {
 
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+            // Authenticate user
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
-        // Generate JWT token
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String jwtToken = jwtService.generateToken(userDetails.getUsername());
+            // Generate the access token and the first refresh token of a new family
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            return ResponseEntity.ok(refreshTokenService.issue(userDetails.getUsername()));
+        });
+    }
 
-        return ResponseEntity.ok(new AuthenticationResponse(jwtToken));
+    /**
+     * Endpoint for getting a new access token once the current one expires. The refresh token is used up
+     * and the next one is returned with the access token.
+     *
+     * @param request The RefreshTokenRequest containing the refresh token
+     * @return ResponseEntity containing the new access token and refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
     }
 
     /**
-     * Endpoint for user registration.
+     * Endpoint for user registration. The password is hashed on the password hashing pool, and the
+     * request thread is released meanwhile.
      *
      * @param dto The UserDTO containing user registration information
      * @return ResponseEntity with a success message upon successful registration
      */
     @PostMapping("/register")
-    public ResponseEntity<ResponseDTO> register(@RequestBody UserDTO dto){
-        userService.save(dto);
-        return ResponseEntity.ok(new ResponseDTO(true,"User saved"));
+    public CompletableFuture<ResponseEntity<ResponseDTO>> register(@RequestBody UserDTO dto){
+        return passwordHasher.submit(() -> {
+            userService.save(dto);
+            return ResponseEntity.ok(new ResponseDTO(true,"User saved"));
+        });
+    }
+
+    /**
+     * Endpoint for logging out. The token of the request is revoked, so it is refused from now on, and so
+     * is the family of the refresh token, if one is given.
+     *
+     * @param authorization The Authorization header carrying the token
+     * @param request       The RefreshTokenRequest containing the refresh token, if any
+     * @return ResponseEntity with a success message once the token is revoked
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ResponseDTO> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                              @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new BadCredentials("No token to log out");
+        }
+        jwtService.revoke(authorization.substring(7));
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(new ResponseDTO(true, "Logged out"));
+    }
+
+    /**
+     * Endpoint for revoking every token issued to a user so far, access and refresh tokens alike, such as
+     * for a deleted or compromised account.
+     *
+     * @param username The username whose tokens are revoked
+     * @return ResponseEntity with a success message once the tokens are revoked
+     */
+    @PostMapping("/revoke/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> revokeAll(@PathVariable String username) {
+        jwtService.revokeAll(username);
+        refreshTokenService.revokeAll(username);
+        return ResponseEntity.ok(new ResponseDTO(true, "Tokens of " + username + " revoked"));
     }
 
 }
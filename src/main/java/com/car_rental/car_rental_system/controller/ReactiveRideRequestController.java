@@ -0,0 +1,77 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.dto.ResponseDTO;
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.service.ReactiveRideRequestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the ride request reads polled by the mobile clients. The request thread is
+ * handed back to the server while the database is queried, so slow queries do not exhaust the server's
+ * thread pool. Responses are the same as those of {@link RideRequestController}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 03:00 am
+ */
+
+@RestController
+@CrossOrigin
+@RequestMapping("/request/reactive")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveRideRequestController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private final ReactiveRideRequestService requestService;
+
+    public ReactiveRideRequestController(ReactiveRideRequestService requestService) {
+        this.requestService = requestService;
+    }
+
+    /**
+     * Retrieves a single ride request by its ID.
+     *
+     * @param id The ID of the ride request to retrieve
+     * @return Mono of a ResponseEntity with status OK and the requested ride request, or BAD_REQUEST if the ID is not found
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public Mono<ResponseEntity<ResponseDTO>> getOneRequest(@PathVariable int id) {
+        return requestService.findById(id)
+                .map(requestDTO -> ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride request by ID", requestDTO)))
+                .defaultIfEmpty(ResponseEntity.badRequest().body(new ResponseDTO(false, "Bad Request")));
+    }
+
+    /**
+     * Retrieves all ride requests associated with the specified user ID.
+     *
+     * @param id The ID of the user whose ride requests are to be retrieved
+     * @return Mono of a ResponseEntity with status OK and the ride requests of the user, or BAD_REQUEST if none are found
+     */
+    @GetMapping("/all/{id}")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public Mono<ResponseEntity<ResponseDTO>> allRequests(@PathVariable int id) {
+        return requestService.findAllRequestsByUserId(id)
+                .collectList()
+                .map(requestDTOs -> requestDTOs.isEmpty()
+                        ? ResponseEntity.badRequest().body(new ResponseDTO(false, "Bad Request"))
+                        : ResponseEntity.ok(new ResponseDTO(true, "Retrieving all ride requests for the user", requestDTOs)));
+    }
+
+    /**
+     * Streams all ride requests associated with the specified user ID as newline-delimited JSON. The next
+     * ride request is only read once the previous one has been written to the client.
+     *
+     * @param id The ID of the user whose ride requests are to be streamed
+     * @return Flux of the ride requests of the user, in request number order
+     */
+    @GetMapping(value = "/all/{id}", produces = NDJSON)
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public Flux<RideRequestDTO> streamRequests(@PathVariable int id) {
+        return requestService.findAllRequestsByUserId(id);
+    }
+}
@@ -2,13 +2,26 @@ package com.car_rental.car_rental_system.controller;
 
 import com.car_rental.car_rental_system.dto.ResponseDTO;
 import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionResultDTO;
 import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
 import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.service.DispatchService;
+import com.car_rental.car_rental_system.service.GeoSearchService;
 import com.car_rental.car_rental_system.service.RideRequestService;
+import com.car_rental.car_rental_system.util.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,22 +35,60 @@ import java.util.List;
 @RequestMapping("/request")
 public class RideRequestController {
 
+    private static final String NDJSON = "application/x-ndjson";
     private final RideRequestService requestService;
+    private final DispatchService dispatchService;
+    private final GeoSearchService geoSearchService;
+    private final ObjectMapper mapper;
 
-    public RideRequestController(RideRequestService requestService) {
+    public RideRequestController(RideRequestService requestService, DispatchService dispatchService,
+                                 GeoSearchService geoSearchService, ObjectMapper mapper) {
         this.requestService = requestService;
+        this.dispatchService = dispatchService;
+        this.geoSearchService = geoSearchService;
+        this.mapper = mapper;
     }
 
 
     /**
-     * Retrieves all ride requests.
+     * Retrieves a page of all ride requests.
      *
-     * @return ResponseEntity with status OK and a list of all ride requests
+     * @param cursor The cursor returned with the previous page, or empty for the first page
+     * @param size   The maximum number of ride requests in the page
+     * @return ResponseEntity with status OK, a page of ride requests and the cursor of the next page
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDTO> getAllRequests() {
-        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving all ride requests", requestService.findAll()));
+    public ResponseEntity<ResponseDTO> getAllRequests(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        int pageSize = PageCursor.size(size);
+        List<RideRequestDTO> page = requestService.findAll(PageCursor.decode(cursor), pageSize);
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving all ride requests", page, PageCursor.next(page, pageSize, RideRequestDTO::getReqNo)));
+    }
+
+    /**
+     * Streams all ride requests, or all ride requests with a status, as newline-delimited JSON.
+     * Rows are written as they are read, so memory use does not depend on the number of ride requests.
+     *
+     * @param status The status to filter ride requests, or empty for every ride request
+     * @return ResponseEntity streaming one ride request per line
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamRequests(@RequestParam(required = false) RequestStatus status) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            requestService.streamAll(status, dto -> {
+                try {
+                    out.write(mapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /**
@@ -59,6 +110,21 @@ public class RideRequestController {
         return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride request by ID", requestDTO));
     }
 
+    /**
+     * Streams the changes to the ride requests of the specified user as Server-Sent Events, as they are
+     * committed, in place of polling the user's ride requests. A client reconnecting with Last-Event-ID
+     * gets the changes it missed, or a reset event when it should reload the ride requests instead.
+     *
+     * @param id          The ID of the user whose ride requests are to be followed
+     * @param lastEventId The ID of the last event received before reconnecting
+     * @return SseEmitter sending a ride-request event with the RideRequestDTO of each change
+     */
+    @GetMapping(value = "/events/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public SseEmitter events(@PathVariable int id, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return requestService.subscribe(id, lastEventId);
+    }
+
     /**
      * Retrieves all ride requests associated with the specified user ID.
      *
@@ -81,15 +147,21 @@ public class RideRequestController {
 
 
     /**
-     * Retrieves ride requests based on their status.
+     * Retrieves a page of ride requests based on their status.
      *
      * @param status The status to filter ride requests
-     * @return ResponseEntity with status OK and a list of ride requests with the specified status
+     * @param cursor The cursor returned with the previous page, or empty for the first page
+     * @param size   The maximum number of ride requests in the page
+     * @return ResponseEntity with status OK, a page of ride requests with the specified status and the cursor of the next page
      */
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDTO> getRequestOnStatus(@PathVariable RequestStatus status) {
-        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride requests by status", requestService.findByState(status)));
+    public ResponseEntity<ResponseDTO> getRequestOnStatus(@PathVariable RequestStatus status,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        int pageSize = PageCursor.size(size);
+        List<RideRequestDTO> page = requestService.findByState(status, PageCursor.decode(cursor), pageSize);
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride requests by status", page, PageCursor.next(page, pageSize, RideRequestDTO::getReqNo)));
     }
 
     /**
@@ -126,17 +198,22 @@ public class RideRequestController {
     }
 
     /**
-     * Retrieves ride requests filtered by the specified pickup date range.
+     * Retrieves a page of ride requests filtered by the specified pickup date range.
      *
      * @param startDate The start date of the pickup date range
      * @param endDate   The end date of the pickup date range
-     * @return ResponseEntity with a list of RideRequestDTO representing ride requests within the specified pickup date range
+     * @param cursor    The cursor returned with the previous page, or empty for the first page
+     * @param size      The maximum number of ride requests in the page
+     * @return ResponseEntity with a page of RideRequestDTO representing ride requests within the specified pickup date range
      */
     @GetMapping("/dates")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDTO> getRequestByDates(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate) {
-
-        return ResponseEntity.ok(new ResponseDTO(true,"Retrieving ride requests by pickup date range",requestService.filterBetweenDate(startDate, endDate)));
+    public ResponseEntity<ResponseDTO> getRequestByDates(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        int pageSize = PageCursor.size(size);
+        List<RideRequestDTO> page = requestService.filterBetweenDate(startDate, endDate, PageCursor.decode(cursor), pageSize);
+        return ResponseEntity.ok(new ResponseDTO(true,"Retrieving ride requests by pickup date range", page, PageCursor.next(page, pageSize, RideRequestDTO::getReqNo)));
     }
 
     /**
@@ -185,6 +262,20 @@ public class RideRequestController {
         return ResponseEntity.ok(new ResponseDTO(true,"Request status has been updated successfully"));
     }
 
+    /**
+     * Approves or rejects many pending ride requests at once, given by request number or by pickup date range.
+     *
+     * @param dto The new status and the ride requests to move
+     * @return ResponseEntity with status OK, the number of updated ride requests and the skipped request numbers
+     */
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> updateRequestStatuses(@RequestBody StatusTransitionDTO dto) {
+        StatusTransitionResultDTO result = requestService.updateStatuses(dto);
+
+        return ResponseEntity.ok(new ResponseDTO(true, result.getUpdated() + " requests have been updated", result));
+    }
+
     /**
      * Endpoint for assigning a vehicle to an existing ride request.
      *
@@ -201,4 +292,66 @@ public class RideRequestController {
         return ResponseEntity.ok(new ResponseDTO(true,"Vehicle assigned to the ride request successfully."));
     }
 
+    /**
+     * Endpoint for assigning free vehicles to all pending ride requests within a pickup date range at once.
+     *
+     * @param startDate The start date of the pickup date range
+     * @param endDate   The end date of the pickup date range
+     * @return ResponseEntity with the number of requests matched and the matching throughput
+     */
+    @PostMapping("/dispatch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> dispatchPending(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate) {
+        return ResponseEntity.ok(new ResponseDTO(true, "Pending ride requests dispatched", dispatchService.dispatchPending(startDate, endDate)));
+    }
+
+    /**
+     * Retrieves the ride requests picked up within a distance of a location.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param radiusKm  The distance in kilometres
+     * @return ResponseEntity with the ride requests picked up within the distance, nearest first
+     */
+    @GetMapping("/near")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getRequestsNear(@RequestParam double latitude, @RequestParam double longitude,
+                                                       @RequestParam double radiusKm) {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride requests picked up within " + radiusKm + " km",
+                geoSearchService.findWithinRadius(latitude, longitude, radiusKm)));
+    }
+
+    /**
+     * Retrieves the ride requests picked up inside a bounding box.
+     *
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return ResponseEntity with the ride requests picked up inside the box
+     */
+    @GetMapping("/box")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getRequestsInBox(@RequestParam double minLatitude, @RequestParam double minLongitude,
+                                                        @RequestParam double maxLatitude, @RequestParam double maxLongitude) {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving ride requests picked up inside the box",
+                geoSearchService.findWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude)));
+    }
+
+    /**
+     * Retrieves the pending ride requests picked up nearest to a location, such as a depot.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param k         The maximum number of ride requests to retrieve
+     * @return ResponseEntity with at most k pending ride requests, nearest first
+     */
+    @GetMapping("/nearest")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> getNearestPending(@RequestParam double latitude, @RequestParam double longitude,
+                                                         @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving the nearest pending ride requests",
+                geoSearchService.findNearestPending(latitude, longitude, k)));
+    }
+
 }
@@ -2,12 +2,27 @@ package com.car_rental.car_rental_system.controller;
 
 import com.car_rental.car_rental_system.dto.ResponseDTO;
 import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.dto.VehicleImportResultDTO;
 import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.service.VehicleImportService;
 import com.car_rental.car_rental_system.service.VehicleService;
+import com.car_rental.car_rental_system.util.PageCursor;
+import com.car_rental.car_rental_system.util.VehicleCsv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -21,10 +36,16 @@ import java.util.List;
 @RequestMapping("/vehicle")
 public class VehicleController {
 
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
     private final VehicleService vehicleService;
+    private final VehicleImportService vehicleImportService;
+    private final ObjectMapper mapper;
 
-    public VehicleController(VehicleService vehicleService) {
+    public VehicleController(VehicleService vehicleService, VehicleImportService vehicleImportService, ObjectMapper mapper) {
         this.vehicleService = vehicleService;
+        this.vehicleImportService = vehicleImportService;
+        this.mapper = mapper;
     }
 
     /**
@@ -55,14 +76,19 @@ public class VehicleController {
     }
 
     /**
-     * Endpoint for retrieving all vehicles.
+     * Endpoint for retrieving a page of all vehicles.
      *
-     * @return ResponseEntity with a list of VehicleDTO representing all vehicles
+     * @param cursor The cursor returned with the previous page, or empty for the first page
+     * @param size   The maximum number of vehicles in the page
+     * @return ResponseEntity with a page of VehicleDTO and the cursor of the next page
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDTO> findAll() {
-        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving all vehicles", vehicleService.findAll()));
+    public ResponseEntity<ResponseDTO> findAll(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        int pageSize = PageCursor.size(size);
+        List<VehicleDTO> page = vehicleService.findAll(PageCursor.decode(cursor), pageSize);
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving all vehicles", page, PageCursor.next(page, pageSize, VehicleDTO::getVehicleId)));
     }
 
     /**
@@ -88,13 +114,18 @@ public class VehicleController {
      * Endpoint for retrieving all vehicles that match the specified plate number.
      *
      * @param plateNumber The plate number of the vehicles to retrieve
+     * @param fuzzy       Whether to retrieve the most similar plate numbers instead of those containing the value
+     * @param limit       The maximum number of vehicles to retrieve with fuzzy matching
      * @return ResponseEntity with a list of VehicleDTO representing vehicles matching the plate number,
      *         or a bad request message if no vehicles are found
      */
     @GetMapping("/platenumber")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDTO> findAllByPlateNumber(String plateNumber) {
-        List<VehicleDTO> vehicleDTOS = vehicleService.findAllByPlateNumber(plateNumber);
+    public ResponseEntity<ResponseDTO> findAllByPlateNumber(String plateNumber, @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        List<VehicleDTO> vehicleDTOS = fuzzy
+                ? vehicleService.findAllBySimilarPlateNumber(plateNumber, limit)
+                : vehicleService.findAllByPlateNumber(plateNumber);
 
         if (vehicleDTOS == null) {
             return ResponseEntity.badRequest().body(new ResponseDTO(false,"Bad Request"));
@@ -125,7 +156,7 @@ public class VehicleController {
     }
 
     /**
-     * Retrieves a list of vehicles that are available on or before the specified date.
+     * Retrieves a list of vehicles that are not reserved on the specified date.
      *
      * @param date The date for which available vehicles are to be retrieved
      * @return ResponseEntity containing a list of VehicleDTO representing the available vehicles
@@ -138,4 +169,85 @@ public class VehicleController {
         return ResponseEntity.ok(new ResponseDTO(true, "Retrieving available vehicles by date", vehicleDTOS));
 
     }
+
+    /**
+     * Retrieves a list of vehicles that are not reserved on any day of the specified date range.
+     *
+     * @param startDate The first day of the date range
+     * @param endDate   The last day of the date range
+     * @return ResponseEntity containing a list of VehicleDTO representing the available vehicles
+     */
+    @GetMapping("/available")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> findAllAvailable(@RequestParam LocalDate startDate, @RequestParam LocalDate endDate) {
+        List<VehicleDTO> vehicleDTOS = vehicleService.findAllAvailable(startDate, endDate);
+
+        return ResponseEntity.ok(new ResponseDTO(true, "Retrieving available vehicles by date range", vehicleDTOS));
+
+    }
+
+    /**
+     * Imports vehicles from a CSV body, read line by line as it arrives.
+     *
+     * @param body The CSV body, with the columns vehicleId,name,model,plateNumber,reqDates
+     * @return ResponseEntity with the number of imported vehicles and the errors of rejected lines
+     */
+    @PostMapping(value = "/import", consumes = CSV)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> importCsv(InputStream body) {
+        VehicleImportResultDTO result = vehicleImportService.importCsv(reader(body));
+        return ResponseEntity.ok(new ResponseDTO(true, "Imported " + result.getImported() + " vehicles", result));
+    }
+
+    /**
+     * Imports vehicles from a newline-delimited JSON body, read line by line as it arrives.
+     *
+     * @param body The body with one vehicle per line
+     * @return ResponseEntity with the number of imported vehicles and the errors of rejected lines
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDTO> importJsonLines(InputStream body) {
+        VehicleImportResultDTO result = vehicleImportService.importJsonLines(reader(body));
+        return ResponseEntity.ok(new ResponseDTO(true, "Imported " + result.getImported() + " vehicles", result));
+    }
+
+    /**
+     * Streams all vehicles as CSV with a header line, or as newline-delimited JSON. The CSV can be
+     * imported again as it is.
+     *
+     * @param format csv (the default) or ndjson
+     * @return ResponseEntity streaming one vehicle per line
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        boolean csv = !"ndjson".equalsIgnoreCase(format);
+        if (csv && !"csv".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unknown export format " + format);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            if (csv) {
+                out.write((VehicleCsv.HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            vehicleService.streamAll(dto -> {
+                try {
+                    out.write(csv ? VehicleCsv.format(dto).getBytes(StandardCharsets.UTF_8) : mapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? CSV + ";charset=UTF-8" : NDJSON))
+                .body(body);
+    }
+
+    private BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
 }
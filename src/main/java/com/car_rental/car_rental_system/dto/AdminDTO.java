@@ -19,6 +19,7 @@ public class AdminDTO {
 
     private String username;
 
+    @ToString.Exclude
     private String password;
 
     private String role;
@@ -15,5 +15,6 @@ import lombok.ToString;
 @ToString
 public class AuthenticationRequest {
     private String username;
+    @ToString.Exclude
     private String password;
 }
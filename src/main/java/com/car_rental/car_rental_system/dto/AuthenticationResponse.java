@@ -15,5 +15,9 @@ import lombok.ToString;
 @Data
 @ToString
 public class AuthenticationResponse {
+    @ToString.Exclude
     private String token;
+    @ToString.Exclude
+    private String refreshToken;
+    private long expiresIn;
 }
@@ -0,0 +1,28 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.User;
+
+import java.io.Serializable;
+
+/**
+ * The immutable snapshot of a user kept in the lookup caches. It leaves out the password hash, so the hash
+ * never reaches a cache, which may be shared between nodes.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 08:02 am
+ */
+public record CachedUser(int uid, String name, String email, String username, String role) implements Serializable {
+
+    public static CachedUser of(User user) {
+        return new CachedUser(user.getUid(), user.getName(), user.getEmail(), user.getUsername(), user.getRole());
+    }
+
+    /**
+     * Builds a new DTO from the snapshot, without a password.
+     *
+     * @return The UserDTO of the user
+     */
+    public UserDTO toDTO() {
+        return new UserDTO(uid, name, email, username, null, role);
+    }
+}
@@ -0,0 +1,29 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The immutable snapshot of a vehicle kept in the lookup caches.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 08:04 am
+ */
+public record CachedVehicle(int vehicleId, String name, VehicleModels model, String plateNumber, LocalDate reqDates) implements Serializable {
+
+    public static CachedVehicle of(Vehicle vehicle) {
+        return new CachedVehicle(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates());
+    }
+
+    /**
+     * Builds a new DTO from the snapshot.
+     *
+     * @return The VehicleDTO of the vehicle
+     */
+    public VehicleDTO toDTO() {
+        return new VehicleDTO(vehicleId, name, model, plateNumber, reqDates);
+    }
+}
@@ -0,0 +1,33 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * The share of the vehicles of a model reserved on a day.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:05 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DailyUtilisationDTO {
+
+    private LocalDate date;
+
+    private VehicleModels model;
+
+    private int reserved;
+
+    private int fleet;
+
+    private double rate;
+}
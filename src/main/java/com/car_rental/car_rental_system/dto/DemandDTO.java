@@ -0,0 +1,30 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Ride requests picked up in a city, by status.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:00 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DemandDTO {
+
+    private String city;
+
+    private long pending;
+
+    private long approved;
+
+    private long rejected;
+
+    private long total;
+}
@@ -0,0 +1,32 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 01:20 pm
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DispatchResultDTO {
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private int pending;
+
+    private int matched;
+
+    private long elapsedMillis;
+
+    private double matchedPerSecond;
+}
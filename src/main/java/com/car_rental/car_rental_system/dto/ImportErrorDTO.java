@@ -0,0 +1,24 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 12:20 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ImportErrorDTO {
+
+    private int line;
+
+    private String plateNumber;
+
+    private String message;
+}
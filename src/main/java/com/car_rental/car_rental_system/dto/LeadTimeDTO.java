@@ -0,0 +1,26 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The average number of days between making a ride request and its pickup, for a requested model.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:00 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class LeadTimeDTO {
+
+    private String model;
+
+    private long requests;
+
+    private double averageDays;
+}
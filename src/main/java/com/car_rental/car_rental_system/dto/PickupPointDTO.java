@@ -0,0 +1,29 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The pickup coordinates of a ride request, as kept in the geospatial index.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 07:30 pm
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PickupPointDTO {
+
+    private int reqNo;
+
+    private double latitude;
+
+    private double longitude;
+
+    private RequestStatus status;
+}
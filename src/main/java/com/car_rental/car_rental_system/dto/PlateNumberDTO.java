@@ -0,0 +1,24 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The plate number of a vehicle, as kept in the plate number index.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 01:25 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PlateNumberDTO {
+
+    private int vehicleId;
+
+    private String plateNumber;
+}
@@ -0,0 +1,20 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 07:05 am
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@ToString
+public class RefreshTokenRequest {
+    @ToString.Exclude
+    private String refreshToken;
+}
@@ -0,0 +1,37 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * How ride requests were decided, with their booking lead times.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:05 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RequestOutcomeDTO {
+
+    private long pending;
+
+    private long approved;
+
+    private long rejected;
+
+    //Approved and rejected requests as shares of the decided ones
+    private double approvalRate;
+
+    private double rejectionRate;
+
+    private double averageLeadDays;
+
+    private List<LeadTimeDTO> leadTimes;
+}
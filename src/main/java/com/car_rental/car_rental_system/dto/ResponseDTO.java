@@ -15,6 +15,7 @@ public class ResponseDTO {
     private boolean success;
     private String message;
     private Object body;
+    private String cursor;
 
     public ResponseDTO(boolean success, String message) {
         this.success = success;
@@ -32,4 +33,11 @@ public class ResponseDTO {
         this.body = body;
     }
 
+    public ResponseDTO(boolean success, String message, Object body, String cursor) {
+        this.success = success;
+        this.message = message;
+        this.body = body;
+        this.cursor = cursor;
+    }
+
 }
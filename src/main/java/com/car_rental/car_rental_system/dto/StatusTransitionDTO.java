@@ -0,0 +1,33 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The ride requests to move to a new status: either the listed request numbers, or every pending request
+ * picked up between the start and end dates.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 01:05 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StatusTransitionDTO {
+
+    private RequestStatus status;
+
+    private List<Integer> reqNos;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
@@ -0,0 +1,28 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 01:05 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StatusTransitionResultDTO {
+
+    private RequestStatus status;
+
+    private int updated;
+
+    //Listed request numbers that were not found or not pending
+    private List<Integer> skipped;
+}
@@ -0,0 +1,32 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A ride request about to change status, with what its notification and the geospatial index need.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 01:10 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StatusTransitionRowDTO {
+
+    private int reqNo;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private String email;
+
+    private String vehicleName;
+
+    private String plateNumber;
+}
@@ -24,6 +24,7 @@ public class UserDTO {
 
     private String username;
 
+    @ToString.Exclude
     private String password;
 
     private String role;
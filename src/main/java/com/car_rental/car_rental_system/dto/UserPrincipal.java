@@ -0,0 +1,34 @@
+package com.car_rental.car_rental_system.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The authenticated account, carrying its ID and whether it is an admin or a user account alongside the
+ * username and roles, so they can be issued as JWT claims and rebuilt from them without a database lookup.
+ * Admin and user IDs are drawn from separate tables, so an ID only identifies an account together with its type.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 06:05 pm
+ */
+public class UserPrincipal extends User {
+
+    private final int uid;
+    private final boolean admin;
+
+    public UserPrincipal(int uid, boolean admin, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.uid = uid;
+        this.admin = admin;
+    }
+
+    public int getUid() {
+        return uid;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+}
@@ -0,0 +1,31 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fleet utilisation over a period, per day and model and per vehicle.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:10 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class UtilisationDTO {
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private List<DailyUtilisationDTO> daily;
+
+    private List<VehicleUtilisationDTO> vehicles;
+}
@@ -0,0 +1,26 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 12:20 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class VehicleImportResultDTO {
+
+    private int imported;
+
+    private int rejected;
+
+    private List<ImportErrorDTO> errors;
+}
@@ -0,0 +1,25 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The model of a vehicle, for the utilisation analytics.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:10 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class VehicleModelDTO {
+
+    private int vehicleId;
+
+    private VehicleModels model;
+}
@@ -0,0 +1,29 @@
+package com.car_rental.car_rental_system.dto;
+
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The number and share of the days of a period a vehicle is reserved for.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:10 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class VehicleUtilisationDTO {
+
+    private int vehicleId;
+
+    private VehicleModels model;
+
+    private int reservedDays;
+
+    private double rate;
+}
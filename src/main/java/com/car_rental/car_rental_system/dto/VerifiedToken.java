@@ -0,0 +1,38 @@
+package com.car_rental.car_rental_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * The claims of a JWT token whose signature and expiry have been checked.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 05:10 pm
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class VerifiedToken {
+
+    private String username;
+
+    private int uid;
+
+    private boolean admin;
+
+    private Collection<? extends GrantedAuthority> authorities;
+
+    private Instant expiresAt;
+
+    private String tokenId;
+
+    private Instant issuedAt;
+}
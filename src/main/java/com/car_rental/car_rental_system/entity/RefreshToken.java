@@ -0,0 +1,54 @@
+package com.car_rental.car_rental_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A refresh token, stored as the hash of the token. Every refresh uses up the token and issues the next
+ * one of the same family; a used token presented again means the family has leaked, and it is revoked.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 07:05 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "uk_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_username", columnList = "username"),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at")})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @ToString.Exclude
+    @Column(name = "token_hash", nullable = false, length = 44)
+    private String tokenHash;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
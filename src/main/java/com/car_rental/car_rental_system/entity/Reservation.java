@@ -0,0 +1,42 @@
+package com.car_rental.car_rental_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * A booked interval of a vehicle, from the pickup date to the return date (both inclusive).
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:12 am
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "reservation")
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reservation_id")
+    private int reservationId;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private int vehicleId;
+
+    @Column(name = "req_no", nullable = false, unique = true)
+    private int reqNo;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+}
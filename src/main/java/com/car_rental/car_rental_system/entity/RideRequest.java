@@ -2,6 +2,8 @@ package com.car_rental.car_rental_system.entity;
 
 import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
 import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.listener.RideRequestGeoListener;
+import com.car_rental.car_rental_system.entity.listener.RideRequestStatsListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +23,8 @@ import java.util.Date;
 @NoArgsConstructor
 @ToString
 @Entity
-@Table(name = "ride_request")
+@EntityListeners({RideRequestGeoListener.class, RideRequestStatsListener.class})
+@Table(name = "ride_request", indexes = @Index(name = "idx_ride_request_pickup_lat_lon", columnList = "pickup_latitude, pickup_longitude"))
 public class RideRequest {
 
     @Id
@@ -60,11 +63,17 @@ public class RideRequest {
     @Column(name = "status", nullable = false, columnDefinition = "varchar(10) default 'PENDING'")
     private RequestStatus status;
 
+    @ToString.Exclude
     @ManyToOne
     @JoinColumn(name = "vehicle_id", referencedColumnName = "vehicle_id")
     private Vehicle vehicle;
 
+    @ToString.Exclude
     @ManyToOne
     @JoinColumn(name = "uid", referencedColumnName = "uid")
     private User user;
+
+    @Version
+    @Column(name = "version")
+    private int version;
 }
@@ -28,6 +28,7 @@ public class User {
     @Column(name = "username")
     private String username;
 
+    @ToString.Exclude
     @Column(name = "password")
     private String password;
 
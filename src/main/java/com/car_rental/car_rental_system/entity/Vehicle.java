@@ -1,6 +1,7 @@
 package com.car_rental.car_rental_system.entity;
 
 import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.entity.listener.VehiclePlateListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,6 +22,7 @@ import java.util.List;
 @NoArgsConstructor
 @ToString
 @Entity
+@EntityListeners(VehiclePlateListener.class)
 @Table(name = "vehicle")
 public class Vehicle {
 
@@ -36,10 +38,14 @@ public class Vehicle {
     @Enumerated(EnumType.STRING)
     private VehicleModels model;
 
-    @Column(name = "plate_number")
+    @Column(name = "plate_number", unique = true)
     private String plateNumber;
 
     @Column(name = "req_dates")
     private LocalDate reqDates;
 
+    @Version
+    @Column(name = "version")
+    private int version;
+
 }
@@ -0,0 +1,9 @@
+package com.car_rental.car_rental_system.entity.enums;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 06:40 pm
+ */
+public enum OutboxStatus {
+    PENDING,SENT,DEAD
+}
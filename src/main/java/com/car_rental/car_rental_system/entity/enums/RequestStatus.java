@@ -5,5 +5,16 @@ package com.car_rental.car_rental_system.entity.enums;
  * @created 28/02/2024 - 02:24 pm
  */
 public enum RequestStatus {
-    PENDING,APPROVED,REJECT
+    PENDING,APPROVED,REJECT;
+
+    /**
+     * Tells whether a ride request may move from this status to the given one. Only pending requests
+     * can be approved or rejected.
+     *
+     * @param next The status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canBecome(RequestStatus next) {
+        return this == PENDING && next != null && next != PENDING;
+    }
 }
@@ -0,0 +1,42 @@
+package com.car_rental.car_rental_system.entity.listener;
+
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.util.GeoIndex;
+import com.car_rental.car_rental_system.util.TransactionHooks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps the pickup points of the {@link GeoIndex} in step with the committed ride requests.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 08:05 pm
+ */
+public class RideRequestGeoListener {
+
+    private final GeoIndex geoIndex;
+
+    public RideRequestGeoListener(GeoIndex geoIndex) {
+        this.geoIndex = geoIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(RideRequest request) {
+        if (request.getPickupLocation() == null) {
+            TransactionHooks.afterCommit(() -> geoIndex.remove(request.getReqNo()));
+            return;
+        }
+        PickupPointDTO point = new PickupPointDTO(request.getReqNo(), request.getPickupLocation().getLatitude(),
+                request.getPickupLocation().getLongitude(), request.getStatus());
+        TransactionHooks.afterCommit(() -> geoIndex.put(point));
+    }
+
+    @PostRemove
+    public void removed(RideRequest request) {
+        int reqNo = request.getReqNo();
+        TransactionHooks.afterCommit(() -> geoIndex.remove(reqNo));
+    }
+}
@@ -0,0 +1,51 @@
+package com.car_rental.car_rental_system.entity.listener;
+
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.util.RideRequestStats;
+import com.car_rental.car_rental_system.util.TransactionHooks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import java.time.LocalDate;
+
+/**
+ * Feeds committed ride request inserts, updates and deletes into the {@link RideRequestStats} aggregates.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:25 am
+ */
+public class RideRequestStatsListener {
+
+    private final RideRequestStats stats;
+
+    public RideRequestStatsListener(RideRequestStats stats) {
+        this.stats = stats;
+    }
+
+    @PostPersist
+    public void created(RideRequest request) {
+        saved(request, LocalDate.now());
+    }
+
+    @PostUpdate
+    public void updated(RideRequest request) {
+        saved(request, null);
+    }
+
+    @PostRemove
+    public void removed(RideRequest request) {
+        int reqNo = request.getReqNo();
+        TransactionHooks.afterCommit(() -> stats.remove(reqNo));
+    }
+
+    private void saved(RideRequest request, LocalDate created) {
+        int reqNo = request.getReqNo();
+        String city = request.getPickupLocation() == null ? null : request.getPickupLocation().getCity();
+        String model = request.getModel();
+        RequestStatus status = request.getStatus();
+        LocalDate pickupDate = request.getPickupDate();
+        TransactionHooks.afterCommit(() -> stats.put(reqNo, city, model, status, pickupDate, created));
+    }
+}
@@ -0,0 +1,37 @@
+package com.car_rental.car_rental_system.entity.listener;
+
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.util.PlateIndex;
+import com.car_rental.car_rental_system.util.TransactionHooks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Indexes the plate number of every committed vehicle write in the {@link PlateIndex}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 01:50 am
+ */
+public class VehiclePlateListener {
+
+    private final PlateIndex plateIndex;
+
+    public VehiclePlateListener(PlateIndex plateIndex) {
+        this.plateIndex = plateIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Vehicle vehicle) {
+        PlateNumberDTO plate = new PlateNumberDTO(vehicle.getVehicleId(), vehicle.getPlateNumber());
+        TransactionHooks.afterCommit(() -> plateIndex.put(plate));
+    }
+
+    @PostRemove
+    public void removed(Vehicle vehicle) {
+        int vehicleId = vehicle.getVehicleId();
+        TransactionHooks.afterCommit(() -> plateIndex.remove(vehicleId));
+    }
+}
@@ -0,0 +1,29 @@
+package com.car_rental.car_rental_system.exceptions;
+
+/**
+ * Thrown when a bounded worker pool is saturated and the request is turned away rather than queued.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 06:05 am
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException() {
+    }
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ServiceBusyException(Throwable cause) {
+        super(cause);
+    }
+
+    public ServiceBusyException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -1,16 +1,18 @@
 package com.car_rental.car_rental_system.filter;
 
+import com.car_rental.car_rental_system.dto.UserPrincipal;
+import com.car_rental.car_rental_system.dto.VerifiedToken;
 import com.car_rental.car_rental_system.service.impl.JwtServiceImpl;
+import com.car_rental.car_rental_system.util.PrincipalCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,7 +20,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collection;
 
 /**
  * @author Dilan
@@ -30,10 +31,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private JwtServiceImpl jwtServiceImpl;
     private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+    private boolean trustedClaims;
 
-    public JwtAuthFilter(JwtServiceImpl jwtServiceImpl, ObjectMapper mapper, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtServiceImpl jwtServiceImpl, ObjectMapper mapper, UserDetailsService userDetailsService,
+                         PrincipalCache principalCache, @Value("${app.security.trusted-claims:false}") boolean trustedClaims) {
         this.jwtServiceImpl = jwtServiceImpl;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.trustedClaims = trustedClaims;
     }
 
     @Override
@@ -42,11 +48,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         try {
             String authHeader = request.getHeader("Authorization");
             String token = null;
-            String username = null;
+            VerifiedToken verified = null;
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 token = authHeader.substring(7);
-                username = jwtServiceImpl.extractUsername(token);
+                verified = jwtServiceImpl.verify(token);
             }
 
             //If the accessToken is null. It will pass the request to the next filter.
@@ -56,13 +62,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             //If any accessToken is present, then it will validate the token and then authenticate the request in security context
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            //The token is parsed once; its signature and expiry are already checked by verify
+            if (verified.getUsername() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                Collection<? extends GrantedAuthority> authorities = jwtServiceImpl.getRolesFromToken(token);
+                //In trusted-claims mode the principal comes from the verified token, otherwise from the (cached) account
+                UserDetails userDetails = trustedClaims
+                        ? new UserPrincipal(verified.getUid(), verified.isAdmin(), verified.getUsername(), "", verified.getAuthorities())
+                        : principalCache.get(verified.getUsername(), userDetailsService::loadUserByUsername);
 
-                if (jwtServiceImpl.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
+                if (verified.getUsername().equals(userDetails.getUsername())) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, "", verified.getAuthorities());
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
@@ -0,0 +1,81 @@
+package com.car_rental.car_rental_system.filter;
+
+import com.car_rental.car_rental_system.dto.ResponseDTO;
+import com.car_rental.car_rental_system.util.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns away requests over the rate limit of their route with {@code 429 Too Many Requests} and a
+ * {@code Retry-After} header, before they reach the controllers or the database.
+ * <p>
+ * Runs right after {@link JwtAuthFilter}, so an authenticated request is limited by its username and any
+ * other request, such as a login, by its IP address. Set {@code server.forward-headers-strategy=native}
+ * behind a proxy, so the address is the client's and not the proxy's.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 07:50 am
+ */
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private RateLimiter rateLimiter;
+    private ObjectMapper mapper;
+    private boolean enabled;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper mapper, @Value("${app.rate-limit.enabled:true}") boolean enabled) {
+        this.rateLimiter = rateLimiter;
+        this.mapper = mapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.route(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String client = authentication != null && authentication.isAuthenticated()
+                ? "user:" + authentication.getName()
+                : "ip:" + request.getRemoteAddr();
+
+        long wait = rateLimiter.tryAcquire(route, client, System.nanoTime());
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Rate limit of bucket {} reached by {} on {} {}", route.limit().name(), client, request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getWriter(), new ResponseDTO(false, "Too many requests, retry later"));
+    }
+}
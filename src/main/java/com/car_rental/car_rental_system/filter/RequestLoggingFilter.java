@@ -0,0 +1,97 @@
+package com.car_rental.car_rental_system.filter;
+
+import com.car_rental.car_rental_system.util.QueryMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a single INFO line per HTTP request with the endpoint, status, number of rows returned, elapsed
+ * time and the database statements run, as key-value pairs. The services log their own steps at DEBUG only,
+ * so this line is what remains of a request at the default level. Set the level of this class to WARN to
+ * turn it off.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:10 pm
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the number of rows in the response body, set by the controllers' advice.
+     */
+    public static final String ROWS_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".rows";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !log.isInfoEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        QueryMetrics.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                //Streamed and reactive responses are written after this thread returns, so log once they complete
+                int statements = QueryMetrics.statements();
+                long nanos = QueryMetrics.nanos();
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response, start, statements, nanos);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logRequest(request, response, start, QueryMetrics.statements(), QueryMetrics.nanos());
+            }
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long start, int statements, long nanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object rows = request.getAttribute(ROWS_ATTRIBUTE);
+
+        log.atInfo()
+                .setMessage("Handled request")
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", pattern == null ? request.getRequestURI() : pattern)
+                .addKeyValue("status", response.getStatus())
+                .addKeyValue("rows", rows == null ? "-" : rows)
+                .addKeyValue("ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .addKeyValue("dbStatements", statements)
+                .addKeyValue("dbMs", TimeUnit.NANOSECONDS.toMillis(nanos))
+                .log();
+    }
+}
@@ -0,0 +1,69 @@
+package com.car_rental.car_rental_system.filter;
+
+import com.car_rental.car_rental_system.util.QueryMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the number of database statements each HTTP request runs and the time spent in them, per
+ * endpoint. With a sample rate below 1 only that share of requests is recorded.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 10:30 pm
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private MeterRegistry meterRegistry;
+    private double sampleRate;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, @Value("${app.metrics.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        QueryMetrics.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+            DistributionSummary.builder("http.server.db.statements")
+                    .description("Database statements run per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(QueryMetrics.statements());
+            Timer.builder("http.server.db.time")
+                    .description("Time spent running database statements per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(QueryMetrics.nanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
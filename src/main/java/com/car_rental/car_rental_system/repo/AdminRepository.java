@@ -2,6 +2,9 @@ package com.car_rental.car_rental_system.repo;
 
 import com.car_rental.car_rental_system.entity.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,4 +21,16 @@ public interface AdminRepository extends JpaRepository<Admin,Integer> {
      * @return Optional containing the Admin entity with the specified username, if found
      */
     Optional<Admin> findByUsername (String username);
+
+    /**
+     * Replaces the password hash of an Admin entity.
+     *
+     * @param username The username of the Admin entity
+     * @param password The new password hash
+     * @return The number of Admin entities updated
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Admin a set a.password = :password where a.username = :username")
+    int updatePassword(String username, String password);
 }
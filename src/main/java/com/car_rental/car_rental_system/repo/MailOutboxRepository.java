@@ -0,0 +1,66 @@
+package com.car_rental.car_rental_system.repo;
+
+import com.car_rental.car_rental_system.entity.MailOutbox;
+import com.car_rental.car_rental_system.entity.enums.OutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 06:45 pm
+ */
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * Retrieves the IDs of the oldest emails in the specified status that are due for an attempt and not
+     * claimed by a run, or claimed before the specified time.
+     *
+     * @param status      The status of the emails
+     * @param now         The current time
+     * @param staleBefore The time before which a claim has lapsed
+     * @param limit       The maximum number of emails to retrieve
+     * @return List of the IDs of the due emails in the order they were queued
+     */
+    @Query("select m.id from MailOutbox m where m.status = :status and m.nextAttemptAt <= :now " +
+            "and (m.claimedAt is null or m.claimedAt < :staleBefore) order by m.id")
+    List<Long> findDueIds(OutboxStatus status, Instant now, Instant staleBefore, Limit limit);
+
+    /**
+     * Claims the specified emails for a run, skipping those another run claimed in the meantime.
+     *
+     * @param ids         The IDs of the emails to claim
+     * @param status      The status the emails must still be in
+     * @param claim       The ID of the claiming run
+     * @param now         The current time
+     * @param staleBefore The time before which a claim has lapsed
+     * @return The number of emails claimed
+     */
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m set m.claimedBy = :claim, m.claimedAt = :now where m.id in :ids and m.status = :status " +
+            "and (m.claimedAt is null or m.claimedAt < :staleBefore)")
+    int claim(Collection<Long> ids, OutboxStatus status, String claim, Instant now, Instant staleBefore);
+
+    /**
+     * Retrieves the emails claimed by a run.
+     *
+     * @param claim The ID of the claiming run
+     * @return List of the claimed emails in the order they were queued
+     */
+    List<MailOutbox> findAllByClaimedByOrderByIdAsc(String claim);
+
+    /**
+     * Counts the emails in the specified status.
+     *
+     * @param status The status of the emails
+     * @return The number of emails in the status
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,66 @@
+package com.car_rental.car_rental_system.repo;
+
+import com.car_rental.car_rental_system.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 07:10 am
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Retrieves a refresh token by the hash of the token.
+     *
+     * @param tokenHash The hash of the token
+     * @return Optional containing the refresh token, or empty if none is stored
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks a refresh token as used, unless it already is. Of two refreshes with the same token, only one
+     * updates the row.
+     *
+     * @param id  The ID of the refresh token
+     * @param now The current time
+     * @return 1 if the token was marked, 0 if it had already been used
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null")
+    int markUsed(long id, Instant now);
+
+    /**
+     * Deletes every refresh token of a family.
+     *
+     * @param familyId The ID of the family
+     * @return The number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteAllByFamilyId(String familyId);
+
+    /**
+     * Deletes every refresh token of a user.
+     *
+     * @param username The username of the user
+     * @return The number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.username = :username")
+    int deleteAllByUsername(String username);
+
+    /**
+     * Deletes the refresh tokens that expired before the specified time.
+     *
+     * @param now The current time
+     * @return The number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteAllExpired(Instant now);
+}
@@ -0,0 +1,59 @@
+package com.car_rental.car_rental_system.repo;
+
+import com.car_rental.car_rental_system.entity.Reservation;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 09:15 am
+ */
+public interface ReservationRepository extends JpaRepository<Reservation, Integer> {
+
+    /**
+     * Retrieves the reservation made for the specified ride request.
+     *
+     * @param reqNo The number of the ride request
+     * @return An optional containing the reservation of the ride request, or empty if none exists
+     */
+    Optional<Reservation> findByReqNo(int reqNo);
+
+    /**
+     * Retrieves the reservations made for the specified ride requests.
+     *
+     * @param reqNos The numbers of the ride requests
+     * @return A list of the reservations of the ride requests that have one
+     */
+    List<Reservation> findAllByReqNoIn(Collection<Integer> reqNos);
+
+    /**
+     * Checks whether a vehicle has a reservation of another ride request overlapping the given interval.
+     *
+     * @param vehicleId The ID of the vehicle to check
+     * @param startDate The first day of the interval
+     * @param endDate   The last day of the interval
+     * @param reqNo     The ride request whose own reservation is ignored
+     * @return True if an overlapping reservation exists, false otherwise
+     */
+    @Query("select count(r) > 0 from Reservation r where r.vehicleId = :vehicleId and r.reqNo <> :reqNo " +
+            "and r.startDate <= :endDate and r.endDate >= :startDate")
+    boolean existsOverlapping(int vehicleId, LocalDate startDate, LocalDate endDate, int reqNo);
+
+    /**
+     * Retrieves ride requests that have a vehicle assigned but no reservation recorded for it.
+     * These are requests assigned before reservations were kept and are used to backfill the calendar.
+     * Rejected requests keep their vehicle but gave up its reservation, so they are left out.
+     *
+     * @return A list of ride requests that are not rejected, with an assigned vehicle and no reservation
+     */
+    @Query("select r from RideRequest r where r.vehicle is not null " +
+            "and r.status <> com.car_rental.car_rental_system.entity.enums.RequestStatus.REJECT " +
+            "and not exists (select 1 from Reservation res where res.reqNo = r.reqNo)")
+    List<RideRequest> findAssignedRequestsWithoutReservation();
+}
@@ -1,27 +1,52 @@
 package com.car_rental.car_rental_system.repo;
 
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionRowDTO;
 import com.car_rental.car_rental_system.entity.RideRequest;
-import com.car_rental.car_rental_system.entity.User;
 import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
 import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
+ * Queries returning {@link RideRequestDTO} select only the columns of the DTO in a single statement.
+ * The vehicle and user are read through their foreign key columns, so neither is joined nor loaded.
+ *
  * @author Dilan
  * @created 27/02/2024 - 10:36 am
  */
 public interface RideRequestRepository extends JpaRepository<RideRequest,Integer> {
 
+    String SELECT_DTO = "select new com.car_rental.car_rental_system.dto.RideRequestDTO(" +
+            "r.reqNo, r.model, r.pickupDate, r.returnDate, r.pickupLocation, r.destination, r.status, " +
+            "coalesce(r.vehicle.vehicleId, 0), r.user.uid) from RideRequest r ";
+
+    String SELECT_TRANSITION_ROW = "select new com.car_rental.car_rental_system.dto.StatusTransitionRowDTO(" +
+            "r.reqNo, r.pickupLocation.latitude, r.pickupLocation.longitude, u.email, v.name, v.plateNumber) " +
+            "from RideRequest r join r.user u left join r.vehicle v ";
+
     /**
      * Retrieves a list of ride requests with the specified status.
      *
      * @param status The status of the ride requests to retrieve
      * @return A list of ride requests with the specified status
      */
-    List<RideRequest> findAllByStatus(RequestStatus status);
+    @Query(SELECT_DTO + "where r.status = :status order by r.reqNo")
+    List<RideRequestDTO> findAllByStatus(RequestStatus status);
 
     /**
      * Retrieves a list of ride requests with the specified pickup location and destination.
@@ -30,7 +55,8 @@ public interface RideRequestRepository extends JpaRepository<RideRequest,Integer
      * @param destination    The destination of the ride requests to retrieve
      * @return A list of ride requests with the specified pickup location and destination
      */
-    List<RideRequest> findByPickupLocationAndDestination(LocationDetails pickupLocation, LocationDetails destination);
+    @Query(SELECT_DTO + "where r.pickupLocation = :pickupLocation and r.destination = :destination order by r.reqNo")
+    List<RideRequestDTO> findByPickupLocationAndDestination(LocationDetails pickupLocation, LocationDetails destination);
 
     /**
      * Retrieves a list of ride requests with the specified pickup date.
@@ -38,7 +64,8 @@ public interface RideRequestRepository extends JpaRepository<RideRequest,Integer
      * @param date The pickup date of the ride requests to retrieve
      * @return A list of ride requests with the specified pickup date
      */
-    List<RideRequest> findAllByPickupDate(LocalDate date);
+    @Query(SELECT_DTO + "where r.pickupDate = :date order by r.reqNo")
+    List<RideRequestDTO> findAllByPickupDate(LocalDate date);
 
     /**
      * Retrieves a list of ride requests with pickup dates between the specified start and end dates.
@@ -47,14 +74,209 @@ public interface RideRequestRepository extends JpaRepository<RideRequest,Integer
      * @param endDate   The end date of the pickup dates to retrieve
      * @return A list of ride requests with pickup dates between the specified start and end dates
      */
-    List<RideRequest> findAllByPickupDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query(SELECT_DTO + "where r.pickupDate between :startDate and :endDate order by r.reqNo")
+    List<RideRequestDTO> findAllByPickupDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Retrieves a ride request for assigning a vehicle to it. The version of the request is incremented
+     * when the transaction commits, even if the same vehicle is assigned again, so two transactions
+     * replacing the reservation of the same request cannot both commit.
+     *
+     * @param reqNo The number of the ride request to retrieve
+     * @return An optional containing the ride request with the specified number, or empty if not found
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select r from RideRequest r where r.reqNo = :reqNo")
+    Optional<RideRequest> findForAssignment(int reqNo);
+
+    /**
+     * Retrieves ride requests with the specified status, no vehicle assigned yet and a pickup date between
+     * the specified start and end dates.
+     *
+     * @param status    The status of the ride requests to retrieve
+     * @param startDate The start date of the pickup dates to retrieve
+     * @param endDate   The end date of the pickup dates to retrieve
+     * @return A list of unassigned ride requests matching the status and pickup date range
+     */
+    List<RideRequest> findAllByStatusAndVehicleIsNullAndPickupDateBetween(RequestStatus status, LocalDate startDate, LocalDate endDate);
 
     /**
      * Retrieves all ride requests associated with the specified user ID.
      *
-     * @param userId The ID of the user whose ride requests are to be retrieved
-     * @return A list of RideRequest entities representing the ride requests associated with the user,
+     * @param uid The ID of the user whose ride requests are to be retrieved
+     * @return A list of ride requests associated with the user,
      *         or an empty list if no ride requests are found for the user ID
      */
-    List<RideRequest> findAllByUser (User userId);
+    @Query(SELECT_DTO + "where r.user.uid = :uid order by r.reqNo")
+    List<RideRequestDTO> findAllByUserUid(int uid);
+
+    /**
+     * Retrieves a page of ride requests following the specified request number, in request number order.
+     *
+     * @param reqNo The request number to seek after
+     * @param limit The maximum number of ride requests to retrieve
+     * @return A list of ride requests with a request number greater than the specified one
+     */
+    @Query(SELECT_DTO + "where r.reqNo > :reqNo order by r.reqNo")
+    List<RideRequestDTO> findAllByReqNoGreaterThanOrderByReqNoAsc(int reqNo, Limit limit);
+
+    /**
+     * Retrieves a page of ride requests with the specified status following the specified request number.
+     *
+     * @param status The status of the ride requests to retrieve
+     * @param reqNo  The request number to seek after
+     * @param limit  The maximum number of ride requests to retrieve
+     * @return A list of ride requests with the specified status and a request number greater than the specified one
+     */
+    @Query(SELECT_DTO + "where r.status = :status and r.reqNo > :reqNo order by r.reqNo")
+    List<RideRequestDTO> findAllByStatusAndReqNoGreaterThanOrderByReqNoAsc(RequestStatus status, int reqNo, Limit limit);
+
+    /**
+     * Retrieves a page of ride requests with pickup dates between the specified start and end dates
+     * following the specified request number.
+     *
+     * @param startDate The start date of the pickup dates to retrieve
+     * @param endDate   The end date of the pickup dates to retrieve
+     * @param reqNo     The request number to seek after
+     * @param limit     The maximum number of ride requests to retrieve
+     * @return A list of ride requests within the pickup date range and a request number greater than the specified one
+     */
+    @Query(SELECT_DTO + "where r.pickupDate between :startDate and :endDate and r.reqNo > :reqNo order by r.reqNo")
+    List<RideRequestDTO> findAllByPickupDateBetweenAndReqNoGreaterThanOrderByReqNoAsc(LocalDate startDate, LocalDate endDate, int reqNo, Limit limit);
+
+    /**
+     * Streams all ride requests in request number order. Rows are fetched from the database in chunks
+     * while the stream is consumed, so the stream must be closed and consumed inside a transaction.
+     *
+     * @return A stream of all ride requests
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "order by r.reqNo")
+    Stream<RideRequestDTO> streamAllByOrderByReqNoAsc();
+
+    /**
+     * Streams the ride requests with the specified status in request number order. Rows are fetched from
+     * the database in chunks while the stream is consumed, so the stream must be closed and consumed inside
+     * a transaction.
+     *
+     * @param status The status of the ride requests to stream
+     * @return A stream of ride requests with the specified status
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where r.status = :status order by r.reqNo")
+    Stream<RideRequestDTO> streamAllByStatusOrderByReqNoAsc(RequestStatus status);
+
+    /**
+     * Retrieves the ride requests with the specified request numbers.
+     *
+     * @param reqNos The request numbers of the ride requests to retrieve
+     * @return A list of the ride requests found, in request number order
+     */
+    @Query(SELECT_DTO + "where r.reqNo in :reqNos order by r.reqNo")
+    List<RideRequestDTO> findAllByReqNoIn(Collection<Integer> reqNos);
+
+    /**
+     * Retrieves the ride requests picked up inside the specified bounding box.
+     *
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return A list of ride requests with a pickup location inside the box
+     */
+    @Query(SELECT_DTO + "where r.pickupLocation.latitude between :minLatitude and :maxLatitude " +
+            "and r.pickupLocation.longitude between :minLongitude and :maxLongitude order by r.reqNo")
+    List<RideRequestDTO> findAllByPickupWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+
+    /**
+     * Retrieves the ride requests with the specified status picked up inside the specified bounding box.
+     *
+     * @param status       The status of the ride requests to retrieve
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return A list of ride requests with the status and a pickup location inside the box
+     */
+    @Query(SELECT_DTO + "where r.status = :status and r.pickupLocation.latitude between :minLatitude and :maxLatitude " +
+            "and r.pickupLocation.longitude between :minLongitude and :maxLongitude order by r.reqNo")
+    List<RideRequestDTO> findAllByStatusAndPickupWithin(RequestStatus status, double minLatitude, double minLongitude,
+                                                        double maxLatitude, double maxLongitude);
+
+    /**
+     * Streams the pickup point of every ride request with a pickup location, for loading the geospatial
+     * index. The stream must be closed and consumed inside a transaction.
+     *
+     * @return A stream of the pickup points of all ride requests with a pickup location
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.car_rental.car_rental_system.dto.PickupPointDTO(" +
+            "r.reqNo, r.pickupLocation.latitude, r.pickupLocation.longitude, r.status) from RideRequest r " +
+            "where r.pickupLocation.latitude is not null and r.pickupLocation.longitude is not null")
+    Stream<PickupPointDTO> streamPickupPoints();
+
+    /**
+     * Streams the facts of every ride request the analytics are built from, for rebuilding them. The day a
+     * request was made is read from the created_at column filled by the database, which the entity does not
+     * map. The stream must be closed and consumed inside a transaction.
+     *
+     * @return A stream of the facts of all ride requests
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "select req_no as reqNo, pickup_city as city, vehicle_model as model, status, " +
+            "pickup_dates as pickupDate, cast(created_at as date) as createdDate from ride_request", nativeQuery = true)
+    Stream<RequestFacts> streamRequestFacts();
+
+    /**
+     * Retrieves the ride requests with the specified request numbers and status, for changing their status.
+     *
+     * @param reqNos The request numbers of the ride requests to retrieve
+     * @param status The current status of the ride requests
+     * @return A list of the matching ride requests with their user's email and vehicle
+     */
+    @Query(SELECT_TRANSITION_ROW + "where r.reqNo in :reqNos and r.status = :status order by r.reqNo")
+    List<StatusTransitionRowDTO> findTransitionRowsByReqNoIn(Collection<Integer> reqNos, RequestStatus status);
+
+    /**
+     * Retrieves the ride requests with the specified status picked up between the specified dates, for
+     * changing their status.
+     *
+     * @param status    The current status of the ride requests
+     * @param startDate The start date of the pickup dates to retrieve
+     * @param endDate   The end date of the pickup dates to retrieve
+     * @return A list of the matching ride requests with their user's email and vehicle
+     */
+    @Query(SELECT_TRANSITION_ROW + "where r.status = :status and r.pickupDate between :startDate and :endDate order by r.reqNo")
+    List<StatusTransitionRowDTO> findTransitionRowsByPickupDateBetween(RequestStatus status, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Moves the ride requests with the specified request numbers from one status to another in a single
+     * statement, incrementing their version. Requests no longer in the expected status are left alone.
+     *
+     * @param reqNos The request numbers of the ride requests to update
+     * @param from   The status the ride requests are expected to have
+     * @param to     The new status of the ride requests
+     * @return The number of ride requests updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RideRequest r set r.status = :to, r.version = r.version + 1 where r.reqNo in :reqNos and r.status = :from")
+    int updateStatus(Collection<Integer> reqNos, RequestStatus from, RequestStatus to);
+
+    /**
+     * The facts of a ride request the analytics are built from.
+     */
+    interface RequestFacts {
+
+        int getReqNo();
+
+        String getCity();
+
+        String getModel();
+
+        String getStatus();
+
+        LocalDate getPickupDate();
+
+        LocalDate getCreatedDate();
+    }
 }
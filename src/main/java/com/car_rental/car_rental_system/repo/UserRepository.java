@@ -2,7 +2,11 @@ package com.car_rental.car_rental_system.repo;
 
 import com.car_rental.car_rental_system.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +22,16 @@ public interface UserRepository extends JpaRepository<User,Integer> {
      * @return An optional containing the user with the specified username, or empty if not found
      */
     Optional<User> findByUsername (String username);
+
+    /**
+     * Replaces the password hash of a user.
+     *
+     * @param username The username of the user
+     * @param password The new password hash
+     * @return The number of users updated
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(String username, String password);
 }
@@ -1,12 +1,24 @@
 package com.car_rental.car_rental_system.repo;
 
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.dto.VehicleModelDTO;
 import com.car_rental.car_rental_system.entity.Vehicle;
 import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Dilan
@@ -31,11 +43,14 @@ public interface VehicleRepository extends JpaRepository<Vehicle,Integer> {
     Optional<Vehicle> findByPlateNumber(String plateNumber);
 
     /**
-     * Retrieves a list of vehicles whose plate numbers contain the specified value, ignoring case.
+     * Retrieves a list of vehicles whose plate numbers contain the specified value, ignoring case. The
+     * search runs on the indexed, upper-cased plate number column maintained by the database.
      *
      * @param plateNumber The partial or full plate number to search for
      * @return A list of vehicles whose plate numbers contain the specified value, ignoring case
      */
+    @Query(value = "select * from vehicle where plate_number_normalized like %?#{escape([0]).toUpperCase()}% " +
+            "escape ?#{escapeCharacter()}", nativeQuery = true)
     List<Vehicle> findAllByPlateNumberContainingIgnoreCase(String plateNumber);
 
     /**
@@ -53,4 +68,82 @@ public interface VehicleRepository extends JpaRepository<Vehicle,Integer> {
      * @return A list of vehicles with request dates less than the specified date
      */
     List<Vehicle> findAllByReqDatesLessThan(LocalDate date);
+
+    /**
+     * Retrieves a vehicle for assigning it to a ride request. The version of the vehicle is incremented
+     * when the transaction commits, so two transactions assigning the same vehicle cannot both commit.
+     *
+     * @param vehicleId The ID of the vehicle to retrieve
+     * @return An optional containing the vehicle with the specified ID, or empty if not found
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select v from Vehicle v where v.vehicleId = :vehicleId")
+    Optional<Vehicle> findForAssignment(int vehicleId);
+
+    /**
+     * Retrieves a page of vehicles following the specified vehicle ID, in vehicle ID order.
+     *
+     * @param vehicleId The vehicle ID to seek after
+     * @param limit     The maximum number of vehicles to retrieve
+     * @return A list of vehicles with a vehicle ID greater than the specified one
+     */
+    List<Vehicle> findAllByVehicleIdGreaterThanOrderByVehicleIdAsc(int vehicleId, Limit limit);
+
+    /**
+     * Retrieves the plate numbers of all vehicles.
+     *
+     * @return A list of the plate numbers of all vehicles
+     */
+    @Query("select v.plateNumber from Vehicle v")
+    List<String> findAllPlateNumbers();
+
+    /**
+     * Streams all vehicles in vehicle ID order. Rows are fetched from the database in chunks while the
+     * stream is consumed, so the stream must be closed and consumed inside a transaction.
+     *
+     * @return A stream of all vehicles
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.car_rental.car_rental_system.dto.VehicleDTO(v.vehicleId, v.name, v.model, v.plateNumber, v.reqDates) " +
+            "from Vehicle v order by v.vehicleId")
+    Stream<VehicleDTO> streamAllByOrderByVehicleIdAsc();
+
+    /**
+     * Streams the plate number of every vehicle, for loading the plate number index. The stream must be
+     * closed and consumed inside a transaction.
+     *
+     * @return A stream of the plate numbers of all vehicles
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.car_rental.car_rental_system.dto.PlateNumberDTO(v.vehicleId, v.plateNumber) from Vehicle v " +
+            "where v.plateNumber is not null")
+    Stream<PlateNumberDTO> streamPlateNumbers();
+
+    /**
+     * Retrieves the vehicle IDs of the specified plate numbers.
+     *
+     * @param plateNumbers The plate numbers to retrieve
+     * @return A list of the vehicle IDs and plate numbers found
+     */
+    @Query("select new com.car_rental.car_rental_system.dto.PlateNumberDTO(v.vehicleId, v.plateNumber) from Vehicle v " +
+            "where v.plateNumber in :plateNumbers")
+    List<PlateNumberDTO> findPlateNumbersByPlateNumberIn(Collection<String> plateNumbers);
+
+    /**
+     * Retrieves the vehicles with the specified vehicle IDs.
+     *
+     * @param vehicleIds The IDs of the vehicles to retrieve
+     * @return A list of the vehicles found, in vehicle ID order
+     */
+    @Query("select new com.car_rental.car_rental_system.dto.VehicleDTO(v.vehicleId, v.name, v.model, v.plateNumber, v.reqDates) " +
+            "from Vehicle v where v.vehicleId in :vehicleIds order by v.vehicleId")
+    List<VehicleDTO> findAllByVehicleIdIn(Collection<Integer> vehicleIds);
+
+    /**
+     * Retrieves the model of every vehicle, for the utilisation analytics.
+     *
+     * @return A list of the IDs and models of all vehicles, in vehicle ID order
+     */
+    @Query("select new com.car_rental.car_rental_system.dto.VehicleModelDTO(v.vehicleId, v.model) from Vehicle v order by v.vehicleId")
+    List<VehicleModelDTO> findAllVehicleModels();
 }
@@ -0,0 +1,47 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.DemandDTO;
+import com.car_rental.car_rental_system.dto.RequestOutcomeDTO;
+import com.car_rental.car_rental_system.dto.UtilisationDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 05:30 am
+ */
+public interface AnalyticsService {
+
+    /**
+     * Retrieves the fleet utilisation over a period, per day and model and per vehicle.
+     *
+     * @param startDate The first day of the period
+     * @param endDate   The last day of the period
+     * @param limit     The maximum number of vehicles to retrieve
+     * @return UtilisationDTO with the daily utilisation of every model and the most reserved vehicles
+     */
+    UtilisationDTO utilisation(LocalDate startDate, LocalDate endDate, int limit);
+
+    /**
+     * Retrieves the number of ride requests per pickup city and status.
+     *
+     * @return List of DemandDTO, the city with the most pending ride requests first
+     */
+    List<DemandDTO> demand();
+
+    /**
+     * Retrieves the number of ride requests per status, the approval and rejection rates and the booking
+     * lead times.
+     *
+     * @return RequestOutcomeDTO of all ride requests
+     */
+    RequestOutcomeDTO outcomes();
+
+    /**
+     * Rebuilds the ride request analytics from the database.
+     *
+     * @return The number of ride requests the analytics were rebuilt from
+     */
+    int rebuild();
+}
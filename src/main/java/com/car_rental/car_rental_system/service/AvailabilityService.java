@@ -0,0 +1,98 @@
+package com.car_rental.car_rental_system.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 09:31 am
+ */
+public interface AvailabilityService {
+
+    /**
+     * Checks whether a vehicle is free for the whole of the given interval.
+     *
+     * @param vehicleId The ID of the vehicle to check
+     * @param startDate The first day of the interval
+     * @param endDate   The last day of the interval
+     * @return True if the vehicle has no reservation overlapping the interval, false otherwise
+     */
+    boolean isAvailable(int vehicleId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Filters the given vehicles down to the ones that are free for the whole of the given interval.
+     *
+     * @param vehicleIds The IDs of the vehicles to check
+     * @param startDate  The first day of the interval
+     * @param endDate    The last day of the interval
+     * @return List of the IDs of the vehicles that are free for the interval
+     */
+    List<Integer> findAvailable(Collection<Integer> vehicleIds, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Reserves a vehicle for a ride request. Must be called inside a transaction; the in-memory
+     * calendar is rolled back together with the transaction.
+     *
+     * @param vehicleId The ID of the vehicle to reserve
+     * @param reqNo     The number of the ride request the vehicle is reserved for
+     * @param startDate The first day of the reservation
+     * @param endDate   The last day of the reservation
+     */
+    void reserve(int vehicleId, int reqNo, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Reserves a vehicle for a ride request if it is free, leaving the transaction usable when it is not.
+     * Must be called inside a transaction; the in-memory calendar is rolled back together with the transaction.
+     *
+     * @param vehicleId The ID of the vehicle to reserve
+     * @param reqNo     The number of the ride request the vehicle is reserved for
+     * @param startDate The first day of the reservation
+     * @param endDate   The last day of the reservation
+     * @return True if the vehicle was reserved, false if it is already reserved for part of the interval
+     */
+    boolean tryReserve(int vehicleId, int reqNo, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Releases the reservation held by a ride request, if any. Must be called inside a transaction.
+     *
+     * @param reqNo The number of the ride request whose reservation is released
+     */
+    void release(int reqNo);
+
+    /**
+     * Releases the reservations held by the given ride requests, with a single delete.
+     *
+     * @param reqNos The numbers of the ride requests whose reservations are released
+     */
+    void releaseAll(Collection<Integer> reqNos);
+
+    /**
+     * Retrieves the last day a vehicle is reserved for.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @return The end date of the latest reservation of the vehicle, or null if it has none
+     */
+    LocalDate lastReservedDate(int vehicleId);
+
+    /**
+     * Retrieves the last day of the reservation of a vehicle that starts closest before the given date.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @param date      The date to look before
+     * @return The end date of that reservation, or null if the vehicle has none before the date
+     */
+    LocalDate lastReservedDateBefore(int vehicleId, LocalDate date);
+
+    /**
+     * Counts the days of the given interval a vehicle is reserved for.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @param startDate The first day of the interval
+     * @param endDate   The last day of the interval
+     * @param perDay    The counters of the days of the interval, the first day at index 0; the counter of
+     *                  each reserved day is incremented
+     * @return The number of reserved days in the interval
+     */
+    int reservedDays(int vehicleId, LocalDate startDate, LocalDate endDate, int[] perDay);
+}
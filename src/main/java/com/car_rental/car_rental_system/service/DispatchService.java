@@ -0,0 +1,22 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.DispatchResultDTO;
+
+import java.time.LocalDate;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 01:24 pm
+ */
+public interface DispatchService {
+
+    /**
+     * Assigns free vehicles to the pending ride requests picked up within the specified date range,
+     * matching each request to a vehicle of the requested model so that as many requests as possible get one.
+     *
+     * @param startDate The start date of the pickup date range
+     * @param endDate   The end date of the pickup date range
+     * @return DispatchResultDTO describing how many requests were matched and how fast
+     */
+    DispatchResultDTO dispatchPending(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,43 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+
+import java.util.List;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 08:12 pm
+ */
+public interface GeoSearchService {
+
+    /**
+     * Retrieves the ride requests picked up within a distance of a location, nearest first.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param radiusKm  The distance in kilometres
+     * @return List of RideRequestDTO picked up within the distance
+     */
+    List<RideRequestDTO> findWithinRadius(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Retrieves the ride requests picked up inside a bounding box.
+     *
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return List of RideRequestDTO picked up inside the box, in request number order
+     */
+    List<RideRequestDTO> findWithinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+
+    /**
+     * Retrieves the pending ride requests picked up nearest to a location, such as a depot.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param k         The maximum number of ride requests to retrieve
+     * @return List of at most k pending RideRequestDTO, nearest first
+     */
+    List<RideRequestDTO> findNearestPending(double latitude, double longitude, int k);
+}
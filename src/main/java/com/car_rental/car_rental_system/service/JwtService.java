@@ -1,10 +1,12 @@
 package com.car_rental.car_rental_system.service;
 
+import com.car_rental.car_rental_system.dto.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Collection;
 
 /**
@@ -45,4 +47,33 @@ public interface JwtService {
      * @return True if the token is valid for the provided UserDetails, false otherwise
      */
     Boolean validateToken(String token, UserDetails userDetails);
+
+    /**
+     * Verifies the signature and expiry of the given JWT token and reads its claims in a single parse.
+     *
+     * @param token The JWT token to verify
+     * @return The username, roles and expiry of the token
+     */
+    VerifiedToken verify(String token);
+
+    /**
+     * Revokes the given JWT token, so it is refused from now on even though it has not expired.
+     *
+     * @param token The JWT token to revoke
+     */
+    void revoke(String token);
+
+    /**
+     * Revokes every JWT token issued to the given username so far.
+     *
+     * @param username The username whose tokens are revoked
+     */
+    void revokeAll(String username);
+
+    /**
+     * Retrieves how long the generated access tokens are valid.
+     *
+     * @return The lifetime of an access token
+     */
+    Duration getAccessTokenTtl();
 }
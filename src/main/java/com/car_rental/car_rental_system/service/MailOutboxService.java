@@ -0,0 +1,15 @@
+package com.car_rental.car_rental_system.service;
+
+/**
+ * @author Dilan
+ * @created 18/10/2026 - 06:50 pm
+ */
+public interface MailOutboxService {
+
+    /**
+     * Sends the queued emails that are due, one batch at a time, until none are left.
+     *
+     * @return The number of emails sent
+     */
+    int dispatch();
+}
@@ -0,0 +1,31 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads ride requests without blocking the calling thread.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 02:45 am
+ */
+public interface ReactiveRideRequestService {
+
+    /**
+     * Retrieves a ride request by its ID.
+     *
+     * @param id The ID of the ride request to retrieve
+     * @return Mono of the RideRequestDTO, or an empty Mono if not found
+     */
+    Mono<RideRequestDTO> findById(int id);
+
+    /**
+     * Retrieves all ride requests associated with the specified user ID, in request number order. Rows are
+     * fetched as the subscriber requests them.
+     *
+     * @param id The ID of the user whose ride requests are to be retrieved
+     * @return Flux of the RideRequestDTOs of the user, failing if no user has the ID
+     */
+    Flux<RideRequestDTO> findAllRequestsByUserId(int id);
+}
@@ -0,0 +1,47 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.AuthenticationResponse;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 07:15 am
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Issues an access token and the first refresh token of a new family to the given username.
+     *
+     * @param username The username the tokens are issued to
+     * @return The access token, the refresh token and the lifetime of the access token in seconds
+     */
+    AuthenticationResponse issue(String username);
+
+    /**
+     * Uses up a refresh token and issues a new access token and the next refresh token of its family.
+     *
+     * @param refreshToken The refresh token
+     * @return The access token, the refresh token and the lifetime of the access token in seconds
+     */
+    AuthenticationResponse refresh(String refreshToken);
+
+    /**
+     * Revokes the family of a refresh token, so none of its refresh tokens can be used any more.
+     *
+     * @param refreshToken The refresh token
+     */
+    void revoke(String refreshToken);
+
+    /**
+     * Revokes every refresh token of the given username.
+     *
+     * @param username The username whose refresh tokens are revoked
+     */
+    void revokeAll(String username);
+
+    /**
+     * Deletes the expired refresh tokens.
+     *
+     * @return The number of deleted tokens
+     */
+    int purgeExpired();
+}
@@ -1,11 +1,15 @@
 package com.car_rental.car_rental_system.service;
 
 import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionResultDTO;
 import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
 import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Dilan
@@ -20,6 +24,24 @@ public interface RideRequestService {
      */
     List<RideRequestDTO> findAll();
 
+    /**
+     * Retrieves a page of ride requests in request number order.
+     *
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests
+     */
+    List<RideRequestDTO> findAll(int afterReqNo, int size);
+
+    /**
+     * Streams all ride requests, or all ride requests with a status, to the given consumer one by one
+     * without holding the whole result in memory.
+     *
+     * @param status   The status of the ride requests to stream, or null for every ride request
+     * @param consumer The consumer receiving each ride request in request number order
+     */
+    void streamAll(RequestStatus status, Consumer<RideRequestDTO> consumer);
+
     /**
      * Retrieves ride requests by status.
      *
@@ -28,6 +50,16 @@ public interface RideRequestService {
      */
     List<RideRequestDTO> findByState(RequestStatus status);
 
+    /**
+     * Retrieves a page of ride requests by status in request number order.
+     *
+     * @param status     The status of the ride requests to retrieve
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests with the specified status
+     */
+    List<RideRequestDTO> findByState(RequestStatus status, int afterReqNo, int size);
+
     /**
      * Retrieves all ride requests associated with the specified user ID.
      *
@@ -36,6 +68,15 @@ public interface RideRequestService {
      */
     List<RideRequestDTO> findAllRequestsByUserId(int id);
 
+    /**
+     * Opens an event stream of the committed changes to a user's ride requests.
+     *
+     * @param id          The ID of the user whose ride requests are to be followed
+     * @param lastEventId The ID of the last event received before reconnecting, or null for a new stream
+     * @return SseEmitter sending the missed changes, then each change as it is committed
+     */
+    SseEmitter subscribe(int id, Long lastEventId);
+
     /**
      * Retrieves a ride request by its ID.
      *
@@ -66,6 +107,15 @@ public interface RideRequestService {
      */
     void updateStatus(int id, RequestStatus status);
 
+    /**
+     * Moves pending ride requests, given by request number or by pickup date range, to a new status in a
+     * single transaction and queues their notification emails.
+     *
+     * @param dto The new status and the ride requests to move
+     * @return StatusTransitionResultDTO with the number of updated ride requests and the skipped request numbers
+     */
+    StatusTransitionResultDTO updateStatuses(StatusTransitionDTO dto);
+
     /**
      * Assigns a vehicle to an existing ride request.
      *
@@ -99,4 +149,15 @@ public interface RideRequestService {
      * @return List of RideRequestDTO representing ride requests within the specified pickup date range
      */
     List<RideRequestDTO> filterBetweenDate(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Retrieves a page of ride requests filtered by the specified pickup date range in request number order.
+     *
+     * @param startDate  The start date of the pickup date range
+     * @param endDate    The end date of the pickup date range
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests within the specified pickup date range
+     */
+    List<RideRequestDTO> filterBetweenDate(LocalDate startDate, LocalDate endDate, int afterReqNo, int size);
 }
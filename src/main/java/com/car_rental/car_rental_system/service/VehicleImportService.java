@@ -0,0 +1,28 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.VehicleImportResultDTO;
+
+import java.io.BufferedReader;
+
+/**
+ * @author Dilan
+ * @created 19/10/2026 - 12:30 am
+ */
+public interface VehicleImportService {
+
+    /**
+     * Imports vehicles from CSV lines with the columns of {@code VehicleCsv.HEADER}. A header line is optional.
+     *
+     * @param reader The reader of the CSV lines
+     * @return VehicleImportResultDTO with the number of imported vehicles and the errors of rejected lines
+     */
+    VehicleImportResultDTO importCsv(BufferedReader reader);
+
+    /**
+     * Imports vehicles from newline-delimited JSON, one VehicleDTO per line.
+     *
+     * @param reader The reader of the JSON lines
+     * @return VehicleImportResultDTO with the number of imported vehicles and the errors of rejected lines
+     */
+    VehicleImportResultDTO importJsonLines(BufferedReader reader);
+}
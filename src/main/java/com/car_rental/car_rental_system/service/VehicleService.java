@@ -5,6 +5,7 @@ import com.car_rental.car_rental_system.entity.enums.VehicleModels;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Dilan
@@ -19,6 +20,22 @@ public interface VehicleService {
      */
     List<VehicleDTO> findAll();
 
+    /**
+     * Retrieves a page of vehicles in vehicle ID order.
+     *
+     * @param afterVehicleId The vehicle ID to continue after, 0 for the first page
+     * @param size           The maximum number of vehicles to retrieve
+     * @return List of VehicleDTO representing the page of vehicles
+     */
+    List<VehicleDTO> findAll(int afterVehicleId, int size);
+
+    /**
+     * Streams all vehicles to the given consumer one by one without holding the whole result in memory.
+     *
+     * @param consumer The consumer receiving each vehicle in vehicle ID order
+     */
+    void streamAll(Consumer<VehicleDTO> consumer);
+
     /**
      * Retrieves a vehicle by its ID.
      *
@@ -35,6 +52,15 @@ public interface VehicleService {
      */
     List<VehicleDTO> findAllByDate(LocalDate date);
 
+    /**
+     * Retrieves a list of vehicles available for the whole of the specified date range.
+     *
+     * @param startDate The first day of the date range
+     * @param endDate   The last day of the date range
+     * @return List of VehicleDTO representing the vehicles available for the date range
+     */
+    List<VehicleDTO> findAllAvailable(LocalDate startDate, LocalDate endDate);
+
     /**
      * Saves a new vehicle.
      *
@@ -65,6 +91,15 @@ public interface VehicleService {
      */
     List<VehicleDTO> findAllByPlateNumber(String plateNumber);
 
+    /**
+     * Retrieves the vehicles whose plate numbers are most similar to a possibly mistyped plate number.
+     *
+     * @param plateNumber The plate number to search for
+     * @param limit       The maximum number of vehicles to retrieve, from 1 to 100
+     * @return List of VehicleDTO, most similar first
+     */
+    List<VehicleDTO> findAllBySimilarPlateNumber(String plateNumber, int limit);
+
     /**
      * Retrieves vehicles by model.
      *
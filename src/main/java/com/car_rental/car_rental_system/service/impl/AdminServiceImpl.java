@@ -32,7 +32,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public AdminDTO findByUsername(String username) {
-        log.info("Executing AdminServiceImpl findByUsername method with username: {}", username);
+        log.debug("Executing AdminServiceImpl findByUsername method with username: {}", username);
         try {
 
             // Retrieve admin entity from the repository by username
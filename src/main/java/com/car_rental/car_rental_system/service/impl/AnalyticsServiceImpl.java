@@ -0,0 +1,254 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.DailyUtilisationDTO;
+import com.car_rental.car_rental_system.dto.DemandDTO;
+import com.car_rental.car_rental_system.dto.RequestOutcomeDTO;
+import com.car_rental.car_rental_system.dto.UtilisationDTO;
+import com.car_rental.car_rental_system.dto.VehicleModelDTO;
+import com.car_rental.car_rental_system.dto.VehicleUtilisationDTO;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.AnalyticsService;
+import com.car_rental.car_rental_system.service.AvailabilityService;
+import com.car_rental.car_rental_system.util.ParallelAggregation;
+import com.car_rental.car_rental_system.util.RideRequestStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Answers the fleet and demand analytics.
+ * <p>
+ * The ride request counts and lead times are kept up to date by {@link RideRequestStats} as requests are
+ * written, so reading them costs no query. They are rebuilt from the database on startup and on demand,
+ * folding the requests in parallel on a dedicated fork-join pool. The utilisation of a period is folded
+ * from the in-memory reservation calendars on the same pool, a part of the fleet per task.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:35 am
+ */
+
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_VEHICLES = 1000;
+    private final ForkJoinPool pool;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private RideRequestRepository repository;
+    private VehicleRepository vehicleRepository;
+    private AvailabilityService availabilityService;
+    private RideRequestStats stats;
+    private TransactionTemplate readOnlyTransaction;
+
+    public AnalyticsServiceImpl(RideRequestRepository repository, VehicleRepository vehicleRepository, AvailabilityService availabilityService,
+                                RideRequestStats stats, PlatformTransactionManager transactionManager,
+                                @Value("${app.analytics.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.vehicleRepository = vehicleRepository;
+        this.availabilityService = availabilityService;
+        this.stats = stats;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds the ride request analytics once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStats() {
+        log.debug("Executing AnalyticsServiceImpl loadStats method");
+        log.info("Loaded the analytics of {} ride requests", rebuild());
+    }
+
+    /**
+     * Retrieves the fleet utilisation over a period, per day and model and per vehicle. A vehicle is
+     * utilised on a day it is reserved for.
+     *
+     * @param startDate The first day of the period
+     * @param endDate   The last day of the period
+     * @param limit     The maximum number of vehicles to retrieve
+     * @return UtilisationDTO with the daily utilisation of every model and the most reserved vehicles
+     * @throws IllegalArgumentException if the period or the limit is invalid
+     */
+    @Override
+    public UtilisationDTO utilisation(LocalDate startDate, LocalDate endDate, int limit) {
+        log.debug("Executing AnalyticsServiceImpl utilisation method with startDate: {}, endDate: {}, limit: {}", startDate, endDate, limit);
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("The end date must not be before the start date");
+        }
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > MAX_DAYS) {
+            throw new IllegalArgumentException("The period must not be longer than " + MAX_DAYS + " days");
+        }
+        if (limit < 1 || limit > MAX_VEHICLES) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_VEHICLES);
+        }
+
+        try {
+
+            List<VehicleModelDTO> vehicles = vehicleRepository.findAllVehicleModels();
+            Fleet fleet = ParallelAggregation.aggregate(pool, vehicles, () -> new Fleet(days), (part, vehicle) -> {
+                int reserved = availabilityService.reservedDays(vehicle.getVehicleId(), startDate, endDate, part.perDay(vehicle.getModel()));
+                part.add(vehicle, reserved);
+            }, Fleet::merge);
+
+            List<DailyUtilisationDTO> daily = new ArrayList<>(days * fleet.vehicles.size());
+            for (int day = 0; day < days; day++) {
+                LocalDate date = startDate.plusDays(day);
+                for (Map.Entry<VehicleModels, Integer> model : fleet.vehicles.entrySet()) {
+                    int reserved = fleet.reservedPerDay.get(model.getKey())[day];
+                    daily.add(new DailyUtilisationDTO(date, model.getKey(), reserved, model.getValue(), (double) reserved / model.getValue()));
+                }
+            }
+
+            List<VehicleUtilisationDTO> mostReserved = fleet.utilisation;
+            mostReserved.sort(Comparator.comparingInt(VehicleUtilisationDTO::getReservedDays).reversed()
+                    .thenComparingInt(VehicleUtilisationDTO::getVehicleId));
+            List<VehicleUtilisationDTO> top = new ArrayList<>(mostReserved.subList(0, Math.min(limit, mostReserved.size())));
+            top.forEach(vehicle -> vehicle.setRate((double) vehicle.getReservedDays() / days));
+
+            return new UtilisationDTO(startDate, endDate, daily, top);
+
+        } catch (Exception e) {
+            log.error("Error occurred in AnalyticsServiceImpl while computing utilisation: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the number of ride requests per pickup city and status.
+     *
+     * @return List of DemandDTO, the city with the most pending ride requests first
+     */
+    @Override
+    public List<DemandDTO> demand() {
+        log.debug("Executing AnalyticsServiceImpl demand method");
+        ensureBuilt();
+        return stats.demand();
+    }
+
+    /**
+     * Retrieves the number of ride requests per status, the approval and rejection rates and the booking
+     * lead times. The rates are shares of the decided ride requests; the lead time is the number of days
+     * between making a ride request and its pickup date.
+     *
+     * @return RequestOutcomeDTO of all ride requests
+     */
+    @Override
+    public RequestOutcomeDTO outcomes() {
+        log.debug("Executing AnalyticsServiceImpl outcomes method");
+        ensureBuilt();
+        return stats.outcomes();
+    }
+
+    /**
+     * Rebuilds the ride request analytics from the database. Ride requests written while the rebuild runs
+     * are applied over its result, so none are lost.
+     *
+     * @return The number of ride requests the analytics were rebuilt from
+     */
+    @Override
+    public int rebuild() {
+        log.debug("Executing AnalyticsServiceImpl rebuild method");
+        rebuildLock.lock();
+        try {
+
+            stats.startRebuild();
+            Map<Integer, RideRequestStats.Facts> requests = readOnlyTransaction.execute(status -> {
+                Map<Integer, RideRequestStats.Facts> facts = new HashMap<>();
+                try (Stream<RideRequestRepository.RequestFacts> rows = repository.streamRequestFacts()) {
+                    rows.forEach(row -> facts.put(row.getReqNo(), new RideRequestStats.Facts(
+                            row.getCity() == null ? RideRequestStats.UNKNOWN : row.getCity(),
+                            row.getModel() == null ? RideRequestStats.UNKNOWN : row.getModel(),
+                            row.getStatus() == null ? null : RequestStatus.valueOf(row.getStatus()),
+                            row.getPickupDate(), row.getCreatedDate())));
+                }
+                return facts;
+            });
+            stats.finishRebuild(requests, pool);
+            return requests.size();
+
+        } catch (Exception e) {
+            //Otherwise every later change would be recorded for a replay that never comes
+            stats.abortRebuild();
+            log.error("Error occurred in AnalyticsServiceImpl while rebuilding the analytics: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private void ensureBuilt() {
+        if (!stats.isReady()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * The reserved vehicles per day and model, the number of vehicles per model and the reserved days per
+     * vehicle, of a part of the fleet.
+     */
+    private static final class Fleet {
+
+        private final int days;
+        private final Map<VehicleModels, int[]> reservedPerDay = new EnumMap<>(VehicleModels.class);
+        private final Map<VehicleModels, Integer> vehicles = new EnumMap<>(VehicleModels.class);
+        private final List<VehicleUtilisationDTO> utilisation = new ArrayList<>();
+
+        private Fleet(int days) {
+            this.days = days;
+        }
+
+        private int[] perDay(VehicleModels model) {
+            //Vehicles without a model count toward no model's daily utilisation
+            return model == null ? new int[days] : reservedPerDay.computeIfAbsent(model, key -> new int[days]);
+        }
+
+        private void add(VehicleModelDTO vehicle, int reservedDays) {
+            if (vehicle.getModel() != null) {
+                vehicles.merge(vehicle.getModel(), 1, Integer::sum);
+            }
+            utilisation.add(new VehicleUtilisationDTO(vehicle.getVehicleId(), vehicle.getModel(), reservedDays, 0));
+        }
+
+        private Fleet merge(Fleet other) {
+            other.reservedPerDay.forEach((model, counts) -> {
+                int[] merged = reservedPerDay.computeIfAbsent(model, key -> new int[days]);
+                for (int day = 0; day < days; day++) {
+                    merged[day] += counts[day];
+                }
+            });
+            other.vehicles.forEach((model, count) -> vehicles.merge(model, count, Integer::sum));
+            utilisation.addAll(other.utilisation);
+            return this;
+        }
+    }
+}
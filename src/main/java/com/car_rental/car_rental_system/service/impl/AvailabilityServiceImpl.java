@@ -0,0 +1,248 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.entity.Reservation;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.exceptions.VehicleException;
+import com.car_rental.car_rental_system.repo.ReservationRepository;
+import com.car_rental.car_rental_system.service.AvailabilityService;
+import com.car_rental.car_rental_system.util.BookingCalendar;
+import com.car_rental.car_rental_system.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link BookingCalendar} per vehicle in memory, backed by the reservation table.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:40 am
+ */
+
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+    private final Map<Integer, BookingCalendar> calendars = new ConcurrentHashMap<>();
+    private ReservationRepository reservationRepository;
+
+    public AvailabilityServiceImpl(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Loads every stored reservation into the in-memory calendars once the application has started,
+     * backfilling reservations for vehicles that were assigned before reservations were recorded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadCalendars() {
+        log.debug("Executing AvailabilityServiceImpl loadCalendars method");
+        try {
+
+            for (Reservation reservation : reservationRepository.findAll()) {
+                calendar(reservation.getVehicleId()).book(reservation.getStartDate(), reservation.getEndDate(), reservation.getReqNo());
+            }
+
+            for (RideRequest request : reservationRepository.findAssignedRequestsWithoutReservation()) {
+                int vehicleId = request.getVehicle().getVehicleId();
+                if (!calendar(vehicleId).isFree(request.getPickupDate(), request.getReturnDate())) {
+                    log.warn("Skipping overlapping legacy assignment of vehicle {} to ride request {}", vehicleId, request.getReqNo());
+                    continue;
+                }
+                reservationRepository.save(new Reservation(0, vehicleId, request.getReqNo(), request.getPickupDate(), request.getReturnDate()));
+                calendar(vehicleId).book(request.getPickupDate(), request.getReturnDate(), request.getReqNo());
+            }
+
+            log.info("Loaded availability calendars for {} vehicles", calendars.size());
+
+        } catch (Exception e) {
+            log.error("Error occurred in AvailabilityServiceImpl while loading calendars: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a vehicle is free for the whole of the given interval.
+     *
+     * @param vehicleId The ID of the vehicle to check
+     * @param startDate The first day of the interval
+     * @param endDate   The last day of the interval
+     * @return True if the vehicle has no reservation overlapping the interval, false otherwise
+     */
+    @Override
+    public boolean isAvailable(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        BookingCalendar calendar = calendars.get(vehicleId);
+        return calendar == null || calendar.isFree(startDate, endDate);
+    }
+
+    /**
+     * Filters the given vehicles down to the ones that are free for the whole of the given interval.
+     *
+     * @param vehicleIds The IDs of the vehicles to check
+     * @param startDate  The first day of the interval
+     * @param endDate    The last day of the interval
+     * @return List of the IDs of the vehicles that are free for the interval
+     */
+    @Override
+    public List<Integer> findAvailable(Collection<Integer> vehicleIds, LocalDate startDate, LocalDate endDate) {
+        List<Integer> available = new ArrayList<>();
+
+        for (Integer vehicleId : vehicleIds) {
+            if (isAvailable(vehicleId, startDate, endDate)) {
+                available.add(vehicleId);
+            }
+        }
+
+        return available;
+    }
+
+    /**
+     * Reserves a vehicle for a ride request and records the reservation.
+     *
+     * @param vehicleId The ID of the vehicle to reserve
+     * @param reqNo     The number of the ride request the vehicle is reserved for
+     * @param startDate The first day of the reservation
+     * @param endDate   The last day of the reservation
+     * @throws VehicleException if the vehicle is already reserved for part of the interval
+     */
+    @Override
+    @Transactional
+    public void reserve(int vehicleId, int reqNo, LocalDate startDate, LocalDate endDate) {
+        if (!tryReserve(vehicleId, reqNo, startDate, endDate)) {
+            throw new VehicleException("This vehicle is not available at the given date");
+        }
+    }
+
+    /**
+     * Reserves a vehicle for a ride request and records the reservation, if the vehicle is free.
+     *
+     * @param vehicleId The ID of the vehicle to reserve
+     * @param reqNo     The number of the ride request the vehicle is reserved for
+     * @param startDate The first day of the reservation
+     * @param endDate   The last day of the reservation
+     * @return True if the vehicle was reserved, false if it is already reserved for part of the interval
+     */
+    @Override
+    @Transactional
+    public boolean tryReserve(int vehicleId, int reqNo, LocalDate startDate, LocalDate endDate) {
+        log.debug("Executing AvailabilityServiceImpl tryReserve method with vehicleId: {}, reqNo: {}", vehicleId, reqNo);
+
+        BookingCalendar calendar = calendar(vehicleId);
+        if (!calendar.book(startDate, endDate, reqNo)) {
+            return false;
+        }
+
+        //The table stays the source of truth for reservations committed by other instances
+        if (reservationRepository.existsOverlapping(vehicleId, startDate, endDate, reqNo)) {
+            calendar.release(startDate, reqNo);
+            return false;
+        }
+
+        //Undo the in-memory booking if the surrounding transaction does not commit
+        TransactionHooks.afterRollback(() -> calendar.release(startDate, reqNo));
+
+        reservationRepository.save(new Reservation(0, vehicleId, reqNo, startDate, endDate));
+        return true;
+    }
+
+    /**
+     * Releases the reservation held by a ride request, if any.
+     *
+     * @param reqNo The number of the ride request whose reservation is released
+     */
+    @Override
+    @Transactional
+    public void release(int reqNo) {
+        log.debug("Executing AvailabilityServiceImpl release method with reqNo: {}", reqNo);
+
+        Reservation reservation = reservationRepository.findByReqNo(reqNo).orElse(null);
+        if (reservation == null) {
+            return;
+        }
+
+        reservationRepository.delete(reservation);
+        reservationRepository.flush();
+
+        BookingCalendar calendar = calendar(reservation.getVehicleId());
+        calendar.release(reservation.getStartDate(), reqNo);
+        TransactionHooks.afterRollback(() -> calendar.book(reservation.getStartDate(), reservation.getEndDate(), reqNo));
+    }
+
+    /**
+     * Releases the reservations held by the given ride requests, with a single delete.
+     *
+     * @param reqNos The numbers of the ride requests whose reservations are released
+     */
+    @Override
+    @Transactional
+    public void releaseAll(Collection<Integer> reqNos) {
+        log.debug("Executing AvailabilityServiceImpl releaseAll method for {} ride requests", reqNos.size());
+
+        List<Reservation> reservations = reservationRepository.findAllByReqNoIn(reqNos);
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        reservationRepository.deleteAllInBatch(reservations);
+
+        for (Reservation reservation : reservations) {
+            BookingCalendar calendar = calendar(reservation.getVehicleId());
+            calendar.release(reservation.getStartDate(), reservation.getReqNo());
+            TransactionHooks.afterRollback(() -> calendar.book(reservation.getStartDate(), reservation.getEndDate(), reservation.getReqNo()));
+        }
+    }
+
+    /**
+     * Retrieves the last day a vehicle is reserved for.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @return The end date of the latest reservation of the vehicle, or null if it has none
+     */
+    @Override
+    public LocalDate lastReservedDate(int vehicleId) {
+        BookingCalendar calendar = calendars.get(vehicleId);
+        return calendar == null ? null : calendar.lastBookedDate();
+    }
+
+    /**
+     * Retrieves the last day of the reservation of a vehicle that starts closest before the given date.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @param date      The date to look before
+     * @return The end date of that reservation, or null if the vehicle has none before the date
+     */
+    @Override
+    public LocalDate lastReservedDateBefore(int vehicleId, LocalDate date) {
+        BookingCalendar calendar = calendars.get(vehicleId);
+        return calendar == null ? null : calendar.lastBookedDateBefore(date);
+    }
+
+    /**
+     * Counts the days of the given interval a vehicle is reserved for.
+     *
+     * @param vehicleId The ID of the vehicle
+     * @param startDate The first day of the interval
+     * @param endDate   The last day of the interval
+     * @param perDay    The counters of the days of the interval, incremented for each reserved day
+     * @return The number of reserved days in the interval
+     */
+    @Override
+    public int reservedDays(int vehicleId, LocalDate startDate, LocalDate endDate, int[] perDay) {
+        BookingCalendar calendar = calendars.get(vehicleId);
+        return calendar == null ? 0 : calendar.bookedDays(startDate, endDate, perDay);
+    }
+
+    private BookingCalendar calendar(int vehicleId) {
+        return calendars.computeIfAbsent(vehicleId, id -> new BookingCalendar());
+    }
+}
@@ -0,0 +1,218 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.DispatchResultDTO;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.AvailabilityService;
+import com.car_rental.car_rental_system.service.DispatchService;
+import com.car_rental.car_rental_system.util.CacheInvalidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches pending ride requests to free vehicles in bulk.
+ * <p>
+ * Requests are grouped by model and handled in order of return date. Each one goes to the free vehicle
+ * whose previous reservation ends latest before the pickup date, which keeps the longer gaps open for
+ * later requests. On empty calendars this earliest-finish, best-fit order assigns the largest possible
+ * number of requests.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 01:32 pm
+ */
+
+@Service
+public class DispatchServiceImpl implements DispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchServiceImpl.class);
+    private static final int MAX_DISPATCH_ATTEMPTS = 3;
+    private RideRequestRepository repository;
+    private VehicleRepository vehicleRepository;
+    private AvailabilityService availabilityService;
+    private CacheInvalidator cacheInvalidator;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private int windowDays;
+    private Counter assignments;
+
+    public DispatchServiceImpl(RideRequestRepository repository, VehicleRepository vehicleRepository,
+                               AvailabilityService availabilityService, CacheInvalidator cacheInvalidator, PlatformTransactionManager transactionManager,
+                               EntityManager entityManager, @Value("${app.dispatch.window-days:1}") int windowDays, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.vehicleRepository = vehicleRepository;
+        this.availabilityService = availabilityService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.windowDays = windowDays;
+        this.assignments = Counter.builder("rental.assignments").description("Vehicles assigned to ride requests").tag("source", "dispatch").register(meterRegistry);
+    }
+
+    /**
+     * Dispatches the pending ride requests picked up from today until the end of the configured window.
+     * Runs on the schedule set by {@code app.dispatch.cron}, and never when it is not set.
+     */
+    @Scheduled(cron = "${app.dispatch.cron:-}")
+    public void dispatchUpcoming() {
+        LocalDate today = LocalDate.now();
+        dispatchPending(today, today.plusDays(windowDays));
+    }
+
+    /**
+     * Assigns free vehicles to the pending ride requests picked up within the specified date range.
+     * All assignments are committed in one transaction.
+     *
+     * @param startDate The start date of the pickup date range
+     * @param endDate   The end date of the pickup date range
+     * @return DispatchResultDTO describing how many requests were matched and how fast
+     * @throws RuntimeException if an error occurs during the dispatch process
+     */
+    @Override
+    public DispatchResultDTO dispatchPending(LocalDate startDate, LocalDate endDate) {
+        log.debug("Executing DispatchServiceImpl dispatchPending method with startDate: {} and endDate: {}", startDate, endDate);
+        try {
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    long start = System.nanoTime();
+                    int[] counts = transactionTemplate.execute(status -> dispatch(startDate, endDate));
+                    long elapsedNanos = System.nanoTime() - start;
+                    assignments.increment(counts[1]);
+
+                    double perSecond = elapsedNanos == 0 ? 0 : counts[1] / (elapsedNanos / 1e9);
+                    log.info("Dispatched {} of {} pending ride requests in {} ms ({} matched/s)",
+                            counts[1], counts[0], elapsedNanos / 1_000_000, Math.round(perSecond));
+
+                    return new DispatchResultDTO(startDate, endDate, counts[0], counts[1], elapsedNanos / 1_000_000, perSecond);
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= MAX_DISPATCH_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.warn("Concurrent assignment while dispatching ride requests, retrying (attempt {})", attempt);
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("Error occurred in DispatchServiceImpl while dispatching ride requests: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one matching pass inside the current transaction.
+     *
+     * @return The number of pending requests at index 0 and the number matched at index 1
+     */
+    private int[] dispatch(LocalDate startDate, LocalDate endDate) {
+        List<RideRequest> pending = repository.findAllByStatusAndVehicleIsNullAndPickupDateBetween(RequestStatus.PENDING, startDate, endDate);
+
+        Map<VehicleModels, List<RideRequest>> byModel = new EnumMap<>(VehicleModels.class);
+        for (RideRequest request : pending) {
+            VehicleModels model = toModel(request.getModel());
+            if (model == null) {
+                log.warn("Skipping ride request {} with unknown vehicle model {}", request.getReqNo(), request.getModel());
+                continue;
+            }
+            byModel.computeIfAbsent(model, key -> new ArrayList<>()).add(request);
+        }
+
+        int matched = 0;
+        Map<Integer, Vehicle> assignedVehicles = new LinkedHashMap<>();
+
+        for (Map.Entry<VehicleModels, List<RideRequest>> entry : byModel.entrySet()) {
+            List<Vehicle> vehicles = vehicleRepository.findAllByModel(entry.getKey());
+            List<RideRequest> requests = entry.getValue();
+            requests.sort(Comparator.comparing(RideRequest::getReturnDate).thenComparing(RideRequest::getPickupDate));
+
+            for (RideRequest request : requests) {
+                Set<Integer> taken = new HashSet<>();
+                Vehicle vehicle = bestFit(vehicles, request, taken);
+                //A vehicle assigned outside the run since the check is skipped for the next best one
+                while (vehicle != null && !availabilityService.tryReserve(vehicle.getVehicleId(), request.getReqNo(), request.getPickupDate(), request.getReturnDate())) {
+                    taken.add(vehicle.getVehicleId());
+                    vehicle = bestFit(vehicles, request, taken);
+                }
+                if (vehicle == null) {
+                    continue;
+                }
+
+                vehicle.setReqDates(availabilityService.lastReservedDate(vehicle.getVehicleId()));
+                request.setVehicle(vehicle);
+                if (assignedVehicles.putIfAbsent(vehicle.getVehicleId(), vehicle) == null) {
+                    //Only the vehicles actually assigned get their version checked and incremented on commit, so
+                    //concurrent single assignments of the other vehicles of the model do not conflict with the run
+                    entityManager.lock(vehicle, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                }
+                matched++;
+            }
+        }
+
+        repository.saveAll(pending);
+        vehicleRepository.saveAll(assignedVehicles.values());
+        for (Vehicle vehicle : assignedVehicles.values()) {
+            cacheInvalidator.evictVehicle(vehicle.getVehicleId(), vehicle.getPlateNumber());
+        }
+
+        return new int[]{pending.size(), matched};
+    }
+
+    /**
+     * Picks the free vehicle whose previous reservation ends closest before the pickup date of the request.
+     *
+     * @param taken The IDs of the vehicles that turned out to be reserved already, which are skipped
+     * @return The chosen vehicle, or null if no vehicle is free for the request
+     */
+    private Vehicle bestFit(List<Vehicle> vehicles, RideRequest request, Set<Integer> taken) {
+        Vehicle best = null;
+        LocalDate bestPreviousEnd = null;
+
+        for (Vehicle vehicle : vehicles) {
+            if (taken.contains(vehicle.getVehicleId()) || !availabilityService.isAvailable(vehicle.getVehicleId(), request.getPickupDate(), request.getReturnDate())) {
+                continue;
+            }
+
+            LocalDate previousEnd = availabilityService.lastReservedDateBefore(vehicle.getVehicleId(), request.getPickupDate());
+            if (best == null || (previousEnd != null && (bestPreviousEnd == null || previousEnd.isAfter(bestPreviousEnd)))) {
+                best = vehicle;
+                bestPreviousEnd = previousEnd;
+            }
+        }
+
+        return best;
+    }
+
+    private VehicleModels toModel(String model) {
+        if (model == null) {
+            return null;
+        }
+        try {
+            return VehicleModels.valueOf(model.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
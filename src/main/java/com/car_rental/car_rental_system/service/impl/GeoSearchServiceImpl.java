@@ -0,0 +1,205 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.service.GeoSearchService;
+import com.car_rental.car_rental_system.util.GeoIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Answers pickup location searches from the in-memory {@link GeoIndex}, and from bounding box queries on
+ * the pickup coordinate columns while the index is disabled or still loading.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 08:20 pm
+ */
+
+@Service
+public class GeoSearchServiceImpl implements GeoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeoSearchServiceImpl.class);
+    private static final int MAX_NEAREST = 1000;
+    private static final int MAX_IDS_PER_QUERY = 1000;
+    private static final double KM_PER_DEGREE = Math.PI * GeoIndex.EARTH_RADIUS_KM / 180;
+    private RideRequestRepository repository;
+    private GeoIndex geoIndex;
+    private boolean indexEnabled;
+
+    public GeoSearchServiceImpl(RideRequestRepository repository, GeoIndex geoIndex,
+                                @Value("${app.geo.index-enabled:true}") boolean indexEnabled) {
+        this.repository = repository;
+        this.geoIndex = geoIndex;
+        this.indexEnabled = indexEnabled;
+    }
+
+    /**
+     * Loads the pickup point of every ride request into the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        if (!indexEnabled) {
+            return;
+        }
+        log.debug("Executing GeoSearchServiceImpl loadIndex method");
+        try (Stream<PickupPointDTO> points = repository.streamPickupPoints()) {
+            points.forEach(geoIndex::putIfAbsent);
+        }
+        geoIndex.markReady();
+        log.info("Loaded {} pickup points into the geospatial index", geoIndex.size());
+    }
+
+    /**
+     * Retrieves the ride requests picked up within a distance of a location, nearest first.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param radiusKm  The distance in kilometres
+     * @return List of RideRequestDTO picked up within the distance
+     * @throws IllegalArgumentException if the location or distance is invalid
+     */
+    @Override
+    public List<RideRequestDTO> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        log.debug("Executing GeoSearchServiceImpl findWithinRadius method with latitude: {}, longitude: {}, radiusKm: {}", latitude, longitude, radiusKm);
+        checkLocation(latitude, longitude);
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("The radius must be greater than 0");
+        }
+
+        if (useIndex()) {
+            return hydrate(geoIndex.withinRadius(latitude, longitude, radiusKm));
+        }
+
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double longitudeDelta = longitudeDelta(latitude, latitudeDelta, radiusKm);
+        List<RideRequestDTO> requests = new ArrayList<>(repository.findAllByPickupWithin(latitude - latitudeDelta,
+                longitude - longitudeDelta, latitude + latitudeDelta, longitude + longitudeDelta));
+        requests.removeIf(request -> distanceKm(latitude, longitude, request) > radiusKm);
+        requests.sort(Comparator.comparingDouble(request -> distanceKm(latitude, longitude, request)));
+        return requests;
+    }
+
+    /**
+     * Retrieves the ride requests picked up inside a bounding box.
+     *
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return List of RideRequestDTO picked up inside the box, in request number order
+     * @throws IllegalArgumentException if the box is invalid
+     */
+    @Override
+    public List<RideRequestDTO> findWithinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        log.debug("Executing GeoSearchServiceImpl findWithinBox method with box: {}, {}, {}, {}", minLatitude, minLongitude, maxLatitude, maxLongitude);
+        checkLocation(minLatitude, minLongitude);
+        checkLocation(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("The minimum corner of the box must be south-west of the maximum corner");
+        }
+
+        if (useIndex()) {
+            List<RideRequestDTO> requests = hydrate(geoIndex.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude));
+            requests.sort(Comparator.comparingInt(RideRequestDTO::getReqNo));
+            return requests;
+        }
+        return repository.findAllByPickupWithin(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /**
+     * Retrieves the pending ride requests picked up nearest to a location.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param k         The maximum number of ride requests to retrieve
+     * @return List of at most k pending RideRequestDTO, nearest first
+     * @throws IllegalArgumentException if the location or k is invalid
+     */
+    @Override
+    public List<RideRequestDTO> findNearestPending(double latitude, double longitude, int k) {
+        log.debug("Executing GeoSearchServiceImpl findNearestPending method with latitude: {}, longitude: {}, k: {}", latitude, longitude, k);
+        checkLocation(latitude, longitude);
+        if (k < 1 || k > MAX_NEAREST) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST);
+        }
+
+        if (useIndex()) {
+            return hydrate(geoIndex.nearest(latitude, longitude, k, point -> point.getStatus() == RequestStatus.PENDING));
+        }
+
+        //Widen the box until it holds k requests; only those within the inscribed circle are certainly the nearest
+        for (double radiusKm = 10; ; radiusKm *= 4) {
+            double latitudeDelta = radiusKm / KM_PER_DEGREE;
+            double longitudeDelta = longitudeDelta(latitude, latitudeDelta, radiusKm);
+            boolean wholeWorld = latitudeDelta >= 180 && longitudeDelta >= 180;
+            List<RideRequestDTO> requests = new ArrayList<>(repository.findAllByStatusAndPickupWithin(RequestStatus.PENDING,
+                    latitude - latitudeDelta, longitude - longitudeDelta, latitude + latitudeDelta, longitude + longitudeDelta));
+            double radius = radiusKm;
+            if (!wholeWorld) {
+                requests.removeIf(request -> distanceKm(latitude, longitude, request) > radius);
+            }
+            if (requests.size() >= k || wholeWorld) {
+                requests.sort(Comparator.comparingDouble(request -> distanceKm(latitude, longitude, request)));
+                return requests.subList(0, Math.min(k, requests.size()));
+            }
+        }
+    }
+
+    private boolean useIndex() {
+        return indexEnabled && geoIndex.isReady();
+    }
+
+    /**
+     * Loads the ride requests of the given points, keeping the order of the points.
+     */
+    private List<RideRequestDTO> hydrate(List<PickupPointDTO> points) {
+        Map<Integer, RideRequestDTO> byReqNo = new HashMap<>();
+        for (int from = 0; from < points.size(); from += MAX_IDS_PER_QUERY) {
+            List<Integer> reqNos = points.subList(from, Math.min(points.size(), from + MAX_IDS_PER_QUERY)).stream()
+                    .map(PickupPointDTO::getReqNo)
+                    .toList();
+            for (RideRequestDTO request : repository.findAllByReqNoIn(reqNos)) {
+                byReqNo.put(request.getReqNo(), request);
+            }
+        }
+
+        List<RideRequestDTO> requests = new ArrayList<>(points.size());
+        for (PickupPointDTO point : points) {
+            RideRequestDTO request = byReqNo.get(point.getReqNo());
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    private static double longitudeDelta(double latitude, double latitudeDelta, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeDelta)));
+        return cos < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+    }
+
+    private static double distanceKm(double latitude, double longitude, RideRequestDTO request) {
+        return GeoIndex.distanceKm(latitude, longitude, request.getPickupLocation().getLatitude(), request.getPickupLocation().getLongitude());
+    }
+
+    private static void checkLocation(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid location: " + latitude + ", " + longitude);
+        }
+    }
+}
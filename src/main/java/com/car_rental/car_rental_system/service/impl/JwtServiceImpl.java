@@ -1,14 +1,19 @@
 package com.car_rental.car_rental_system.service.impl;
 
+import com.car_rental.car_rental_system.dto.UserPrincipal;
+import com.car_rental.car_rental_system.dto.VerifiedToken;
 import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.util.SigningKeyRing;
+import com.car_rental.car_rental_system.util.TokenRevocationList;
+import com.car_rental.car_rental_system.util.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,13 +21,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -33,34 +38,55 @@ import java.util.stream.Collectors;
 @Service
 public class JwtServiceImpl implements JwtService {
     private static final Logger log = LoggerFactory.getLogger(JwtServiceImpl.class);
-    private final String SECRET_KEY = "3A1F79A64C0B8E9CF29A670BBD8F5A436A3D344B2A683F0A3B2507E53BB1CD07";
-    private static final int MINUTES = 60;
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ADMIN_ID_CLAIM = "aid";
+    //The iat claim holds whole seconds; revocations are compared with the issue time to the millisecond
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
     private UserDetailsService userDetailsService;
+    private TokenRevocationList revocations;
+    private final SigningKeyRing keyRing;
+    private final Duration accessTokenTtl;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(MAX_CACHED_TOKENS);
 
-    public JwtServiceImpl(UserDetailsService userDetailsService) {
+    public JwtServiceImpl(UserDetailsService userDetailsService, TokenRevocationList revocations, SigningKeyRing keyRing,
+                          @Value("${app.security.jwt.access-token-ttl:15m}") Duration accessTokenTtl) {
         this.userDetailsService = userDetailsService;
+        this.revocations = revocations;
+        this.keyRing = keyRing;
+        this.accessTokenTtl = accessTokenTtl;
+        //The ring resolves the key of each token from its kid header; the keys are decoded once, on startup
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
     }
 
     /**
-     * Generates a JWT token for the given username.
+     * Generates a short-lived JWT access token for the given username, signed with the active key of the
+     * key ring.
      *
      * @param username The username for which the token will be generated
      * @return The generated JWT token
      */
     @Override
     public String generateToken(String username) {
-        log.info("Generating JWT token for username: {} in JwtServiceImpl", username);
+        log.debug("Generating JWT token for username: {} in JwtServiceImpl", username);
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
         try {
             Instant now = Instant.now();
+            UserPrincipal principal = userDetails instanceof UserPrincipal account ? account : null;
             return Jwts.builder()
+                    .setHeaderParam("kid", keyRing.getActiveKeyId())
+                    .setId(UUID.randomUUID().toString())
                     .setSubject(username)
                     .claim("role",userDetails.getAuthorities())
+                    //Admin and user IDs overlap, so each type of account has a claim of its own
+                    .claim(principal != null && principal.isAdmin() ? ADMIN_ID_CLAIM : USER_ID_CLAIM, principal == null ? 0 : principal.getUid())
                     .setIssuedAt(Date.from(now))
-                    .setExpiration(Date.from(now.plus(MINUTES, ChronoUnit.MINUTES)))
-                    .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                    .claim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                    .setExpiration(Date.from(now.plus(accessTokenTtl)))
+                    .signWith(keyRing.getActiveKey(), SignatureAlgorithm.HS256)
                     .compact();
 
         } catch (Exception e) {
@@ -77,13 +103,7 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public String extractUsername(String token) {
-        log.info("Extracting username from JWT token in JwtServiceImpl");
-        try {
-            return getTokenBody(token).getSubject();
-        } catch (Exception e) {
-            log.error("Error occurred while extracting username from JWT token in JwtServiceImpl: {}", e.getMessage());
-            throw e;
-        }
+        return verify(token).getUsername();
     }
 
     /**
@@ -94,17 +114,7 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public Collection<? extends GrantedAuthority> getRolesFromToken(String token) {
-        log.info("Extracting roles from JWT token in JwtServiceImpl");
-        try {
-            Claims claims = getTokenBody(token);
-            List<Map<String, String>> roleClaims = (List<Map<String, String>>) claims.get("role");
-            return roleClaims.stream()
-                    .map(roleClaim -> new SimpleGrantedAuthority(roleClaim.get("authority")))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error occurred while extracting roles from JWT token in JwtServiceImpl: {}", e.getMessage());
-            throw e;
-        }
+        return verify(token).getAuthorities();
     }
 
 
@@ -117,14 +127,90 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public Boolean validateToken(String token, UserDetails userDetails) {
-        log.info("Validating JWT token in JwtServiceImpl");
-        try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Error occurred while validating JWT token in JwtServiceImpl: {}", e.getMessage());
-            throw e;
+        VerifiedToken verified = verify(token);
+        return verified.getUsername().equals(userDetails.getUsername())
+                && verified.getExpiresAt().isAfter(Instant.now());
+    }
+
+    /**
+     * Verifies the signature and expiry of the given JWT token and reads its claims in a single parse.
+     * The result is cached by token hash until the token expires, so a repeated token is not parsed again.
+     * Revocation is checked on every call, cached or not.
+     *
+     * @param token The JWT token to verify
+     * @return The username, roles and expiry of the token
+     * @throws AccessDeniedException If the token is expired or revoked
+     */
+    @Override
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        String key = VerifiedTokenCache.keyOf(token);
+
+        VerifiedToken cached = verifiedTokens.get(key, now);
+        if (cached != null) {
+            return checkRevocation(cached);
         }
+
+        log.debug("Parsing JWT token and retrieving claims in JwtServiceImpl");
+        Claims claims = getTokenBody(token);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                getUid(claims),
+                claims.containsKey(ADMIN_ID_CLAIM),
+                getRoles(claims),
+                claims.getExpiration().toInstant(),
+                claims.getId(),
+                getIssuedAt(claims)
+        );
+        verifiedTokens.put(key, verified, now);
+        return checkRevocation(verified);
+    }
+
+    /**
+     * Revokes the given JWT token, so it is refused from now on even though it has not expired.
+     *
+     * @param token The JWT token to revoke
+     * @throws AccessDeniedException If the token is expired or already revoked
+     */
+    @Override
+    public void revoke(String token) {
+        VerifiedToken verified = verify(token);
+        log.debug("Revoking JWT token of username: {} in JwtServiceImpl", verified.getUsername());
+        if (verified.getTokenId() == null) {
+            //Tokens issued before tokens carried an ID can only be revoked together with the user's other tokens
+            revokeAll(verified.getUsername());
+            return;
+        }
+        revocations.revoke(verified.getTokenId(), verified.getExpiresAt());
+    }
+
+    /**
+     * Revokes every JWT token issued to the given username so far.
+     *
+     * @param username The username whose tokens are revoked
+     */
+    @Override
+    public void revokeAll(String username) {
+        log.debug("Revoking all JWT tokens of username: {} in JwtServiceImpl", username);
+        Instant now = Instant.now();
+        revocations.revokeAll(username, now, now.plus(accessTokenTtl));
+    }
+
+    /**
+     * Retrieves how long the generated access tokens are valid.
+     *
+     * @return The lifetime of an access token
+     */
+    @Override
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    private VerifiedToken checkRevocation(VerifiedToken verified) {
+        if (revocations.isRevoked(verified.getUsername(), verified.getTokenId(), verified.getIssuedAt())) {
+            throw new AccessDeniedException("Access denied: the token has been revoked");
+        }
+        return verified;
     }
 
     /**
@@ -135,14 +221,8 @@ public class JwtServiceImpl implements JwtService {
      * @throws AccessDeniedException If the token is expired
      */
     private Claims getTokenBody(String token) {
-        log.info("Parsing JWT token and retrieving claims in JwtServiceImpl");
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             log.error("JWT token expired in JwtServiceImpl: {}", e.getMessage());
             throw new AccessDeniedException("Access denied: " + e.getMessage());
@@ -153,38 +233,41 @@ public class JwtServiceImpl implements JwtService {
     }
 
     /**
-     * Checks if the JWT token is expired.
+     * Reads the roles (authorities) from the claims of a JWT token.
      *
-     * @param token The JWT token to check
-     * @return True if the token is expired, false otherwise
+     * @param claims The claims of the token
+     * @return A collection of GrantedAuthority representing the roles in the claims
      */
-    private boolean isTokenExpired(String token) {
-        log.info("Checking if JWT token is expired in JwtServiceImpl");
-        try {
-            Claims claims = getTokenBody(token);
-            return claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            log.error("Error occurred while checking if JWT token is expired in JwtServiceImpl: {}", e.getMessage());
-            throw e;
-        }
+    private Collection<? extends GrantedAuthority> getRoles(Claims claims) {
+        List<Map<String, String>> roleClaims = (List<Map<String, String>>) claims.get("role");
+        return roleClaims.stream()
+                .map(roleClaim -> new SimpleGrantedAuthority(roleClaim.get("authority")))
+                .collect(Collectors.toUnmodifiableList());
     }
 
     /**
-     * Retrieves the signing key used for JWT token validation.
+     * Reads the account ID from the claims of a JWT token.
      *
-     * @return The signing key
+     * @param claims The claims of the token
+     * @return The admin or user ID, or 0 for tokens issued without one
      */
-    private Key getSignInKey() {
-        log.info("Retrieving signing key for JWT token validation in JwtServiceImpl");
-        try {
-
-            byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-            return Keys.hmacShaKeyFor(keyBytes);
+    private int getUid(Claims claims) {
+        Integer uid = claims.get(claims.containsKey(ADMIN_ID_CLAIM) ? ADMIN_ID_CLAIM : USER_ID_CLAIM, Integer.class);
+        return uid == null ? 0 : uid;
+    }
 
-        } catch (Exception e) {
-            log.error("Error occurred while retrieving signing key for JWT token validation in JwtServiceImpl: {}", e.getMessage());
-            throw e;
+    /**
+     * Reads the issue time from the claims of a JWT token, to the millisecond when the token carries it.
+     *
+     * @param claims The claims of the token
+     * @return The issue time, or null for tokens issued without one
+     */
+    private Instant getIssuedAt(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (millis != null) {
+            return Instant.ofEpochMilli(millis);
         }
+        return claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant();
     }
 
 }
@@ -0,0 +1,183 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.entity.MailOutbox;
+import com.car_rental.car_rental_system.entity.enums.OutboxStatus;
+import com.car_rental.car_rental_system.repo.MailOutboxRepository;
+import com.car_rental.car_rental_system.service.MailOutboxService;
+import com.car_rental.car_rental_system.util.SendMail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the mail outbox in the background.
+ * <p>
+ * Due emails are read in batches and each batch is sent over one SMTP connection. A failed email is
+ * retried with exponential backoff, and after the last attempt it is kept as DEAD for inspection.
+ * <p>
+ * Every instance runs the dispatcher, so a batch is claimed with a conditional update before it is sent
+ * and each email goes out from one instance only. The claim is released when the batch is recorded; a
+ * claim older than {@code app.mail.outbox.claim-timeout} is left by an instance that stopped and lapses.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 06:55 pm
+ */
+
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+    //A lock rather than synchronized: a virtual thread blocked on SMTP inside synchronized pins its carrier thread
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private MailOutboxRepository outboxRepository;
+    private SendMail sendMail;
+    private int batchSize;
+    private int maxAttempts;
+    private Duration initialBackoff;
+    private Duration maxBackoff;
+    private Duration claimTimeout;
+    private Counter sentMails;
+    private Counter failedMails;
+    private Counter deadMails;
+
+    public MailOutboxServiceImpl(MailOutboxRepository outboxRepository, SendMail sendMail,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 @Value("${app.mail.outbox.claim-timeout:5m}") Duration claimTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sendMail = sendMail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.sentMails = meterRegistry.counter("rental.mail", "result", "sent");
+        this.failedMails = meterRegistry.counter("rental.mail", "result", "failed");
+        this.deadMails = meterRegistry.counter("rental.mail", "result", "dead");
+    }
+
+    /**
+     * Sends the due emails. Runs after every {@code app.mail.outbox.poll-delay} milliseconds.
+     */
+    @Scheduled(initialDelayString = "${app.mail.outbox.poll-delay:5000}", fixedDelayString = "${app.mail.outbox.poll-delay:5000}")
+    public void dispatchScheduled() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Error occurred in MailOutboxServiceImpl while dispatching the outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the queued emails that are due, one batch at a time, until none are left.
+     * A batch that fails completely ends the run, so an unreachable mail server is not retried in a loop.
+     *
+     * @return The number of emails sent
+     */
+    @Override
+    public int dispatch() {
+        dispatchLock.lock();
+        try {
+            int sent = 0;
+            while (true) {
+                Instant now = Instant.now();
+                List<Long> due = outboxRepository.findDueIds(OutboxStatus.PENDING, now, now.minus(claimTimeout), Limit.of(batchSize));
+                if (due.isEmpty()) {
+                    return sent;
+                }
+
+                String claim = UUID.randomUUID().toString();
+                List<MailOutbox> batch = outboxRepository.claim(due, OutboxStatus.PENDING, claim, now, now.minus(claimTimeout)) == 0
+                        ? List.of()
+                        : outboxRepository.findAllByClaimedByOrderByIdAsc(claim);
+
+                //Another instance claimed the whole batch first; its next rows are picked up by the next query
+                int batchSent = batch.isEmpty() ? 0 : sendBatch(batch);
+                sent += batchSent;
+
+                if ((batchSent == 0 && !batch.isEmpty()) || due.size() < batchSize) {
+                    return sent;
+                }
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private int sendBatch(List<MailOutbox> batch) {
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (MailOutbox mail : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getText());
+            messages.add(message);
+        }
+
+        Map<Integer, Exception> failures = sendMail.sendBatch(messages);
+        Instant now = Instant.now();
+        int sent = 0;
+
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutbox mail = batch.get(i);
+            Exception failure = failures.get(i);
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setClaimedBy(null);
+            mail.setClaimedAt(null);
+
+            if (failure == null) {
+                mail.setStatus(OutboxStatus.SENT);
+                mail.setLastError(null);
+                sentMails.increment();
+                sent++;
+            } else if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(OutboxStatus.DEAD);
+                deadMails.increment();
+                mail.setLastError(truncate(failure.getMessage()));
+                log.error("Giving up on email {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), mail.getAttempts(), failure.getMessage());
+            } else {
+                mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                failedMails.increment();
+                mail.setLastError(truncate(failure.getMessage()));
+                log.warn("Failed to send email {} to {}, attempt {}: {}", mail.getId(), mail.getRecipient(), mail.getAttempts(), failure.getMessage());
+            }
+        }
+
+        outboxRepository.saveAll(batch);
+        log.info("Sent {} of {} queued emails", sent, batch.size());
+        return sent;
+    }
+
+    /**
+     * The delay before the next attempt, doubling from the initial backoff up to the maximum backoff.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,114 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.exceptions.BadCredentials;
+import com.car_rental.car_rental_system.service.ReactiveRideRequestService;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reads ride requests over R2DBC, selecting the same columns as the DTO queries of the blocking
+ * {@link com.car_rental.car_rental_system.repo.RideRequestRepository}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 02:50 am
+ */
+
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveRideRequestServiceImpl implements ReactiveRideRequestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRideRequestServiceImpl.class);
+    private static final String SELECT = "select req_no, vehicle_model, pickup_dates, return_dates, " +
+            "pickup_address, pickup_city, pickup_longitude, pickup_latitude, " +
+            "destination_address, destination_city, destination_longitude, destination_latitude, " +
+            "status, vehicle_id, uid from ride_request ";
+
+    private DatabaseClient databaseClient;
+
+    public ReactiveRideRequestServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Retrieves a ride request by its ID.
+     *
+     * @param id The ID of the ride request to retrieve
+     * @return Mono of the RideRequestDTO, or an empty Mono if not found
+     */
+    @Override
+    public Mono<RideRequestDTO> findById(int id) {
+        log.debug("Executing ReactiveRideRequestServiceImpl findById method with id: {}", id);
+        return databaseClient.sql(SELECT + "where req_no = :reqNo")
+                .bind("reqNo", id)
+                .map(ReactiveRideRequestServiceImpl::rideRequestConverter)
+                .one()
+                .doOnError(e -> log.error("Error occurred in ReactiveRideRequestServiceImpl while finding ride request by id: {}", id, e));
+    }
+
+    /**
+     * Retrieves all ride requests associated with the specified user ID, in request number order.
+     *
+     * @param id The ID of the user whose ride requests are to be retrieved
+     * @return Flux of the RideRequestDTOs of the user
+     * @throws BadCredentials (as the error of the Flux) if no user has the ID
+     */
+    @Override
+    public Flux<RideRequestDTO> findAllRequestsByUserId(int id) {
+        log.debug("Executing ReactiveRideRequestServiceImpl findAllRequestsByUserId method with id: {}", id);
+        Mono<RideRequestDTO> unknownUser = databaseClient.sql("select uid from user where uid = :uid")
+                .bind("uid", id)
+                .map(row -> 1)
+                .one()
+                .hasElement()
+                .flatMap(exists -> exists ? Mono.empty() : Mono.error(new BadCredentials("No user in this id")));
+
+        //Only an empty result needs the extra lookup to tell an unknown user from one without requests
+        return databaseClient.sql(SELECT + "where uid = :uid order by req_no")
+                .bind("uid", id)
+                .map(ReactiveRideRequestServiceImpl::rideRequestConverter)
+                .all()
+                .switchIfEmpty(unknownUser)
+                .doOnError(e -> !(e instanceof BadCredentials),
+                        e -> log.error("Error occurred in ReactiveRideRequestServiceImpl while finding all ride requests by user id: {}", id, e));
+    }
+
+    private static RideRequestDTO rideRequestConverter(Readable row) {
+        Integer vehicleId = row.get("vehicle_id", Integer.class);
+        Integer uid = row.get("uid", Integer.class);
+        return new RideRequestDTO(
+                row.get("req_no", Integer.class),
+                row.get("vehicle_model", String.class),
+                row.get("pickup_dates", LocalDate.class),
+                row.get("return_dates", LocalDate.class),
+                location(row, "pickup_"),
+                location(row, "destination_"),
+                RequestStatus.valueOf(row.get("status", String.class)),
+                vehicleId == null ? 0 : vehicleId,
+                uid == null ? 0 : uid);
+    }
+
+    /**
+     * Reads an embedded location the way Hibernate does: null when all of its columns are null.
+     */
+    private static LocationDetails location(Readable row, String prefix) {
+        String address = row.get(prefix + "address", String.class);
+        String city = row.get(prefix + "city", String.class);
+        Double longitude = row.get(prefix + "longitude", Double.class);
+        Double latitude = row.get(prefix + "latitude", Double.class);
+        if (address == null && city == null && longitude == null && latitude == null) {
+            return null;
+        }
+        return new LocationDetails(address, city, longitude == null ? 0 : longitude, latitude == null ? 0 : latitude);
+    }
+}
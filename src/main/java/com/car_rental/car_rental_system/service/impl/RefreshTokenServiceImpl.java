@@ -0,0 +1,170 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.AuthenticationResponse;
+import com.car_rental.car_rental_system.entity.RefreshToken;
+import com.car_rental.car_rental_system.exceptions.BadCredentials;
+import com.car_rental.car_rental_system.repo.RefreshTokenRepository;
+import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens.
+ * <p>
+ * A refresh token is 256 random bits, and only its hash is stored. Each refresh uses up the token and
+ * issues the next one of the same family, so a stolen refresh token works at most once: when the thief
+ * or the client uses it after the other, the token is seen a second time and its whole family, along
+ * with the access tokens of the user, is revoked.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 07:20 am
+ */
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final int TOKEN_BYTES = 32;
+    private final SecureRandom random = new SecureRandom();
+    private RefreshTokenRepository refreshTokenRepository;
+    private JwtService jwtService;
+    private Duration refreshTokenTtl;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, JwtService jwtService,
+                                   @Value("${app.security.jwt.refresh-token-ttl:14d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Issues an access token and the first refresh token of a new family to the given username.
+     *
+     * @param username The username the tokens are issued to
+     * @return The access token, the refresh token and the lifetime of the access token in seconds
+     */
+    @Override
+    @Transactional
+    public AuthenticationResponse issue(String username) {
+        log.debug("Issuing tokens to username: {} in RefreshTokenServiceImpl", username);
+        String accessToken = jwtService.generateToken(username);
+        String refreshToken = store(username, UUID.randomUUID().toString(), Instant.now());
+        return new AuthenticationResponse(accessToken, refreshToken, jwtService.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Uses up a refresh token and issues a new access token and the next refresh token of its family.
+     * A token used before revokes its family and the access tokens of its user; that revocation is kept
+     * even though the refresh fails.
+     *
+     * @param refreshToken The refresh token
+     * @return The access token, the refresh token and the lifetime of the access token in seconds
+     * @throws BadCredentials If the refresh token is unknown, expired or already used
+     */
+    @Override
+    @Transactional(noRollbackFor = BadCredentials.class)
+    public AuthenticationResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentials("No refresh token");
+        }
+        Instant now = Instant.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hashOf(refreshToken))
+                .orElseThrow(() -> new BadCredentials("Invalid refresh token"));
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new BadCredentials("Refresh token expired");
+        }
+
+        //Of two refreshes with the same token only one marks it used; the other is treated as a reuse
+        if (stored.getUsedAt() != null || refreshTokenRepository.markUsed(stored.getId(), now) == 0) {
+            log.warn("Refresh token of username: {} used twice, revoking its family in RefreshTokenServiceImpl", stored.getUsername());
+            refreshTokenRepository.deleteAllByFamilyId(stored.getFamilyId());
+            jwtService.revokeAll(stored.getUsername());
+            throw new BadCredentials("Refresh token already used");
+        }
+
+        log.debug("Rotating refresh token of username: {} in RefreshTokenServiceImpl", stored.getUsername());
+        String accessToken = jwtService.generateToken(stored.getUsername());
+        String next = store(stored.getUsername(), stored.getFamilyId(), now);
+        return new AuthenticationResponse(accessToken, next, jwtService.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Revokes the family of a refresh token, so none of its refresh tokens can be used any more.
+     *
+     * @param refreshToken The refresh token
+     */
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hashOf(refreshToken)).ifPresent(stored -> {
+            log.debug("Revoking refresh tokens of username: {} in RefreshTokenServiceImpl", stored.getUsername());
+            refreshTokenRepository.deleteAllByFamilyId(stored.getFamilyId());
+        });
+    }
+
+    /**
+     * Revokes every refresh token of the given username.
+     *
+     * @param username The username whose refresh tokens are revoked
+     */
+    @Override
+    @Transactional
+    public void revokeAll(String username) {
+        log.debug("Revoking all refresh tokens of username: {} in RefreshTokenServiceImpl", username);
+        refreshTokenRepository.deleteAllByUsername(username);
+    }
+
+    /**
+     * Deletes the expired refresh tokens. Runs every {@code app.security.jwt.refresh-purge-interval}
+     * milliseconds.
+     *
+     * @return The number of deleted tokens
+     */
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${app.security.jwt.refresh-purge-interval:3600000}", fixedDelayString = "${app.security.jwt.refresh-purge-interval:3600000}")
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteAllExpired(Instant.now());
+        log.debug("Deleted {} expired refresh tokens in RefreshTokenServiceImpl", deleted);
+        return deleted;
+    }
+
+    private String store(String username, String familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(0, hashOf(token), username, familyId,
+                now.plus(refreshTokenTtl), null, now));
+        return token;
+    }
+
+    /**
+     * Derives the stored hash of a refresh token. The format is persisted, so it must not change while
+     * refresh tokens issued with it are live.
+     *
+     * @param token The raw refresh token
+     * @return The Base64 encoded SHA-256 hash of the token
+     */
+    private static String hashOf(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.car_rental.car_rental_system.service.impl;
 
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
 import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionResultDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionRowDTO;
+import com.car_rental.car_rental_system.dto.UserDTO;
 import com.car_rental.car_rental_system.entity.RideRequest;
 import com.car_rental.car_rental_system.entity.User;
 import com.car_rental.car_rental_system.entity.Vehicle;
@@ -11,16 +16,42 @@ import com.car_rental.car_rental_system.exceptions.VehicleException;
 import com.car_rental.car_rental_system.repo.RideRequestRepository;
 import com.car_rental.car_rental_system.repo.UserRepository;
 import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.AvailabilityService;
 import com.car_rental.car_rental_system.service.RideRequestService;
+import com.car_rental.car_rental_system.service.UserService;
+import com.car_rental.car_rental_system.service.VehicleService;
+import com.car_rental.car_rental_system.util.CacheInvalidator;
+import com.car_rental.car_rental_system.util.GeoIndex;
+import com.car_rental.car_rental_system.util.RideRequestEventHub;
+import com.car_rental.car_rental_system.util.RideRequestStats;
 import com.car_rental.car_rental_system.util.SendMail;
+import com.car_rental.car_rental_system.util.StripedLock;
+import com.car_rental.car_rental_system.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * @author Dilan
@@ -35,13 +66,36 @@ public class RideRequestServiceImpl implements RideRequestService {
     private RideRequestRepository repository;
     private VehicleRepository vehicleRepository;
     private UserRepository userRepository;
+    private UserService userService;
+    private VehicleService vehicleService;
+    private CacheInvalidator cacheInvalidator;
+    private GeoIndex geoIndex;
+    private RideRequestEventHub eventHub;
+    private RideRequestStats stats;
     private SendMail sendMail;
-
-    public RideRequestServiceImpl(RideRequestRepository repository, VehicleRepository vehicleRepository, UserRepository userRepository, SendMail sendMail) {
+    private AvailabilityService availabilityService;
+    private TransactionTemplate transactionTemplate;
+    private Counter assignments;
+    private Counter rejections;
+    private final StripedLock vehicleLocks = new StripedLock(64);
+    private static final int MAX_ASSIGN_ATTEMPTS = 3;
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    public RideRequestServiceImpl(RideRequestRepository repository, VehicleRepository vehicleRepository, UserRepository userRepository, UserService userService, VehicleService vehicleService, CacheInvalidator cacheInvalidator, GeoIndex geoIndex, RideRequestEventHub eventHub, RideRequestStats stats, SendMail sendMail, AvailabilityService availabilityService, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.repository = repository;
         this.vehicleRepository = vehicleRepository;
         this.userRepository = userRepository;
+        this.userService = userService;
+        this.vehicleService = vehicleService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.geoIndex = geoIndex;
+        this.eventHub = eventHub;
+        this.stats = stats;
         this.sendMail = sendMail;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.assignments = Counter.builder("rental.assignments").description("Vehicles assigned to ride requests").tag("source", "manual").register(meterRegistry);
+        this.rejections = meterRegistry.counter("rental.rejections");
     }
 
     /**
@@ -52,10 +106,12 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> findAll() {
-        log.info("Executing RideRequestServiceImpl findAll method");
+        log.debug("Executing RideRequestServiceImpl findAll method");
         try {
 
-            return rideListConverter(repository.findAll());
+            try (Stream<RideRequestDTO> requests = repository.streamAllByOrderByReqNoAsc()) {
+                return requests.toList();
+            }
 
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while finding all ride requests: {}", e.getMessage());
@@ -63,6 +119,50 @@ public class RideRequestServiceImpl implements RideRequestService {
         }
     }
 
+    /**
+     * Retrieves a page of ride requests in request number order.
+     *
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    public List<RideRequestDTO> findAll(int afterReqNo, int size) {
+        log.debug("Executing RideRequestServiceImpl findAll method with afterReqNo: {} and size: {}", afterReqNo, size);
+        try {
+
+            return repository.findAllByReqNoGreaterThanOrderByReqNoAsc(afterReqNo, Limit.of(size));
+
+        } catch (Exception e) {
+            log.error("Error occurred in RideRequestServiceImpl while finding a page of ride requests: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams all ride requests, or all ride requests with a status, to the given consumer one by one.
+     *
+     * @param status   The status of the ride requests to stream, or null for every ride request
+     * @param consumer The consumer receiving each ride request in request number order
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(RequestStatus status, Consumer<RideRequestDTO> consumer) {
+        log.debug("Executing RideRequestServiceImpl streamAll method with status: {}", status);
+        try (Stream<RideRequestDTO> requests = status == null
+                ? repository.streamAllByOrderByReqNoAsc()
+                : repository.streamAllByStatusOrderByReqNoAsc(status)) {
+
+            requests.forEach(consumer);
+
+        } catch (Exception e) {
+            log.error("Error occurred in RideRequestServiceImpl while streaming ride requests: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
     /**
      * Retrieves ride requests by status.
      *
@@ -72,10 +172,10 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> findByState(RequestStatus status) {
-        log.info("Executing RideRequestServiceImpl findByState method with status: {}", status);
+        log.debug("Executing RideRequestServiceImpl findByState method with status: {}", status);
         try {
 
-            return rideListConverter(repository.findAllByStatus(status));
+            return repository.findAllByStatus(status);
 
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while finding ride requests by status: {}", e.getMessage());
@@ -83,6 +183,28 @@ public class RideRequestServiceImpl implements RideRequestService {
         }
     }
 
+    /**
+     * Retrieves a page of ride requests by status in request number order.
+     *
+     * @param status     The status of the ride requests to retrieve
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests with the specified status
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    public List<RideRequestDTO> findByState(RequestStatus status, int afterReqNo, int size) {
+        log.debug("Executing RideRequestServiceImpl findByState method with status: {}, afterReqNo: {} and size: {}", status, afterReqNo, size);
+        try {
+
+            return repository.findAllByStatusAndReqNoGreaterThanOrderByReqNoAsc(status, afterReqNo, Limit.of(size));
+
+        } catch (Exception e) {
+            log.error("Error occurred in RideRequestServiceImpl while finding a page of ride requests by status: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
     /**
      * Retrieves all ride requests associated with the specified user ID.
      *
@@ -93,15 +215,16 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> findAllRequestsByUserId(int id) {
-        log.info("Executing RideRequestServiceImpl findAllRequestsByUserId method with id: {}", id);
+        log.debug("Executing RideRequestServiceImpl findAllRequestsByUserId method with id: {}", id);
         try {
-            User user = userRepository.findById(id).orElse(null);
+            List<RideRequestDTO> requests = repository.findAllByUserUid(id);
 
-            if (user==null){
+            //Only an empty result needs the extra lookup to tell an unknown user from one without requests
+            if (requests.isEmpty() && userService.findById(id) == null){
                 throw new BadCredentials("No user in this id");
             }
 
-            return rideListConverter(repository.findAllByUser(user));
+            return requests;
 
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while finding all ride requests by user id: {}", id, e);
@@ -109,6 +232,24 @@ public class RideRequestServiceImpl implements RideRequestService {
         }
     }
 
+    /**
+     * Opens an event stream of the committed changes to a user's ride requests.
+     *
+     * @param id          The ID of the user whose ride requests are to be followed
+     * @param lastEventId The ID of the last event received before reconnecting, or null for a new stream
+     * @return SseEmitter sending the missed changes, then each change as it is committed
+     * @throws BadCredentials if no user is found with the given ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(int id, Long lastEventId) {
+        log.debug("Executing RideRequestServiceImpl subscribe method with id: {}, lastEventId: {}", id, lastEventId);
+        if (userService.findById(id) == null) {
+            throw new BadCredentials("No user in this id");
+        }
+        return eventHub.subscribe(id, lastEventId);
+    }
+
     /**
      * Retrieves a ride request by its ID.
      *
@@ -118,7 +259,7 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public RideRequestDTO findById(int id) {
-        log.info("Executing RideRequestServiceImpl findById method with id: {}", id);
+        log.debug("Executing RideRequestServiceImpl findById method with id: {}", id);
         try {
 
             RideRequest request = repository.findById(id).orElse(null);
@@ -141,7 +282,7 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public void save(RideRequestDTO dto) {
-        log.info("Executing RideRequestServiceImpl save method with dto: {}", dto);
+        log.debug("Executing RideRequestServiceImpl save method with dto: {}", dto);
         try {
 
             repository.save(rideRequestDTOConverter(dto));
@@ -153,14 +294,17 @@ public class RideRequestServiceImpl implements RideRequestService {
     }
 
     /**
-     * Updates an existing ride request.
+     * Updates an existing ride request. The reservation of an assigned vehicle moves with the dates,
+     * under the same lock and retries as an assignment of the vehicle.
      *
      * @param dto The RideRequestDTO representing the updated ride request information
+     * @throws VehicleException if the assigned vehicle is not available at the new dates
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void update(RideRequestDTO dto) {
-        log.info("Executing RideRequestServiceImpl update method with dto: {}", dto);
+        log.debug("Executing RideRequestServiceImpl update method with dto: {}", dto);
         try {
             RideRequest rideRequest = repository.findById(dto.getReqNo()).orElse(null);
 
@@ -170,21 +314,72 @@ public class RideRequestServiceImpl implements RideRequestService {
                 throw new RuntimeException("No request in this id");
             }
 
-            dto.setStatus(rideRequest.getStatus());
-            dto.setUser(rideRequest.getUser().getUid());
-
-            if (rideRequest.getVehicle()!=null){
-                dto.setVehicle(rideRequest.getVehicle().getVehicleId());
+            if (rideRequest.getVehicle()==null){
+                transactionTemplate.executeWithoutResult(status -> doUpdate(dto, null));
+                return;
             }
 
-            repository.save(rideRequestDTOConverter(dto));
+            int vehicleId = rideRequest.getVehicle().getVehicleId();
+            withVehicleLock(vehicleId, dto.getReqNo(), () -> doUpdate(dto, vehicleId));
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted in RideRequestServiceImpl while updating ride request {}", dto.getReqNo());
+            throw new RuntimeException("Interrupted while updating the ride request", e);
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while updating ride request: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
         }
     }
 
+    /**
+     * Updates a ride request within the current transaction, moving the reservation of its vehicle when
+     * the dates change.
+     *
+     * @param dto       The RideRequestDTO representing the updated ride request information
+     * @param vehicleId The ID of the vehicle the ride request was found with, or null if it had none
+     * @throws VehicleException if the vehicle changed meanwhile or is not available at the new dates
+     */
+    private void doUpdate(RideRequestDTO dto, Integer vehicleId) {
+        RideRequest rideRequest = repository.findById(dto.getReqNo()).orElse(null);
+        if (rideRequest == null) {
+            throw new RuntimeException("No request in this id");
+        }
+
+        Vehicle vehicle = rideRequest.getVehicle();
+        if (!Objects.equals(vehicle == null ? null : vehicle.getVehicleId(), vehicleId)) {
+            throw new VehicleException("The ride request was changed by another user, please try again");
+        }
+
+        dto.setStatus(rideRequest.getStatus());
+        dto.setUser(rideRequest.getUser().getUid());
+
+        if (vehicle != null) {
+            dto.setVehicle(vehicleId);
+        }
+
+        //A rejected request gave up its reservation, so only the others book the new dates
+        boolean moved = !Objects.equals(rideRequest.getPickupDate(), dto.getPickupDate())
+                || !Objects.equals(rideRequest.getReturnDate(), dto.getReturnDate());
+        if (vehicle != null && moved && rideRequest.getStatus() != RequestStatus.REJECT) {
+            Vehicle reserved = vehicleRepository.findForAssignment(vehicleId).orElse(null);
+            if (reserved == null) {
+                throw new VehicleException("no vehicle found");
+            }
+
+            availabilityService.release(rideRequest.getReqNo());
+            availabilityService.reserve(vehicleId, rideRequest.getReqNo(), dto.getPickupDate(), dto.getReturnDate());
+
+            reserved.setReqDates(availabilityService.lastReservedDate(vehicleId));
+            vehicleRepository.save(reserved);
+            cacheInvalidator.evictVehicle(vehicleId, reserved.getPlateNumber());
+        }
+
+        RideRequest updated = rideRequestDTOConverter(dto);
+        updated.setVersion(rideRequest.getVersion());
+        repository.save(updated);
+    }
+
     /**
      * Updates the status of an existing ride request.
      *
@@ -195,38 +390,129 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public void updateStatus(int id, RequestStatus status) {
-        log.info("Executing RideRequestServiceImpl updateStatus method with id: {}, status: {}", id, status);
+        log.debug("Executing RideRequestServiceImpl updateStatus method with id: {}, status: {}", id, status);
         try {
 
-            RideRequestDTO rideRequestDTO = findById(id);
-            if (rideRequestDTO == null) {
+            RideRequest request = repository.findById(id).orElse(null);
+            if (request == null) {
                 throw new RuntimeException("No Request Found");
             }
 
-            rideRequestDTO.setStatus(status);
-            RideRequest request = rideRequestDTOConverter(rideRequestDTO);
+            request.setStatus(status);
             repository.save(request);
 
-            String userEmail = request.getUser().getEmail();
-            String plateNumber = request.getVehicle().getPlateNumber();
-            String carName = request.getVehicle().getName();
+            //A rejected request no longer needs its vehicle
+            if (status == RequestStatus.REJECT) {
+                availabilityService.release(id);
+                rejections.increment();
+            }
 
-            String emailText = "Your request has been declined";
+            String userEmail = request.getUser().getEmail();
 
-            if (request.getStatus()==RequestStatus.APPROVED) {
-                emailText = "Your request has been approved with the following vehicle:" + "\n"+
-                        "Car: " + carName+ "\n"+
-                        "Plate Number: " + plateNumber;
-            }
+            Vehicle vehicle = request.getVehicle();
+            String emailText = statusEmailText(status, vehicle == null ? null : vehicle.getName(),
+                    vehicle == null ? null : vehicle.getPlateNumber());
 
             sendMail.sendEmail(userEmail, emailText);
 
+            RideRequestDTO changed = rideRequestConverter(request);
+            TransactionHooks.afterCommit(() -> eventHub.publish(changed));
+
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while updating ride request status: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
         }
     }
 
+    /**
+     * Moves pending ride requests to a new status with set-based statements. The requests are read with
+     * their user's email and vehicle in one query and updated in another, guarded by their pending status,
+     * so a request changed meanwhile by another user makes the whole transition roll back. Rejected requests
+     * give up their reservations, and the notification emails are queued together.
+     *
+     * @param dto The new status and either the request numbers or the pickup date range of the ride requests
+     * @return StatusTransitionResultDTO with the number of updated ride requests and the skipped request numbers
+     * @throws IllegalArgumentException if the status is not APPROVED or REJECT, or the ride requests are not specified
+     * @throws RuntimeException         if the ride requests changed meanwhile or an error occurs during the update
+     */
+    @Override
+    public StatusTransitionResultDTO updateStatuses(StatusTransitionDTO dto) {
+        log.debug("Executing RideRequestServiceImpl updateStatuses method with dto: {}", dto);
+
+        RequestStatus status = dto.getStatus();
+        if (!RequestStatus.PENDING.canBecome(status)) {
+            throw new IllegalArgumentException("Pending ride requests can only be APPROVED or REJECT");
+        }
+        boolean byReqNo = dto.getReqNos() != null && !dto.getReqNos().isEmpty();
+        boolean byDate = dto.getStartDate() != null || dto.getEndDate() != null;
+        if (byReqNo == byDate || (byDate && (dto.getStartDate() == null || dto.getEndDate() == null))) {
+            throw new IllegalArgumentException("Give either the request numbers or both a start and an end date");
+        }
+
+        try {
+
+            List<StatusTransitionRowDTO> rows = new ArrayList<>();
+            List<Integer> skipped = new ArrayList<>();
+            if (byReqNo) {
+                List<Integer> reqNos = new ArrayList<>(new LinkedHashSet<>(dto.getReqNos()));
+                for (List<Integer> chunk : chunks(reqNos)) {
+                    rows.addAll(repository.findTransitionRowsByReqNoIn(chunk, RequestStatus.PENDING));
+                }
+                Set<Integer> found = new LinkedHashSet<>();
+                rows.forEach(row -> found.add(row.getReqNo()));
+                reqNos.stream().filter(reqNo -> !found.contains(reqNo)).forEach(skipped::add);
+            } else {
+                rows = repository.findTransitionRowsByPickupDateBetween(RequestStatus.PENDING, dto.getStartDate(), dto.getEndDate());
+            }
+
+            List<Integer> ids = rows.stream().map(StatusTransitionRowDTO::getReqNo).toList();
+            int updated = 0;
+            for (List<Integer> chunk : chunks(ids)) {
+                updated += repository.updateStatus(chunk, RequestStatus.PENDING, status);
+            }
+            if (updated != ids.size()) {
+                throw new VehicleException("Some ride requests were changed by another user, please try again");
+            }
+
+            if (status == RequestStatus.REJECT) {
+                for (List<Integer> chunk : chunks(ids)) {
+                    availabilityService.releaseAll(chunk);
+                }
+                rejections.increment(updated);
+            }
+
+            List<SimpleMailMessage> emails = new ArrayList<>(rows.size());
+            List<PickupPointDTO> points = new ArrayList<>(rows.size());
+            for (StatusTransitionRowDTO row : rows) {
+                SimpleMailMessage email = new SimpleMailMessage();
+                email.setTo(row.getEmail());
+                email.setText(statusEmailText(status, row.getVehicleName(), row.getPlateNumber()));
+                emails.add(email);
+
+                if (row.getLatitude() != null && row.getLongitude() != null) {
+                    points.add(new PickupPointDTO(row.getReqNo(), row.getLatitude(), row.getLongitude(), status));
+                }
+            }
+            sendMail.sendEmails(emails);
+
+            //The bulk update bypasses the entity listeners that keep the geospatial index and the analytics in step
+            TransactionHooks.afterCommit(() -> points.forEach(geoIndex::put));
+            TransactionHooks.afterCommit(() -> stats.updateStatus(ids, status));
+
+            List<RideRequestDTO> changed = new ArrayList<>(ids.size());
+            for (List<Integer> chunk : chunks(ids)) {
+                changed.addAll(repository.findAllByReqNoIn(chunk));
+            }
+            TransactionHooks.afterCommit(() -> changed.forEach(eventHub::publish));
+
+            return new StatusTransitionResultDTO(status, updated, skipped);
+
+        } catch (Exception e) {
+            log.error("Error occurred in RideRequestServiceImpl while updating ride request statuses: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
     /**
      * Assigns a vehicle to an existing ride request.
      *
@@ -237,36 +523,92 @@ public class RideRequestServiceImpl implements RideRequestService {
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void assignVehicle(int id, int vehicleId) {
-        log.info("Executing RideRequestServiceImpl assignVehicle method with id: {}, vehicleId: {}", id, vehicleId);
-        try {
+        log.debug("Executing RideRequestServiceImpl assignVehicle method with id: {}, vehicleId: {}", id, vehicleId);
 
-            RideRequest request = repository.findById(id).orElse(null);
-            if (request == null) {
-                throw new VehicleException("No Request Found");
-            }
+        try {
 
-            Vehicle vehicle = vehicleRepository.findById(vehicleId).orElse(null);
+            withVehicleLock(vehicleId, id, () -> doAssignVehicle(id, vehicleId));
+            assignments.increment();
 
-            if (vehicle == null) {
-                throw new VehicleException("no vehicle found");
-            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted in RideRequestServiceImpl while assigning vehicle {} to ride request {}", vehicleId, id);
+            throw new RuntimeException("Interrupted while assigning the vehicle", e);
+        } catch (Exception e) {
+            log.error("Error occurred in RideRequestServiceImpl while assigning vehicle to ride request: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Runs a change to the reservations of a vehicle in a transaction of its own while holding the lock of the
+     * vehicle, retrying it when a concurrent update makes the commit fail.
+     *
+     * @param vehicleId The ID of the vehicle whose reservations change
+     * @param id        The ID of the ride request being changed
+     * @param change    The change to run
+     * @throws VehicleException     if the change still fails after the last attempt
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    private void withVehicleLock(int vehicleId, int id, Runnable change) throws InterruptedException {
+        //Changes to the same vehicle queue up here instead of failing against each other in the database
+        Lock lock = vehicleLocks.get(vehicleId);
+        lock.lock();
+        try {
 
-            if (vehicle.getReqDates().isAfter(request.getPickupDate())) {
-                throw new VehicleException("This vehicle is not available at the given date");
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> change.run());
+                    return;
+                } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                    if (attempt >= MAX_ASSIGN_ATTEMPTS) {
+                        throw new VehicleException("The ride request was changed by another user, please try again");
+                    }
+                    log.warn("Concurrent update of vehicle {} for ride request {}, retrying (attempt {})", vehicleId, id, attempt);
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+                }
             }
 
-            vehicle.setReqDates(request.getReturnDate());
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            request.setVehicle(vehicle);
-            repository.save(request);
-            vehicleRepository.save(vehicle);
+    /**
+     * Assigns a vehicle to a ride request within the current transaction. The ride request and the vehicle
+     * are both versioned, so a concurrent change to either makes the commit fail instead of double-booking.
+     *
+     * @param id        The ID of the ride request to update
+     * @param vehicleId The ID of the vehicle to assign to the ride request
+     * @throws VehicleException if the ride request or the vehicle is not found, or the vehicle is not available
+     */
+    private void doAssignVehicle(int id, int vehicleId) {
+        RideRequest request = repository.findForAssignment(id).orElse(null);
+        if (request == null) {
+            throw new VehicleException("No Request Found");
+        }
 
-        } catch (Exception e) {
-            log.error("Error occurred in RideRequestServiceImpl while assigning vehicle to ride request: {}", e.getMessage());
-            throw new RuntimeException(e.getMessage());
+        Vehicle vehicle = vehicleRepository.findForAssignment(vehicleId).orElse(null);
+
+        if (vehicle == null) {
+            throw new VehicleException("no vehicle found");
         }
+
+        //Give up the vehicle reserved earlier for this request before reserving the new one
+        availabilityService.release(request.getReqNo());
+        availabilityService.reserve(vehicleId, request.getReqNo(), request.getPickupDate(), request.getReturnDate());
+
+        vehicle.setReqDates(availabilityService.lastReservedDate(vehicleId));
+
+        request.setVehicle(vehicle);
+        repository.save(request);
+        vehicleRepository.save(vehicle);
+        cacheInvalidator.evictVehicle(vehicleId, vehicle.getPlateNumber());
+
+        RideRequestDTO changed = rideRequestConverter(request);
+        TransactionHooks.afterCommit(() -> eventHub.publish(changed));
     }
 
     /**
@@ -279,10 +621,10 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> findByPickupLocationAndDestination(LocationDetails pickupLocation, LocationDetails destination) {
-        log.info("Executing RideRequestServiceImpl findByPickupLocationAndDestination method with pickupLocation: {} and destination: {}", pickupLocation, destination);
+        log.debug("Executing RideRequestServiceImpl findByPickupLocationAndDestination method with pickupLocation: {} and destination: {}", pickupLocation, destination);
         try {
 
-            return rideListConverter(repository.findByPickupLocationAndDestination(pickupLocation, destination));
+            return repository.findByPickupLocationAndDestination(pickupLocation, destination);
 
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while finding ride requests by pickup location and destination: {}", e.getMessage());
@@ -299,11 +641,10 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> filterFromDate(LocalDate date) {
-        log.info("Executing RideRequestServiceImpl filterFromDate method with date: {}", date);
+        log.debug("Executing RideRequestServiceImpl filterFromDate method with date: {}", date);
         try {
 
-            List<RideRequest> allByPickupDate = repository.findAllByPickupDate(date);
-            return rideListConverter(allByPickupDate);
+            return repository.findAllByPickupDate(date);
 
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while filtering ride requests by pickup date: {}", e.getMessage());
@@ -320,11 +661,10 @@ public class RideRequestServiceImpl implements RideRequestService {
      */
     @Override
     public List<RideRequestDTO> filterBetweenDate(LocalDate startDate, LocalDate endDate) {
-        log.info("Executing RideRequestServiceImpl filterBetweenDate method with startDate: {} and endDate: {}", startDate, endDate);
+        log.debug("Executing RideRequestServiceImpl filterBetweenDate method with startDate: {} and endDate: {}", startDate, endDate);
         try {
 
-            List<RideRequest> allByPickupDate = repository.findAllByPickupDateBetween(startDate, endDate);
-            return rideListConverter(allByPickupDate);
+            return repository.findAllByPickupDateBetween(startDate, endDate);
         } catch (Exception e) {
             log.error("Error occurred in RideRequestServiceImpl while filtering ride requests by pickup date range: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
@@ -333,26 +673,23 @@ public class RideRequestServiceImpl implements RideRequestService {
     }
 
     /**
-     * Converts a list of RideRequest entities to a list of RideRequestDTOs.
+     * Retrieves a page of ride requests filtered by the specified pickup date range in request number order.
      *
-     * @param requests The list of RideRequest entities to convert
-     * @return List of RideRequestDTO representing the converted ride requests
-     * @throws RuntimeException if an error occurs during the retrieval process
+     * @param startDate  The start date of the pickup date range
+     * @param endDate    The end date of the pickup date range
+     * @param afterReqNo The request number to continue after, 0 for the first page
+     * @param size       The maximum number of ride requests to retrieve
+     * @return List of RideRequestDTO representing the page of ride requests within the specified pickup date range
      */
-    private List<RideRequestDTO> rideListConverter(List<RideRequest> requests) {
-        log.info("Executing RideRequestServiceImpl rideListConverter method");
+    @Override
+    public List<RideRequestDTO> filterBetweenDate(LocalDate startDate, LocalDate endDate, int afterReqNo, int size) {
+        log.debug("Executing RideRequestServiceImpl filterBetweenDate method with startDate: {}, endDate: {}, afterReqNo: {} and size: {}", startDate, endDate, afterReqNo, size);
         try {
 
-            List<RideRequestDTO> requestDTOS = new ArrayList<>();
-
-            for (RideRequest request : requests) {
-                requestDTOS.add(rideRequestConverter(request));
-            }
-
-            return requestDTOS;
+            return repository.findAllByPickupDateBetweenAndReqNoGreaterThanOrderByReqNoAsc(startDate, endDate, afterReqNo, Limit.of(size));
 
         } catch (Exception e) {
-            log.error("Error occurred in RideRequestServiceImpl while converting ride request list: {}", e.getMessage());
+            log.error("Error occurred in RideRequestServiceImpl while filtering a page of ride requests by pickup date range: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
         }
     }
@@ -365,7 +702,7 @@ public class RideRequestServiceImpl implements RideRequestService {
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     private RideRequestDTO rideRequestConverter(RideRequest request) {
-        log.info("Executing RideRequestServiceImpl  rideRequestConverter method with request: {}", request);
+        log.debug("Executing RideRequestServiceImpl rideRequestConverter method with reqNo: {}", request.getReqNo());
         try {
 
             RideRequestDTO rideRequestDTO = new RideRequestDTO();
@@ -404,16 +741,19 @@ public class RideRequestServiceImpl implements RideRequestService {
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     private RideRequest rideRequestDTOConverter(RideRequestDTO dto) {
-        log.info("Converting DTO to ride request in RideRequestServiceImpl");
+        log.debug("Converting DTO to ride request in RideRequestServiceImpl");
         try {
 
-            User user = userRepository.findById(dto.getUser()).orElse(null);
-            Vehicle vehicle = vehicleRepository.findById(dto.getVehicle()).orElse(null);
+            //Check the user and vehicle against the lookup caches and refer to them by key, without loading the rows
+            UserDTO userDTO = userService.findById(dto.getUser());
 
-            if (user == null) {
+            if (userDTO == null) {
                 throw new BadCredentials("No User Found");
             }
 
+            User user = userRepository.getReferenceById(dto.getUser());
+            Vehicle vehicle = vehicleService.findById(dto.getVehicle()) == null ? null : vehicleRepository.getReferenceById(dto.getVehicle());
+
         /*if (vehicle==null){
             throw new VehicleException("No Vehicle Found");
         }*/
@@ -427,7 +767,8 @@ public class RideRequestServiceImpl implements RideRequestService {
                     dto.getDestination(),
                     dto.getStatus(),
                     vehicle,
-                    user
+                    user,
+                    0
             );
 
         } catch (Exception e) {
@@ -436,5 +777,31 @@ public class RideRequestServiceImpl implements RideRequestService {
         }
     }
 
+    /**
+     * Writes the email telling a customer the new status of their ride request.
+     *
+     * @param status      The new status of the ride request, APPROVED or REJECT
+     * @param vehicleName The name of the assigned vehicle, or null if none is assigned yet
+     * @param plateNumber The plate number of the assigned vehicle, or null if none is assigned yet
+     * @return The text of the email
+     */
+    private static String statusEmailText(RequestStatus status, String vehicleName, String plateNumber) {
+        if (status != RequestStatus.APPROVED) {
+            return "Your request has been declined";
+        }
+        if (plateNumber == null) {
+            return "Your request has been approved, we will let you know the vehicle once it is assigned";
+        }
+        return "Your request has been approved with the following vehicle:" + "\n" +
+                "Car: " + vehicleName + "\n" +
+                "Plate Number: " + plateNumber;
+    }
 
+    private static List<List<Integer>> chunks(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            chunks.add(ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size())));
+        }
+        return chunks;
+    }
 }
@@ -1,5 +1,7 @@
 package com.car_rental.car_rental_system.service.impl;
 
+import com.car_rental.car_rental_system.config.CacheConfig;
+import com.car_rental.car_rental_system.dto.CachedUser;
 import com.car_rental.car_rental_system.dto.UserDTO;
 import com.car_rental.car_rental_system.entity.Admin;
 import com.car_rental.car_rental_system.entity.User;
@@ -7,9 +9,12 @@ import com.car_rental.car_rental_system.exceptions.BadCredentials;
 import com.car_rental.car_rental_system.repo.AdminRepository;
 import com.car_rental.car_rental_system.repo.UserRepository;
 import com.car_rental.car_rental_system.service.UserService;
+import com.car_rental.car_rental_system.util.CacheInvalidator;
+import com.car_rental.car_rental_system.util.LookupCache;
+import com.car_rental.car_rental_system.util.PasswordHasher;
+import com.car_rental.car_rental_system.util.PrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -26,10 +31,19 @@ public class UserServiceImpl implements UserService {
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
     private UserRepository userRepository;
     private AdminRepository adminRepository;
+    private PrincipalCache principalCache;
+    private CacheInvalidator cacheInvalidator;
+    private PasswordHasher passwordHasher;
+    private LookupCache lookupCache;
 
-    public UserServiceImpl(UserRepository userRepository, AdminRepository adminRepository) {
+    public UserServiceImpl(UserRepository userRepository, AdminRepository adminRepository, PrincipalCache principalCache, CacheInvalidator cacheInvalidator,
+                           PasswordHasher passwordHasher, LookupCache lookupCache) {
         this.userRepository = userRepository;
         this.adminRepository = adminRepository;
+        this.principalCache = principalCache;
+        this.cacheInvalidator = cacheInvalidator;
+        this.passwordHasher = passwordHasher;
+        this.lookupCache = lookupCache;
     }
 
     /**
@@ -39,7 +53,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<UserDTO> findAll() {
-        log.info("Executing findAll method");
+        log.debug("Executing findAll method");
         try {
 
             List<User> users = userRepository.findAll();
@@ -49,7 +63,7 @@ public class UserServiceImpl implements UserService {
                 userDTOS.add(new UserDTO(user.getUid(), user.getName(), user.getEmail(), user.getUsername(), user.getPassword(), user.getRole()));
             }
 
-            log.info("Found {} users", userDTOS.size());
+            log.debug("Found {} users", userDTOS.size());
 
             return userDTOS;
 
@@ -67,7 +81,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void save(UserDTO userDTO) {
-        log.info("Execute UserServiceImpl save: {}", userDTO.toString());
+        log.debug("Executing UserServiceImpl save method for username: {}", userDTO.getUsername());
         try {
             UserDTO dto = findByUsername(userDTO.getUsername());
             Admin admin = adminRepository.findByUsername(userDTO.getUsername()).orElse(null);
@@ -76,10 +90,10 @@ public class UserServiceImpl implements UserService {
                 throw new BadCredentials("Username is not available");
             }
 
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            userDTO.setPassword(encoder.encode(userDTO.getPassword()));
+            userDTO.setPassword(passwordHasher.encoder().encode(userDTO.getPassword()));
 
-            userRepository.save(new User(0, userDTO.getName(), userDTO.getEmail(), userDTO.getUsername(), userDTO.getPassword(), userDTO.getRole()));
+            User saved = userRepository.save(new User(0, userDTO.getName(), userDTO.getEmail(), userDTO.getUsername(), userDTO.getPassword(), userDTO.getRole()));
+            cacheInvalidator.evictUser(saved.getUid(), saved.getUsername());
 
         } catch (Exception e) {
             log.error("Error in UserServiceImpl occurred while saving user: {}", e.getMessage());
@@ -96,7 +110,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void update(UserDTO userDTO) {
-        log.info("Executing UserServiceImpl update method with userDTO: {}", userDTO.toString());
+        log.debug("Executing UserServiceImpl update method with uid: {}", userDTO.getUid());
         try {
             UserDTO dto = findById(userDTO.getUid());
 
@@ -105,6 +119,9 @@ public class UserServiceImpl implements UserService {
             }
 
             userRepository.save(new User(userDTO.getUid(), userDTO.getName(), userDTO.getEmail(), userDTO.getUsername(), userDTO.getPassword(), userDTO.getRole()));
+            principalCache.invalidate(dto.getUsername());
+            principalCache.invalidate(userDTO.getUsername());
+            cacheInvalidator.evictUser(userDTO.getUid(), dto.getUsername(), userDTO.getUsername());
         } catch (Exception e) {
             log.error("Error in UserServiceImpl occurred while updating user: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
@@ -112,21 +129,17 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Retrieves a user by their ID.
+     * Retrieves a user by their ID. Found users are cached until they change, without their password.
      *
      * @param id The ID of the user to retrieve
-     * @return UserDTO representing the requested user, or null if not found
+     * @return A new UserDTO representing the requested user without the password, or null if not found
      */
     @Override
     public UserDTO findById(int id) {
-        log.info("Executing UserServiceImpl findById method with id: {}", id);
+        log.debug("Executing UserServiceImpl findById method with id: {}", id);
         try {
 
-            User user = userRepository.findById(id).orElse(null);
-
-            if (user == null) return null;
-
-            return new UserDTO(user.getUid(), user.getName(), user.getEmail(), user.getUsername(), user.getPassword(), user.getRole());
+            return lookupCache.get(CacheConfig.USERS, id, () -> userRepository.findById(id).map(CachedUser::of).orElse(null), CachedUser::toDTO);
 
         } catch (Exception e) {
             log.error("Error in UserServiceImpl occurred while finding user by id {}: {}", id, e.getMessage());
@@ -135,21 +148,18 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Retrieves a user by their username.
+     * Retrieves a user by their username. Found users are cached until they change, without their password.
      *
      * @param username The username of the user to retrieve
-     * @return UserDTO representing the requested user, or null if not found
+     * @return A new UserDTO representing the requested user without the password, or null if not found
      */
     @Override
     public UserDTO findByUsername(String username) {
-        log.info("Executing UserServiceImpl findByUsername method with username: {}", username);
+        log.debug("Executing UserServiceImpl findByUsername method with username: {}", username);
         try {
 
-            User user = userRepository.findByUsername(username).orElse(null);
-
-            if (user == null) return null;
-
-            return new UserDTO(user.getUid(), user.getName(), user.getEmail(), user.getUsername(), user.getPassword(),user.getRole());
+            return lookupCache.get(CacheConfig.USERS_BY_USERNAME, username,
+                    () -> userRepository.findByUsername(username).map(CachedUser::of).orElse(null), CachedUser::toDTO);
 
         } catch (Exception e) {
             log.error("Error in UserServiceImpl occurred in UserServiceImpl while finding user by username {}: {}", username, e.getMessage());
@@ -164,7 +174,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void delete(int id) {
-        log.info("Executing UserServiceImpl delete method with id: {}", id);
+        log.debug("Executing UserServiceImpl delete method with id: {}", id);
         try {
 
             UserDTO dto = findById(id);
@@ -174,6 +184,8 @@ public class UserServiceImpl implements UserService {
             }
 
             userRepository.deleteById(id);
+            principalCache.invalidate(dto.getUsername());
+            cacheInvalidator.evictUser(id, dto.getUsername());
             log.info("User with id {} deleted successfully", id);
 
         } catch (Exception e) {
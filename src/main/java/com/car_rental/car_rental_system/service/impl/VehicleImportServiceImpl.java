@@ -0,0 +1,227 @@
+package com.car_rental.car_rental_system.service.impl;
+
+import com.car_rental.car_rental_system.dto.ImportErrorDTO;
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.dto.VehicleImportResultDTO;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.VehicleImportService;
+import com.car_rental.car_rental_system.util.PlateIndex;
+import com.car_rental.car_rental_system.util.VehicleCsv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Imports vehicles in bulk. Plate numbers are checked against a set loaded once with every existing plate
+ * number, and rows are inserted with JDBC batches of {@value #BATCH_SIZE}, each in its own transaction.
+ * Hibernate cannot batch the inserts itself because vehicle IDs are generated by the database. A batch the
+ * database refuses is inserted again row by row, so only the offending rows are rejected. As the
+ * inserts bypass the entity listeners, the vehicles of each committed batch are added to the plate number
+ * index here.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 12:35 am
+ */
+
+@Service
+public class VehicleImportServiceImpl implements VehicleImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleImportServiceImpl.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String INSERT = "insert into vehicle (name, model, plate_number, req_dates, version) values (?, ?, ?, ?, 0)";
+
+    private VehicleRepository vehicleRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper mapper;
+    private PlateIndex plateIndex;
+
+    public VehicleImportServiceImpl(VehicleRepository vehicleRepository, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager, ObjectMapper mapper, PlateIndex plateIndex) {
+        this.vehicleRepository = vehicleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mapper = mapper;
+        this.plateIndex = plateIndex;
+    }
+
+    /**
+     * Imports vehicles from CSV records. A first line holding the column names is skipped, and quoted fields
+     * may hold line breaks.
+     *
+     * @param reader The reader of the CSV lines
+     * @return VehicleImportResultDTO with the number of imported vehicles and the errors of rejected records, by first line
+     */
+    @Override
+    public VehicleImportResultDTO importCsv(BufferedReader reader) {
+        log.debug("Executing VehicleImportServiceImpl importCsv method");
+        return importLines(reader, VehicleCsv::parse, true);
+    }
+
+    /**
+     * Imports vehicles from newline-delimited JSON.
+     *
+     * @param reader The reader of the JSON lines
+     * @return VehicleImportResultDTO with the number of imported vehicles and the errors of rejected lines
+     */
+    @Override
+    public VehicleImportResultDTO importJsonLines(BufferedReader reader) {
+        log.debug("Executing VehicleImportServiceImpl importJsonLines method");
+        return importLines(reader, line -> {
+            try {
+                return mapper.readValue(line, VehicleDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+            }
+        }, false);
+    }
+
+    private VehicleImportResultDTO importLines(BufferedReader reader, Function<String, VehicleDTO> parser, boolean csv) {
+        Set<String> plateNumbers = new HashSet<>(vehicleRepository.findAllPlateNumbers());
+        Import result = new Import();
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+
+        LineNumberReader lines = new LineNumberReader(reader);
+        try {
+            while (true) {
+                int number = lines.getLineNumber() + 1;
+                String line = csv ? VehicleCsv.readRecord(lines) : lines.readLine();
+                if (line == null) {
+                    break;
+                }
+                if (line.isBlank() || (csv && number == 1 && VehicleCsv.isHeader(line))) {
+                    continue;
+                }
+
+                VehicleDTO dto;
+                try {
+                    dto = parser.apply(line);
+                } catch (IllegalArgumentException e) {
+                    result.reject(number, null, e.getMessage());
+                    continue;
+                }
+
+                String error = validate(dto);
+                if (error == null && !plateNumbers.add(dto.getPlateNumber())) {
+                    error = "A vehicle exists in this plate number";
+                }
+                if (error != null) {
+                    result.reject(number, dto.getPlateNumber(), error);
+                    continue;
+                }
+
+                batch.add(new Row(number, dto));
+                if (batch.size() == BATCH_SIZE) {
+                    insert(batch, plateNumbers, result);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            insert(batch, plateNumbers, result);
+        }
+
+        log.info("Imported {} vehicles, rejected {}", result.imported, result.rejected);
+        return new VehicleImportResultDTO(result.imported, result.rejected, result.errors);
+    }
+
+    private String validate(VehicleDTO dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (dto.getModel() == null) {
+            return "Model is required";
+        }
+        if (dto.getPlateNumber() == null || dto.getPlateNumber().isBlank()) {
+            return "Plate number is required";
+        }
+        return null;
+    }
+
+    private void insert(List<Row> batch, Set<String> plateNumbers, Import result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(batch);
+            result.imported += batch.size();
+            index(batch);
+        } catch (DataAccessException e) {
+            log.warn("Could not insert a batch of {} vehicles, inserting them one by one: {}", batch.size(), e.getMessage());
+            List<Row> saved = new ArrayList<>(batch.size());
+            for (Row row : batch) {
+                try {
+                    write(List.of(row));
+                    saved.add(row);
+                } catch (DataAccessException rowError) {
+                    plateNumbers.remove(row.dto().getPlateNumber());
+                    result.reject(row.line(), row.dto().getPlateNumber(), "Could not be saved: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+            result.imported += saved.size();
+            if (!saved.isEmpty()) {
+                index(saved);
+            }
+        }
+        batch.clear();
+    }
+
+    private void write(List<Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            VehicleDTO dto = row.dto();
+            ps.setString(1, dto.getName());
+            ps.setString(2, dto.getModel().name());
+            ps.setString(3, dto.getPlateNumber());
+            if (dto.getReqDates() == null) {
+                ps.setNull(4, Types.DATE);
+            } else {
+                ps.setDate(4, Date.valueOf(dto.getReqDates()));
+            }
+        }));
+    }
+
+    private void index(List<Row> batch) {
+        try {
+            vehicleRepository.findPlateNumbersByPlateNumberIn(batch.stream().map(row -> row.dto().getPlateNumber()).toList())
+                    .forEach(plateIndex::put);
+        } catch (DataAccessException e) {
+            log.warn("Could not add a batch of {} imported vehicles to the plate number index: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private record Row(int line, VehicleDTO dto) {
+    }
+
+    private static class Import {
+        private int imported;
+        private int rejected;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        private void reject(int line, String plateNumber, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDTO(line, plateNumber, message));
+            }
+        }
+    }
+}
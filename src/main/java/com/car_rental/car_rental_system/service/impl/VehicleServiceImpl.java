@@ -1,20 +1,39 @@
 package com.car_rental.car_rental_system.service.impl;
 
+import com.car_rental.car_rental_system.config.CacheConfig;
+import com.car_rental.car_rental_system.dto.CachedVehicle;
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
 import com.car_rental.car_rental_system.dto.VehicleDTO;
 import com.car_rental.car_rental_system.entity.Vehicle;
 import com.car_rental.car_rental_system.entity.enums.VehicleModels;
 import com.car_rental.car_rental_system.exceptions.VehicleException;
 import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.AvailabilityService;
 import com.car_rental.car_rental_system.service.VehicleService;
+import com.car_rental.car_rental_system.util.CacheInvalidator;
+import com.car_rental.car_rental_system.util.LookupCache;
+import com.car_rental.car_rental_system.util.PlateIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
+ * Plate number searches are answered from the in-memory {@link PlateIndex}, and from the database while
+ * the index is disabled or still loading.
+ *
  * @author Dilan
  * @created 27/02/2024 - 09:10 pm
  */
@@ -23,10 +42,40 @@ import java.util.List;
 public class VehicleServiceImpl implements VehicleService {
 
     private static final Logger log = LoggerFactory.getLogger(VehicleServiceImpl.class);
+    private static final int MAX_IDS_PER_QUERY = 1000;
     private VehicleRepository vehicleRepository;
-
-    public VehicleServiceImpl(VehicleRepository vehicleRepository) {
+    private AvailabilityService availabilityService;
+    private CacheInvalidator cacheInvalidator;
+    private PlateIndex plateIndex;
+    private boolean plateIndexEnabled;
+    private LookupCache lookupCache;
+
+    public VehicleServiceImpl(VehicleRepository vehicleRepository, AvailabilityService availabilityService, CacheInvalidator cacheInvalidator,
+                              PlateIndex plateIndex, @Value("${app.vehicle.plate-index-enabled:true}") boolean plateIndexEnabled,
+                              LookupCache lookupCache) {
         this.vehicleRepository = vehicleRepository;
+        this.availabilityService = availabilityService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.plateIndex = plateIndex;
+        this.plateIndexEnabled = plateIndexEnabled;
+        this.lookupCache = lookupCache;
+    }
+
+    /**
+     * Loads the plate number of every vehicle into the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadPlateIndex() {
+        if (!plateIndexEnabled) {
+            return;
+        }
+        log.debug("Executing VehicleServiceImpl loadPlateIndex method");
+        try (Stream<PlateNumberDTO> plates = vehicleRepository.streamPlateNumbers()) {
+            plates.forEach(plateIndex::putIfAbsent);
+        }
+        plateIndex.markReady();
+        log.info("Loaded {} plate numbers into the plate number index", plateIndex.size());
     }
 
     /**
@@ -37,7 +86,7 @@ public class VehicleServiceImpl implements VehicleService {
      */
     @Override
     public List<VehicleDTO> findAll() {
-        log.info("Executing VehicleServiceImpl findAll method");
+        log.debug("Executing VehicleServiceImpl findAll method");
         try {
 
             List<Vehicle> vehicles = vehicleRepository.findAll();
@@ -56,24 +105,66 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     /**
-     * Retrieves a vehicle by its ID.
+     * Retrieves a page of vehicles in vehicle ID order.
      *
-     * @param id The ID of the vehicle to retrieve
-     * @return VehicleDTO representing the requested vehicle, or null if not found
+     * @param afterVehicleId The vehicle ID to continue after, 0 for the first page
+     * @param size           The maximum number of vehicles to retrieve
+     * @return List of VehicleDTO representing the page of vehicles
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     @Override
-    public VehicleDTO findById(int id) {
-        log.info("Executing VehicleServiceImpl findById method with id: {}", id);
+    public List<VehicleDTO> findAll(int afterVehicleId, int size) {
+        log.debug("Executing VehicleServiceImpl findAll method with afterVehicleId: {} and size: {}", afterVehicleId, size);
         try {
 
-            Vehicle vehicle = vehicleRepository.findById(id).orElse(null);
+            List<Vehicle> vehicles = vehicleRepository.findAllByVehicleIdGreaterThanOrderByVehicleIdAsc(afterVehicleId, Limit.of(size));
+            List<VehicleDTO> list = new ArrayList<>();
 
-            if (vehicle == null) {
-                return null;
+            for (Vehicle vehicle : vehicles) {
+                list.add(new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates()));
             }
 
-            return new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates());
+            return list;
+
+        } catch (Exception e) {
+            log.error("Error occurred in VehicleServiceImpl findAll method with afterVehicleId {}: {}", afterVehicleId, e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams all vehicles to the given consumer one by one.
+     *
+     * @param consumer The consumer receiving each vehicle in vehicle ID order
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<VehicleDTO> consumer) {
+        log.debug("Executing VehicleServiceImpl streamAll method");
+        try (Stream<VehicleDTO> vehicles = vehicleRepository.streamAllByOrderByVehicleIdAsc()) {
+
+            vehicles.forEach(consumer);
+
+        } catch (Exception e) {
+            log.error("Error occurred in VehicleServiceImpl streamAll method: {}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a vehicle by its ID. Found vehicles are cached until they change.
+     *
+     * @param id The ID of the vehicle to retrieve
+     * @return A new VehicleDTO representing the requested vehicle, or null if not found
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    public VehicleDTO findById(int id) {
+        log.debug("Executing VehicleServiceImpl findById method with id: {}", id);
+        try {
+
+            return lookupCache.get(CacheConfig.VEHICLES, id, () -> vehicleRepository.findById(id).map(CachedVehicle::of).orElse(null), CachedVehicle::toDTO);
 
         } catch (Exception e) {
             log.error("Error occurred in VehicleServiceImpl findById method with id {}: {}", id, e.getMessage());
@@ -82,28 +173,50 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     /**
-     * Retrieves a list of vehicles available on or before the specified date.
+     * Retrieves a list of vehicles that are not reserved on the specified date.
      *
      * @param date The date for which available vehicles are to be retrieved
-     * @return List of VehicleDTO representing the vehicles available on or before the specified date
+     * @return List of VehicleDTO representing the vehicles available on the specified date
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     @Override
     public List<VehicleDTO> findAllByDate(LocalDate date) {
-        log.info("Executing VehicleServiceImpl findAllByDate method with date: {}", date);
+        log.debug("Executing VehicleServiceImpl findAllByDate method with date: {}", date);
+        try {
+
+            return findAllAvailable(date, date);
+
+        } catch (Exception e) {
+            log.error("Error occurred in VehicleServiceImpl findAllByDate method with date {}: {}", date, e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a list of vehicles that are not reserved on any day of the specified date range.
+     *
+     * @param startDate The first day of the date range
+     * @param endDate   The last day of the date range
+     * @return List of VehicleDTO representing the vehicles available for the whole date range
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    public List<VehicleDTO> findAllAvailable(LocalDate startDate, LocalDate endDate) {
+        log.debug("Executing VehicleServiceImpl findAllAvailable method with startDate: {} and endDate: {}", startDate, endDate);
         try {
 
-            List<Vehicle> vehicles = vehicleRepository.findAllByReqDatesLessThan(date);
             List<VehicleDTO> list = new ArrayList<>();
 
-            for (Vehicle vehicle : vehicles) {
-                list.add(new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates()));
+            for (Vehicle vehicle : vehicleRepository.findAll()) {
+                if (availabilityService.isAvailable(vehicle.getVehicleId(), startDate, endDate)) {
+                    list.add(new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates()));
+                }
             }
 
             return list;
 
         } catch (Exception e) {
-            log.error("Error occurred in VehicleServiceImpl findAllByDate method with date {}: {}", date, e.getMessage());
+            log.error("Error occurred in VehicleServiceImpl findAllAvailable method with startDate {} and endDate {}: {}", startDate, endDate, e.getMessage());
             throw new RuntimeException(e.getMessage());
         }
     }
@@ -117,7 +230,7 @@ public class VehicleServiceImpl implements VehicleService {
      */
     @Override
     public void save(VehicleDTO dto) {
-        log.info("Executing VehicleServiceImpl save method with VehicleDTO: {}", dto);
+        log.debug("Executing VehicleServiceImpl save method with VehicleDTO: {}", dto);
         try {
 
             VehicleDTO vehicleDTO = findByPlateNumber(dto.getPlateNumber());
@@ -128,7 +241,8 @@ public class VehicleServiceImpl implements VehicleService {
                 throw new VehicleException("Vehicle in this plate number is already exists");
             }
 
-            vehicleRepository.save(new Vehicle(dto.getVehicleId(), dto.getName(), dto.getModel(), dto.getPlateNumber(), dto.getReqDates()));
+            Vehicle saved = vehicleRepository.save(new Vehicle(dto.getVehicleId(), dto.getName(), dto.getModel(), dto.getPlateNumber(), dto.getReqDates(), 0));
+            cacheInvalidator.evictVehicle(saved.getVehicleId(), saved.getPlateNumber());
 
         } catch (Exception e) {
             log.error("Error occurred in VehicleServiceImpl save method: {}", e.getMessage());
@@ -145,14 +259,14 @@ public class VehicleServiceImpl implements VehicleService {
      */
     @Override
     public void update(VehicleDTO dto) {
-        log.info("Executing VehicleServiceImpl update method with VehicleDTO: {}", dto);
+        log.debug("Executing VehicleServiceImpl update method with VehicleDTO: {}", dto);
         try {
 
-            VehicleDTO vehicleDTO = findById(dto.getVehicleId());
+            Vehicle vehicle = vehicleRepository.findById(dto.getVehicleId()).orElse(null);
             VehicleDTO byPlateNumber = findByPlateNumber(dto.getPlateNumber());
 
             //check if there is another vehicle exist by the same plate number if exist then throw an exception
-            if (vehicleDTO == null) {
+            if (vehicle == null) {
                 throw new VehicleException("No vehicle is found for update");
             }
 
@@ -160,7 +274,15 @@ public class VehicleServiceImpl implements VehicleService {
                 throw new VehicleException("A vehicle exists in this plate number");
             }
 
-            vehicleRepository.save(new Vehicle(dto.getVehicleId(), dto.getName(), dto.getModel(), dto.getPlateNumber(), dto.getReqDates()));
+            String oldPlateNumber = vehicle.getPlateNumber();
+
+            //Update the loaded vehicle so the save is checked against its current version
+            vehicle.setName(dto.getName());
+            vehicle.setModel(dto.getModel());
+            vehicle.setPlateNumber(dto.getPlateNumber());
+            vehicle.setReqDates(dto.getReqDates());
+            vehicleRepository.save(vehicle);
+            cacheInvalidator.evictVehicle(vehicle.getVehicleId(), oldPlateNumber, vehicle.getPlateNumber());
 
         } catch (Exception e) {
             log.error("Error occurred in VehicleServiceImpl update method: {}", e.getMessage());
@@ -169,24 +291,19 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     /**
-     * Retrieves a vehicle by its plate number.
+     * Retrieves a vehicle by its plate number. Found vehicles are cached until they change.
      *
      * @param plateNumber The plate number of the vehicle to retrieve
-     * @return VehicleDTO representing the requested vehicle, or null if not found
+     * @return A new VehicleDTO representing the requested vehicle, or null if not found
      * @throws RuntimeException if an error occurs during the retrieval process
      */
     @Override
     public VehicleDTO findByPlateNumber(String plateNumber) {
-        log.info("Executing VehicleServiceImpl findByPlateNumber method with plateNumber: {}", plateNumber);
+        log.debug("Executing VehicleServiceImpl findByPlateNumber method with plateNumber: {}", plateNumber);
         try {
 
-            Vehicle vehicle = vehicleRepository.findByPlateNumber(plateNumber).orElse(null);
-
-            if (vehicle == null) {
-                return null;
-            }
-
-            return new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates());
+            return lookupCache.get(CacheConfig.VEHICLES_BY_PLATE, plateNumber,
+                    () -> vehicleRepository.findByPlateNumber(plateNumber).map(CachedVehicle::of).orElse(null), CachedVehicle::toDTO);
 
         } catch (Exception e) {
             log.error("Error occurred in VehicleServiceImpl findByPlateNumber method with plateNumber {}: {}", plateNumber, e.getMessage());
@@ -203,9 +320,13 @@ public class VehicleServiceImpl implements VehicleService {
      */
     @Override
     public List<VehicleDTO> findAllByPlateNumber(String plateNumber) {
-        log.info("Executing VehicleServiceImpl findAllByPlateNumber method with plateNumber: {}", plateNumber);
+        log.debug("Executing VehicleServiceImpl findAllByPlateNumber method with plateNumber: {}", plateNumber);
         try {
 
+            if (useIndex()) {
+                return hydrate(plateIndex.containing(plateNumber));
+            }
+
             List<Vehicle> vehicles = vehicleRepository.findAllByPlateNumberContainingIgnoreCase(plateNumber);
             List<VehicleDTO> list = new ArrayList<>();
 
@@ -221,6 +342,44 @@ public class VehicleServiceImpl implements VehicleService {
         }
     }
 
+    /**
+     * Retrieves the vehicles whose plate numbers are most similar to a possibly mistyped plate number,
+     * such as "CAB-12S4" for "CAB-1234". While the plate number index is not available, only plate
+     * numbers containing the given value are found.
+     *
+     * @param plateNumber The plate number to search for
+     * @param limit       The maximum number of vehicles to retrieve
+     * @return List of VehicleDTO, most similar first
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value PlateIndex#MAX_LIMIT}
+     * @throws RuntimeException if an error occurs during the retrieval process
+     */
+    @Override
+    public List<VehicleDTO> findAllBySimilarPlateNumber(String plateNumber, int limit) {
+        log.debug("Executing VehicleServiceImpl findAllBySimilarPlateNumber method with plateNumber: {} and limit: {}", plateNumber, limit);
+        if (limit < 1 || limit > PlateIndex.MAX_LIMIT) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + PlateIndex.MAX_LIMIT);
+        }
+        try {
+
+            if (useIndex()) {
+                return hydrate(plateIndex.similar(plateNumber, limit, PlateIndex.DEFAULT_MIN_SIMILARITY));
+            }
+
+            List<VehicleDTO> list = new ArrayList<>();
+            for (Vehicle vehicle : vehicleRepository.findAllByPlateNumberContainingIgnoreCase(plateNumber)) {
+                if (list.size() == limit) {
+                    break;
+                }
+                list.add(new VehicleDTO(vehicle.getVehicleId(), vehicle.getName(), vehicle.getModel(), vehicle.getPlateNumber(), vehicle.getReqDates()));
+            }
+            return list;
+
+        } catch (Exception e) {
+            log.error("Error occurred in VehicleServiceImpl findAllBySimilarPlateNumber method with plateNumber {}: {}", plateNumber, e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a vehicle by its model.
      *
@@ -230,7 +389,7 @@ public class VehicleServiceImpl implements VehicleService {
      */
     @Override
     public List<VehicleDTO> findByModel(VehicleModels model) {
-        log.info("Executing VehicleServiceImpl findByModel method with model: {}", model);
+        log.debug("Executing VehicleServiceImpl findByModel method with model: {}", model);
         try {
 
             List<Vehicle> vehicles = vehicleRepository.findAllByModel(model);
@@ -247,4 +406,29 @@ public class VehicleServiceImpl implements VehicleService {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    private boolean useIndex() {
+        return plateIndexEnabled && plateIndex.isReady();
+    }
+
+    /**
+     * Loads the vehicles of the given IDs, keeping the order of the IDs.
+     */
+    private List<VehicleDTO> hydrate(List<Integer> vehicleIds) {
+        Map<Integer, VehicleDTO> byId = new HashMap<>();
+        for (int from = 0; from < vehicleIds.size(); from += MAX_IDS_PER_QUERY) {
+            for (VehicleDTO vehicle : vehicleRepository.findAllByVehicleIdIn(vehicleIds.subList(from, Math.min(vehicleIds.size(), from + MAX_IDS_PER_QUERY)))) {
+                byId.put(vehicle.getVehicleId(), vehicle);
+            }
+        }
+
+        List<VehicleDTO> vehicles = new ArrayList<>(vehicleIds.size());
+        for (Integer vehicleId : vehicleIds) {
+            VehicleDTO vehicle = byId.get(vehicleId);
+            if (vehicle != null) {
+                vehicles.add(vehicle);
+            }
+        }
+        return vehicles;
+    }
 }
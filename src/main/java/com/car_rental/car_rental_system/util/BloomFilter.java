@@ -0,0 +1,92 @@
+package com.car_rental.car_rental_system.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size bloom filter of strings. A value that was added is always reported as possibly present; a
+ * value that was not is reported as absent with the false positive rate the filter was sized for, as long
+ * as no more values than expected are added. Values cannot be removed, so the filter is rebuilt to forget.
+ * Adding and checking are lock-free.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 06:40 am
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of values and false positive rate.
+     *
+     * @param expected          The number of values expected to be added
+     * @param falsePositiveRate The share of absent values allowed to be reported as possibly present
+     */
+    public BloomFilter(int expected, double falsePositiveRate) {
+        long bitsWanted = (long) Math.ceil(-Math.max(1, expected) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (bitsWanted + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expected) * Math.log(2)));
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value to add
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                //Another bit of the same word was set meanwhile; retry with the new word
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     *
+     * @param value The value to check
+     * @return False if the value was certainly not added, true if it may have been
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes of the value.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalizer of SplitMix64, spreading every input bit over the whole result.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return (value ^ (value >>> 31)) | 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.car_rental.car_rental_system.util;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted set of non-overlapping booking intervals of a single vehicle.
+ * Intervals are inclusive on both ends and keyed by their start date, so because they never overlap
+ * the interval starting closest before a date is the only one that can cover it. Every lookup and
+ * update is therefore a single O(log n) navigation of the tree.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:20 am
+ */
+public class BookingCalendar {
+
+    private final TreeMap<LocalDate, Booking> bookings = new TreeMap<>();
+
+    /**
+     * Checks whether the vehicle is free for the whole of the given interval.
+     *
+     * @param start The first day of the interval
+     * @param end   The last day of the interval
+     * @return True if no booking overlaps the interval, false otherwise
+     */
+    public synchronized boolean isFree(LocalDate start, LocalDate end) {
+        Map.Entry<LocalDate, Booking> candidate = bookings.floorEntry(end);
+        return candidate == null || candidate.getValue().end().isBefore(start);
+    }
+
+    /**
+     * Books the given interval if it does not overlap any existing booking.
+     *
+     * @param start The first day of the interval
+     * @param end   The last day of the interval
+     * @param reqNo The ride request the booking belongs to
+     * @return True if the interval was booked, false if it overlaps an existing booking
+     */
+    public synchronized boolean book(LocalDate start, LocalDate end, int reqNo) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Booking ends before it starts");
+        }
+        if (!isFree(start, end)) {
+            return false;
+        }
+        bookings.put(start, new Booking(end, reqNo));
+        return true;
+    }
+
+    /**
+     * Removes the booking that starts on the given date, if it belongs to the given ride request.
+     *
+     * @param start The first day of the booking
+     * @param reqNo The ride request the booking belongs to
+     * @return True if a booking was removed, false otherwise
+     */
+    public synchronized boolean release(LocalDate start, int reqNo) {
+        Booking booking = bookings.get(start);
+        if (booking == null || booking.reqNo() != reqNo) {
+            return false;
+        }
+        bookings.remove(start);
+        return true;
+    }
+
+    /**
+     * Retrieves the last day the vehicle is booked for.
+     *
+     * @return The end date of the latest booking, or null if the vehicle has no bookings
+     */
+    public synchronized LocalDate lastBookedDate() {
+        return bookings.isEmpty() ? null : bookings.lastEntry().getValue().end();
+    }
+
+    /**
+     * Retrieves the last day of the booking that starts closest before the given date.
+     *
+     * @param date The date to look before
+     * @return The end date of that booking, or null if no booking starts before the date
+     */
+    public synchronized LocalDate lastBookedDateBefore(LocalDate date) {
+        Map.Entry<LocalDate, Booking> previous = bookings.lowerEntry(date);
+        return previous == null ? null : previous.getValue().end();
+    }
+
+    /**
+     * Counts the days of the given interval the vehicle is booked for, and adds one to the day's slot of
+     * perDay for each of them.
+     *
+     * @param start  The first day of the interval
+     * @param end    The last day of the interval
+     * @param perDay The counters of the days of the interval, the first day at index 0
+     * @return The number of booked days in the interval
+     */
+    public synchronized int bookedDays(LocalDate start, LocalDate end, int[] perDay) {
+        LocalDate from = bookings.floorKey(start);
+        int booked = 0;
+        for (Map.Entry<LocalDate, Booking> entry : bookings.subMap(from == null ? start : from, true, end, true).entrySet()) {
+            LocalDate first = entry.getKey().isBefore(start) ? start : entry.getKey();
+            LocalDate last = entry.getValue().end().isAfter(end) ? end : entry.getValue().end();
+            if (last.isBefore(first)) {
+                continue;
+            }
+            int offset = (int) ChronoUnit.DAYS.between(start, first);
+            int days = (int) ChronoUnit.DAYS.between(first, last) + 1;
+            for (int day = offset; day < offset + days; day++) {
+                perDay[day]++;
+            }
+            booked += days;
+        }
+        return booked;
+    }
+
+    /**
+     * Retrieves the number of bookings in the calendar.
+     *
+     * @return The number of bookings
+     */
+    public synchronized int size() {
+        return bookings.size();
+    }
+
+    private record Booking(LocalDate end, int reqNo) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes changed vehicles and users from the lookup caches. Inside a transaction the entries are removed
+ * once it commits, so a lookup running meanwhile cannot put the old row back after the eviction.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:45 pm
+ */
+
+@Component
+public class CacheInvalidator {
+
+    private CacheManager cacheManager;
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts a vehicle by its ID and plate numbers.
+     *
+     * @param vehicleId    The ID of the vehicle
+     * @param plateNumbers The plate numbers the vehicle was or is cached under
+     */
+    public void evictVehicle(int vehicleId, String... plateNumbers) {
+        TransactionHooks.afterCommit(() -> {
+            evict(CacheConfig.VEHICLES, vehicleId);
+            for (String plateNumber : plateNumbers) {
+                evict(CacheConfig.VEHICLES_BY_PLATE, plateNumber);
+            }
+        });
+    }
+
+    /**
+     * Evicts a user by their ID and usernames.
+     *
+     * @param uid       The ID of the user, 0 if not known yet
+     * @param usernames The usernames the user was or is cached under
+     */
+    public void evictUser(int uid, String... usernames) {
+        TransactionHooks.afterCommit(() -> {
+            evict(CacheConfig.USERS, uid);
+            for (String username : usernames) {
+                evict(CacheConfig.USERS_BY_USERNAME, username);
+            }
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
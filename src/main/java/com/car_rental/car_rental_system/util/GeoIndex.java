@@ -0,0 +1,300 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory grid index of ride request pickup points.
+ * <p>
+ * Points are bucketed into cells of {@link #CELL_DEGREES} degrees of latitude and longitude. A radius or
+ * bounding box search only visits the cells covering the area. A nearest search walks outwards ring by
+ * ring and stops once no unvisited cell can hold a closer point. Searches over more cells than are
+ * occupied scan the occupied cells instead, so very large areas cost no more than a full scan.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 07:35 pm
+ */
+
+@Component
+public class GeoIndex {
+
+    public static final double CELL_DEGREES = 0.05;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private final Map<Integer, PickupPointDTO> points = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Integer, PickupPointDTO>> cells = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Adds or moves the pickup point of a ride request.
+     *
+     * @param point The pickup point
+     */
+    public void put(PickupPointDTO point) {
+        PickupPointDTO previous = points.put(point.getReqNo(), point);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellOf(point.getLatitude(), point.getLongitude()), key -> new ConcurrentHashMap<>())
+                .put(point.getReqNo(), point);
+    }
+
+    /**
+     * Adds the pickup point of a ride request unless the request is already indexed. Used by the initial
+     * load, so that writes made while it runs are not overwritten by older rows.
+     *
+     * @param point The pickup point
+     */
+    public void putIfAbsent(PickupPointDTO point) {
+        if (points.putIfAbsent(point.getReqNo(), point) == null) {
+            cells.computeIfAbsent(cellOf(point.getLatitude(), point.getLongitude()), key -> new ConcurrentHashMap<>())
+                    .put(point.getReqNo(), point);
+        }
+    }
+
+    /**
+     * Removes the pickup point of a ride request.
+     *
+     * @param reqNo The number of the ride request
+     */
+    public void remove(int reqNo) {
+        PickupPointDTO previous = points.remove(reqNo);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * Retrieves the points within a distance of a location, nearest first.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param radiusKm  The distance in kilometres
+     * @return List of the points within the distance
+     */
+    public List<PickupPointDTO> withinRadius(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeDelta)));
+        double longitudeDelta = cos < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cos));
+
+        List<Candidate> within = new ArrayList<>();
+        for (PickupPointDTO point : withinBox(latitude - latitudeDelta, longitude - longitudeDelta,
+                latitude + latitudeDelta, longitude + longitudeDelta)) {
+            double distance = distanceKm(latitude, longitude, point.getLatitude(), point.getLongitude());
+            if (distance <= radiusKm) {
+                within.add(new Candidate(point, distance));
+            }
+        }
+        within.sort(Comparator.comparingDouble(Candidate::distanceKm));
+
+        List<PickupPointDTO> found = new ArrayList<>(within.size());
+        within.forEach(candidate -> found.add(candidate.point()));
+        return found;
+    }
+
+    /**
+     * Retrieves the points inside a bounding box.
+     *
+     * @param minLatitude  The southern edge of the box
+     * @param minLongitude The western edge of the box
+     * @param maxLatitude  The northern edge of the box
+     * @param maxLongitude The eastern edge of the box
+     * @return List of the points inside the box
+     */
+    public List<PickupPointDTO> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        int minRow = row(Math.max(-90, minLatitude));
+        int maxRow = row(Math.min(90, maxLatitude));
+        int minColumn = column(Math.max(-180, minLongitude));
+        int maxColumn = column(Math.min(180, maxLongitude));
+
+        List<PickupPointDTO> found = new ArrayList<>();
+        Predicate<PickupPointDTO> inside = point -> point.getLatitude() >= minLatitude && point.getLatitude() <= maxLatitude
+                && point.getLongitude() >= minLongitude && point.getLongitude() <= maxLongitude;
+
+        long boxCells = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+        if (boxCells > cells.size()) {
+            for (Map<Integer, PickupPointDTO> cell : cells.values()) {
+                collect(cell, inside, found);
+            }
+            return found;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Map<Integer, PickupPointDTO> cell = cells.get(key(row, column));
+                if (cell != null) {
+                    collect(cell, inside, found);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retrieves the points nearest to a location that match a filter, nearest first.
+     *
+     * @param latitude  The latitude of the location
+     * @param longitude The longitude of the location
+     * @param k         The maximum number of points to retrieve
+     * @param filter    The points to consider
+     * @return List of at most k points, nearest first
+     */
+    public List<PickupPointDTO> nearest(double latitude, double longitude, int k, Predicate<PickupPointDTO> filter) {
+        Comparator<Candidate> byDistance = Comparator.comparingDouble(Candidate::distanceKm);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, byDistance.reversed());
+
+        int centreRow = row(latitude);
+        int centreColumn = column(longitude);
+        int maxRing = (int) Math.ceil(180 / CELL_DEGREES);
+        long visitedCells = 0;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == k && ringLowerBoundKm(latitude, ring) >= best.peek().distanceKm()) {
+                break;
+            }
+            if (visitedCells > cells.size()) {
+                //The rings cover more cells than are occupied, so scanning every point is cheaper
+                best.clear();
+                for (Map<Integer, PickupPointDTO> cell : cells.values()) {
+                    offerAll(cell, latitude, longitude, k, filter, best);
+                }
+                break;
+            }
+            for (int row = centreRow - ring; row <= centreRow + ring; row++) {
+                boolean edgeRow = row == centreRow - ring || row == centreRow + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int column = centreColumn - ring; column <= centreColumn + ring; column += step) {
+                    visitedCells++;
+                    Map<Integer, PickupPointDTO> cell = cells.get(key(row, Math.floorMod(column, LONGITUDE_CELLS)));
+                    if (cell != null) {
+                        offerAll(cell, latitude, longitude, k, filter, best);
+                    }
+                }
+            }
+        }
+
+        List<PickupPointDTO> nearest = new ArrayList<>(best.size());
+        best.stream().sorted(byDistance).forEach(candidate -> nearest.add(candidate.point()));
+        return nearest;
+    }
+
+    /**
+     * Retrieves the number of indexed points.
+     *
+     * @return The number of indexed points
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Removes every point and marks the index as not loaded.
+     */
+    public void clear() {
+        ready = false;
+        points.clear();
+        cells.clear();
+    }
+
+    /**
+     * Checks whether the index has been loaded and can answer searches.
+     *
+     * @return True if the index is loaded, false otherwise
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the index as loaded.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Calculates the great-circle distance between two locations.
+     *
+     * @return The distance in kilometres
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * The smallest distance from a location to any cell outside the first {@code ring} rings around it.
+     */
+    private static double ringLowerBoundKm(double latitude, int ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        double degrees = (ring - 1) * CELL_DEGREES;
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + ring * CELL_DEGREES)));
+        return degrees * KM_PER_DEGREE * Math.max(0, cos);
+    }
+
+    private void offerAll(Map<Integer, PickupPointDTO> cell, double latitude, double longitude, int k,
+                          Predicate<PickupPointDTO> filter, PriorityQueue<Candidate> best) {
+        for (PickupPointDTO point : cell.values()) {
+            if (!filter.test(point)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, point.getLatitude(), point.getLongitude());
+            if (best.size() < k) {
+                best.add(new Candidate(point, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Candidate(point, distance));
+            }
+        }
+    }
+
+    private static void collect(Map<Integer, PickupPointDTO> cell, Predicate<PickupPointDTO> inside, List<PickupPointDTO> found) {
+        for (PickupPointDTO point : cell.values()) {
+            if (inside.test(point)) {
+                found.add(point);
+            }
+        }
+    }
+
+    private void removeFromCell(PickupPointDTO point) {
+        cells.computeIfPresent(cellOf(point.getLatitude(), point.getLongitude()), (key, cell) -> {
+            cell.remove(point.getReqNo(), point);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return key(row(latitude), column(longitude));
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return Math.min(LONGITUDE_CELLS - 1, Math.max(0, (int) Math.floor((longitude + 180) / CELL_DEGREES)));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private record Candidate(PickupPointDTO point, double distanceKm) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.car_rental.car_rental_system.util;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads vehicles and users through the lookup caches. The caches hold immutable snapshots, which may be
+ * shared between nodes, and every read returns a fresh DTO built from the snapshot, so a caller editing
+ * its DTO never changes what the next caller gets. Entries are removed by {@link CacheInvalidator}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 08:00 am
+ */
+
+@Component
+public class LookupCache {
+
+    private CacheManager cacheManager;
+
+    public LookupCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Retrieves a cached snapshot as a new DTO, loading and caching the snapshot if it is not cached.
+     *
+     * @param cacheName The name of the cache
+     * @param key       The key of the entry
+     * @param loader    Loads the snapshot, returning null if there is nothing to cache
+     * @param toDTO     Builds a DTO from the snapshot
+     * @return A new DTO, or null if the loader found nothing
+     */
+    @SuppressWarnings("unchecked")
+    public <S, D> D get(String cacheName, Object key, Supplier<S> loader, Function<S, D> toDTO) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        S snapshot = cached == null ? null : (S) cached.get();
+
+        if (snapshot == null) {
+            snapshot = loader.get();
+            if (snapshot == null) {
+                return null;
+            }
+            if (cache != null) {
+                cache.put(key, snapshot);
+            }
+        }
+        return toDTO.apply(snapshot);
+    }
+}
@@ -0,0 +1,85 @@
+package com.car_rental.car_rental_system.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor wraps the last ID of the previous page; the next page
+ * is read with an {@code id > cursor} seek on the primary key, so the cost of a page does not grow with
+ * how deep into the result it is.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 03:05 pm
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+    private static final String PREFIX = "k1:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encodes the last ID of a page into an opaque cursor.
+     *
+     * @param lastId The ID of the last row of the page
+     * @return The cursor pointing after that row
+     */
+    public static String encode(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back into the ID to seek after.
+     *
+     * @param cursor The cursor received from a previous page, or null for the first page
+     * @return The ID to seek after, 0 for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            int lastId = Integer.parseInt(value.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Limits a requested page size to the allowed range.
+     *
+     * @param size The requested page size
+     * @return The page size to use
+     */
+    public static int size(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Builds the cursor of the page following the given one.
+     *
+     * @param page  The rows of the current page
+     * @param size  The page size the rows were read with
+     * @param idOf  Function extracting the ID of a row
+     * @return The cursor of the next page, or null if the given page is the last one
+     */
+    public static <T> String next(List<T> page, int size, ToIntFunction<T> idOf) {
+        if (page.size() < size) {
+            return null;
+        }
+        return encode(idOf.applyAsInt(page.get(page.size() - 1)));
+    }
+}
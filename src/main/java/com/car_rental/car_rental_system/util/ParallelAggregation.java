@@ -0,0 +1,68 @@
+package com.car_rental.car_rental_system.util;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Folds a list into an aggregate on a fork-join pool. The list is split in halves until the parts are
+ * small enough, each part is folded into its own aggregate, and the aggregates are merged pairwise on the
+ * way back up, so no aggregate is shared between threads.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:15 am
+ */
+public final class ParallelAggregation {
+
+    private static final int THRESHOLD = 4096;
+
+    private ParallelAggregation() {
+    }
+
+    /**
+     * Folds the items into an aggregate.
+     *
+     * @param pool   The pool to run on
+     * @param items  The items to fold
+     * @param create Creates an empty aggregate
+     * @param add    Adds an item to an aggregate
+     * @param merge  Merges the second aggregate into the first and returns the result
+     * @return The aggregate of all items
+     */
+    public static <T, A> A aggregate(ForkJoinPool pool, List<T> items, Supplier<A> create, BiConsumer<A, T> add, BinaryOperator<A> merge) {
+        return pool.invoke(new Part<>(items, create, add, merge));
+    }
+
+    private static final class Part<T, A> extends RecursiveTask<A> {
+
+        private final List<T> items;
+        private final Supplier<A> create;
+        private final BiConsumer<A, T> add;
+        private final BinaryOperator<A> merge;
+
+        private Part(List<T> items, Supplier<A> create, BiConsumer<A, T> add, BinaryOperator<A> merge) {
+            this.items = items;
+            this.create = create;
+            this.add = add;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (items.size() <= THRESHOLD) {
+                A aggregate = create.get();
+                items.forEach(item -> add.accept(aggregate, item));
+                return aggregate;
+            }
+            int middle = items.size() / 2;
+            Part<T, A> left = new Part<>(items.subList(0, middle), create, add, merge);
+            Part<T, A> right = new Part<>(items.subList(middle, items.size()), create, add, merge);
+            left.fork();
+            A rightAggregate = right.compute();
+            return merge.apply(left.join(), rightAggregate);
+        }
+    }
+}
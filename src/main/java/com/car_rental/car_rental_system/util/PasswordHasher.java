@@ -0,0 +1,150 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.exceptions.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a small pool of its own, so a burst of logins or
+ * registrations cannot take every request thread. Work beyond the pool waits in a bounded queue; when
+ * the queue is full the call fails straight away with a {@link ServiceBusyException} instead of piling up.
+ * <p>
+ * The BCrypt cost is set by {@code app.security.bcrypt.strength}, or when that is 0, calibrated on
+ * startup as the highest cost (at least 10) that hashes within {@code app.security.bcrypt.target} on this
+ * machine. Each step of the cost doubles the time of a hash.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 06:10 am
+ */
+
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    public static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHasher(@Value("${app.security.bcrypt.strength:0}") int strength,
+                          @Value("${app.security.bcrypt.target:250ms}") Duration target,
+                          @Value("${app.security.hashing.threads:0}") int threads,
+                          @Value("${app.security.hashing.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("hash-"), new ThreadPoolExecutor.AbortPolicy());
+        this.encoder = new BCryptPasswordEncoder(strength > 0 ? strength : calibrate(target));
+    }
+
+    /**
+     * Runs a task that hashes or verifies passwords on the hashing pool. The caller's logging context is
+     * carried over to the task.
+     *
+     * @param task The task to run
+     * @return CompletableFuture completed with the result of the task, or with the exception it threw
+     * @throws ServiceBusyException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            executor.execute(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceBusyException("Too many sign-ins at the moment, please try again shortly");
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the calibrated encoder. Hashing with it directly runs on the calling thread.
+     *
+     * @return The BCrypt encoder with the configured or calibrated cost
+     */
+    public BCryptPasswordEncoder encoder() {
+        return encoder;
+    }
+
+    /**
+     * Retrieves the number of tasks waiting for a hashing thread.
+     *
+     * @return The number of queued tasks
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Retrieves the number of tasks running on a hashing thread.
+     *
+     * @return The number of running tasks
+     */
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Retrieves the number of tasks turned away because the pool and its queue were full.
+     *
+     * @return The number of rejected tasks since startup
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * The highest cost from {@link #MIN_STRENGTH} whose hash takes no longer than the target, estimated
+     * from the time of a hash at the lowest cost.
+     */
+    private static int calibrate(Duration target) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        //The first hash also loads and warms up the code, so only the second is timed
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsed * 2 <= target.toNanos()) {
+            elapsed *= 2;
+            strength++;
+        }
+        log.info("Calibrated the BCrypt cost to {} (about {} ms per hash, target {} ms)", strength,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), target.toMillis());
+        return strength;
+    }
+}
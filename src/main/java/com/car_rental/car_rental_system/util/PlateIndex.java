@@ -0,0 +1,321 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory trigram index of vehicle plate numbers.
+ * <p>
+ * Plate numbers are upper-cased and split into the overlapping three character sequences of the plate
+ * padded with two boundary marks in front and one behind, and every trigram maps to the vehicles holding
+ * it. A substring or prefix search intersects the vehicle sets of the trigrams of the query, starting
+ * with the smallest, and checks the few remaining plates. A similarity search ranks the plates sharing
+ * trigrams with the query by the share of trigrams they have in common, so a plate with a mistyped
+ * character still ranks high. Queries of one or two characters have no inner trigram and scan the plates.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 01:30 am
+ */
+
+@Component
+public class PlateIndex {
+
+    public static final double DEFAULT_MIN_SIMILARITY = 0.3;
+    public static final int MAX_LIMIT = 100;
+    private static final char BOUNDARY = '\u0001';
+
+    private final Map<Integer, Entry> plates = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Integer>> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Adds a vehicle or replaces its plate number.
+     *
+     * @param plate The vehicle ID and plate number
+     */
+    public void put(PlateNumberDTO plate) {
+        Entry entry = entry(plate.getPlateNumber());
+        Entry previous = plates.put(plate.getVehicleId(), entry);
+        if (previous != null && previous.plate().equals(entry.plate())) {
+            return;
+        }
+        if (previous != null) {
+            removePostings(plate.getVehicleId(), previous.plate());
+        }
+        addPostings(plate.getVehicleId(), entry.plate());
+    }
+
+    /**
+     * Adds a vehicle unless it is already indexed. Used by the initial load, so that writes made while it
+     * runs are not overwritten by older rows.
+     *
+     * @param plate The vehicle ID and plate number
+     */
+    public void putIfAbsent(PlateNumberDTO plate) {
+        Entry entry = entry(plate.getPlateNumber());
+        if (plates.putIfAbsent(plate.getVehicleId(), entry) == null) {
+            addPostings(plate.getVehicleId(), entry.plate());
+        }
+    }
+
+    /**
+     * Removes a vehicle.
+     *
+     * @param vehicleId The ID of the vehicle
+     */
+    public void remove(int vehicleId) {
+        Entry previous = plates.remove(vehicleId);
+        if (previous != null) {
+            removePostings(vehicleId, previous.plate());
+        }
+    }
+
+    /**
+     * Retrieves the vehicles whose plate numbers contain a value, ignoring case.
+     *
+     * @param value The partial or full plate number
+     * @return List of the matching vehicle IDs in ascending order
+     */
+    public List<Integer> containing(String value) {
+        String query = normalize(value);
+        if (query.length() < 3) {
+            return scan(plate -> plate.contains(query));
+        }
+        return lookup(trigrams(query, false, false), plate -> plate.contains(query));
+    }
+
+    /**
+     * Retrieves the vehicles whose plate numbers start with a value, ignoring case.
+     *
+     * @param value The start of the plate number
+     * @return List of the matching vehicle IDs in ascending order
+     */
+    public List<Integer> startingWith(String value) {
+        String query = normalize(value);
+        if (query.isEmpty()) {
+            return scan(plate -> true);
+        }
+        return lookup(trigrams(query, true, false), plate -> plate.startsWith(query));
+    }
+
+    /**
+     * Retrieves the vehicles whose plate numbers are most similar to a value, ignoring case. The similarity
+     * of two plate numbers is the number of trigrams they share divided by the number of distinct trigrams
+     * of both, from 0 for nothing in common to 1 for the same plate number.
+     *
+     * @param value         The plate number, possibly mistyped
+     * @param limit         The maximum number of vehicles to retrieve, from 1 to {@value #MAX_LIMIT}
+     * @param minSimilarity The lowest similarity to retrieve
+     * @return List of at most limit vehicle IDs, most similar first
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value #MAX_LIMIT}
+     */
+    public List<Integer> similar(String value, int limit, double minSimilarity) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT);
+        }
+        Set<Long> queryTrigrams = trigrams(normalize(value), true, true);
+        int queryCount = queryTrigrams.size();
+
+        List<Set<Integer>> sets = new ArrayList<>(queryCount);
+        for (long trigram : queryTrigrams) {
+            sets.add(postings.getOrDefault(trigram, Set.of()));
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+
+        Comparator<Match> best = Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(Match::plate).thenComparingInt(Match::vehicleId);
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, best.reversed());
+        Set<Integer> scored = new HashSet<>();
+        double threshold = minSimilarity;
+
+        //A plate reaching the threshold shares at least minShared trigrams with the query, so it holds one of
+        //the queryCount - minShared + 1 rarest trigrams of the query. Once limit plates are found the threshold
+        //rises to the worst of them, and the common trigrams are usually never visited
+        for (int i = 0; i < sets.size() && i <= queryCount - minShared(queryCount, threshold); i++) {
+            for (Integer vehicleId : sets.get(i)) {
+                if (!scored.add(vehicleId)) {
+                    continue;
+                }
+                Entry entry = plates.get(vehicleId);
+                if (entry == null) {
+                    continue;
+                }
+                int shared = 0;
+                for (Set<Integer> vehicles : sets) {
+                    if (vehicles.contains(vehicleId)) {
+                        shared++;
+                    }
+                }
+                double similarity = (double) shared / (queryCount + entry.trigrams() - shared);
+                if (similarity < threshold) {
+                    continue;
+                }
+                top.add(new Match(vehicleId, entry.plate(), similarity));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+                if (top.size() == limit) {
+                    threshold = Math.max(threshold, top.peek().similarity());
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(best);
+        List<Integer> found = new ArrayList<>(matches.size());
+        matches.forEach(match -> found.add(match.vehicleId()));
+        return found;
+    }
+
+    /**
+     * Retrieves the number of indexed vehicles.
+     *
+     * @return The number of indexed vehicles
+     */
+    public int size() {
+        return plates.size();
+    }
+
+    /**
+     * Removes every vehicle and marks the index as not loaded.
+     */
+    public void clear() {
+        ready = false;
+        plates.clear();
+        postings.clear();
+    }
+
+    /**
+     * Checks whether the index has been loaded and can answer searches.
+     *
+     * @return True if the index is loaded, false otherwise
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the index as loaded.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    private List<Integer> lookup(Set<Long> trigrams, Predicate<String> matches) {
+        List<Set<Integer>> sets = new ArrayList<>(trigrams.size());
+        for (long trigram : trigrams) {
+            Set<Integer> vehicles = postings.get(trigram);
+            if (vehicles == null) {
+                return List.of();
+            }
+            sets.add(vehicles);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+
+        List<Integer> found = new ArrayList<>();
+        for (Integer vehicleId : sets.get(0)) {
+            if (containsAll(sets, vehicleId)) {
+                Entry entry = plates.get(vehicleId);
+                if (entry != null && matches.test(entry.plate())) {
+                    found.add(vehicleId);
+                }
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    private List<Integer> scan(Predicate<String> matches) {
+        List<Integer> found = new ArrayList<>();
+        plates.forEach((vehicleId, entry) -> {
+            if (matches.test(entry.plate())) {
+                found.add(vehicleId);
+            }
+        });
+        found.sort(null);
+        return found;
+    }
+
+    /**
+     * The fewest trigrams a plate must share with a query of queryCount trigrams to reach the similarity.
+     * The plate has at least similarity * queryCount trigrams, and shared / (queryCount + plate - shared)
+     * grows with shared.
+     */
+    private static int minShared(int queryCount, double similarity) {
+        int minPlateCount = (int) Math.ceil(similarity * queryCount);
+        return Math.max(1, (int) Math.ceil(similarity * (queryCount + minPlateCount) / (1 + similarity) - 1e-9));
+    }
+
+    private static boolean containsAll(List<Set<Integer>> sets, Integer vehicleId) {
+        for (int i = 1; i < sets.size(); i++) {
+            if (!sets.get(i).contains(vehicleId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPostings(int vehicleId, String plate) {
+        for (long trigram : trigrams(plate, true, true)) {
+            //Added inside compute, atomically with removePostings dropping an emptied set, so that a posting is
+            //never added to a set that has just been removed from the map
+            postings.compute(trigram, (key, vehicles) -> {
+                Set<Integer> set = vehicles == null ? ConcurrentHashMap.newKeySet() : vehicles;
+                set.add(vehicleId);
+                return set;
+            });
+        }
+    }
+
+    private void removePostings(int vehicleId, String plate) {
+        for (long trigram : trigrams(plate, true, true)) {
+            postings.computeIfPresent(trigram, (key, vehicles) -> {
+                vehicles.remove(vehicleId);
+                return vehicles.isEmpty() ? null : vehicles;
+            });
+        }
+    }
+
+    /**
+     * The distinct trigrams of a value, optionally padded with boundary marks so that trigrams at the start
+     * and end of a plate number differ from the same characters inside it.
+     */
+    private static Set<Long> trigrams(String value, boolean padStart, boolean padEnd) {
+        String padded = (padStart ? "" + BOUNDARY + BOUNDARY : "") + value + (padEnd ? "" + BOUNDARY : "");
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static Entry entry(String plateNumber) {
+        String plate = normalize(plateNumber);
+        return new Entry(plate, trigrams(plate, true, true).size());
+    }
+
+    private static String normalize(String plateNumber) {
+        return plateNumber == null ? "" : plateNumber.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * An upper-cased plate number with the number of its distinct padded trigrams.
+     */
+    private record Entry(String plate, int trigrams) {
+    }
+
+    private record Match(int vehicleId, String plate, double similarity) {
+    }
+}
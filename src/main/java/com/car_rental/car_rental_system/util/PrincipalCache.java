@@ -0,0 +1,80 @@
+package com.car_rental.car_rental_system.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of loaded principals by username, without their password hashes. Entries are dropped
+ * when they are older than the TTL, or straight away when the account is changed, and a full cache evicts
+ * the least recently used ones. A TTL of 0 turns the cache off.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 06:12 pm
+ */
+
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> entries;
+
+    public PrincipalCache(@Value("${app.security.principal-cache-ttl:30s}") Duration ttl,
+                          @Value("${app.security.principal-cache-size:10000}") int maximumSize) {
+        this.entries = ttl.isZero() || ttl.isNegative() ? null : Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Retrieves the principal of a username, loading it if it is not cached or has expired.
+     *
+     * @param username The username of the principal
+     * @param loader   Loads the principal from its source
+     * @return The principal, with its credentials erased when it is cached
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (entries == null) {
+            return loader.apply(username);
+        }
+
+        return entries.get(username, key -> {
+            UserDetails principal = loader.apply(key);
+            //Requests are authenticated by their token, so the cached principal has no use for the password hash
+            if (principal instanceof CredentialsContainer credentials) {
+                credentials.eraseCredentials();
+            }
+            return principal;
+        });
+    }
+
+    /**
+     * Drops the cached principal of a username, so the next request loads it again.
+     *
+     * @param username The username of the changed account
+     */
+    public void invalidate(String username) {
+        if (entries != null && username != null) {
+            entries.invalidate(username);
+        }
+    }
+
+    /**
+     * Retrieves the number of cached principals.
+     *
+     * @return The number of cached principals
+     */
+    public int size() {
+        if (entries == null) {
+            return 0;
+        }
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+}
@@ -0,0 +1,85 @@
+package com.car_rental.car_rental_system.util;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Counts the JDBC statements run by Hibernate on the current thread and the time spent running them,
+ * so the work a single HTTP request does in the database can be measured.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 10:20 pm
+ */
+public final class QueryMetrics {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    private QueryMetrics() {
+    }
+
+    /**
+     * Resets the counts of the current thread.
+     */
+    public static void reset() {
+        Counts counts = COUNTS.get();
+        counts.statements = 0;
+        counts.nanos = 0;
+    }
+
+    /**
+     * Retrieves the number of statements run on the current thread since the last reset.
+     *
+     * @return The number of statements
+     */
+    public static int statements() {
+        return COUNTS.get().statements;
+    }
+
+    /**
+     * Retrieves the time spent running statements on the current thread since the last reset.
+     *
+     * @return The time in nanoseconds
+     */
+    public static long nanos() {
+        return COUNTS.get().nanos;
+    }
+
+    private static final class Counts {
+        private int statements;
+        private long nanos;
+    }
+
+    /**
+     * Registered with every Hibernate session through {@code hibernate.session.events.auto}.
+     */
+    public static class Listener extends BaseSessionEventListener {
+
+        private long statementStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statementStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record(statementStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record(batchStart);
+        }
+
+        private static void record(long start) {
+            Counts counts = COUNTS.get();
+            counts.statements++;
+            counts.nanos += System.nanoTime() - start;
+        }
+    }
+}
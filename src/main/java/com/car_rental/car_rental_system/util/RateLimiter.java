@@ -0,0 +1,212 @@
+package com.car_rental.car_rental_system.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket rate limits per client, configured per route.
+ * <p>
+ * {@code app.rate-limit.buckets} names the buckets as {@code name=capacity:tokens-per-second}, and
+ * {@code app.rate-limit.routes} maps requests to a bucket and a cost as {@code [METHOD] /path/**=bucket:cost},
+ * first match wins. Every client has its own bucket of each name, so the routes sharing a bucket share
+ * the client's tokens, and a list endpoint can cost more of them than a single lookup. Requests matching
+ * no route are not limited.
+ * <p>
+ * A bucket is one number: the time at which it would be full again. Taking tokens moves that time
+ * forward with a compare-and-set, so no lock is held and nothing runs to refill the buckets. A bucket that
+ * is full again is the same as a new one and is dropped by {@link #purge()}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 07:40 am
+ */
+
+@Component
+public class RateLimiter {
+
+    public static final String DEFAULT_BUCKETS = "auth=10:0.2,write=30:1,read=300:10";
+    public static final String DEFAULT_ROUTES = "POST /auth/**=auth:1,"
+            + "GET /request/stream=read:50,GET /vehicle/export=read:50,"
+            + "POST /vehicle/import=write:20,POST /request/dispatch=write:10,POST /analytics/rebuild=write:20,"
+            + "GET /analytics/**=read:10,GET /request=read:10,GET /request/all/*=read:10,GET /request/reactive/all/*=read:10,"
+            + "GET /request/status/*=read:10,GET /request/locations=read:10,GET /request/date=read:10,GET /request/dates=read:10,"
+            + "GET /request/near=read:10,GET /request/box=read:10,GET /request/nearest=read:10,"
+            + "GET /vehicle=read:10,GET /vehicle/platenumber=read:10,GET /vehicle/model=read:10,GET /vehicle/date=read:10,"
+            + "GET /vehicle/available=read:10,"
+            + "GET /**=read:1,/**=write:1";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Map<String, Limit> limits = new LinkedHashMap<>();
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(@Value("${app.rate-limit.buckets:}") String buckets,
+                       @Value("${app.rate-limit.routes:}") String routes) {
+        for (String entry : split(buckets, DEFAULT_BUCKETS)) {
+            int equals = entry.indexOf('=');
+            int colon = entry.indexOf(':', equals + 1);
+            if (equals <= 0 || colon < 0) {
+                throw new IllegalArgumentException("Rate limit buckets are configured as name=capacity:tokens-per-second, got: " + entry);
+            }
+            Limit limit = Limit.of(entry.substring(0, equals).trim(), Long.parseLong(entry.substring(equals + 1, colon).trim()),
+                    Double.parseDouble(entry.substring(colon + 1).trim()));
+            if (limits.put(limit.name(), limit) != null) {
+                throw new IllegalArgumentException("Rate limit bucket configured twice: " + limit.name());
+            }
+        }
+        for (String entry : split(routes, DEFAULT_ROUTES)) {
+            int equals = entry.lastIndexOf('=');
+            int colon = entry.indexOf(':', equals + 1);
+            if (equals <= 0 || colon < 0) {
+                throw new IllegalArgumentException("Rate limit routes are configured as [METHOD] /path=bucket:cost, got: " + entry);
+            }
+            String[] request = entry.substring(0, equals).trim().split("\\s+");
+            Limit limit = limits.get(entry.substring(equals + 1, colon).trim());
+            int cost = Integer.parseInt(entry.substring(colon + 1).trim());
+            if (limit == null) {
+                throw new IllegalArgumentException("Unknown rate limit bucket in route: " + entry);
+            }
+            if (cost < 1 || cost > limit.capacity()) {
+                throw new IllegalArgumentException("The cost of a route must be between 1 and the capacity of its bucket: " + entry);
+            }
+            AntPathRequestMatcher matcher = request.length == 1
+                    ? new AntPathRequestMatcher(request[0])
+                    : new AntPathRequestMatcher(request[1], request[0].toUpperCase(Locale.ROOT));
+            this.routes.add(new Route(matcher, limit, cost));
+        }
+    }
+
+    /**
+     * Retrieves the route a request is limited by.
+     *
+     * @param request The HTTP request
+     * @return The first matching route, or null if the request is not limited
+     */
+    public Route route(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher().matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes the cost of a route from the client's bucket, if it holds enough tokens.
+     *
+     * @param route  The route of the request
+     * @param client The client, such as its username or IP address
+     * @param now    The current time, from {@link System#nanoTime()}
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until the bucket holds enough of them
+     */
+    public long tryAcquire(Route route, String client, long now) {
+        Limit limit = route.limit();
+        String key = limit.name() + ' ' + client;
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long cost = route.cost() * limit.nanosPerToken();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            //The bucket holds capacity tokens when full, so it may fall that far behind the clock
+            long wait = next - now - limit.burstNanos();
+            if (wait > 0) {
+                limit.rejected().increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again. Runs every {@code app.rate-limit.purge-interval} milliseconds.
+     */
+    @Scheduled(initialDelayString = "${app.rate-limit.purge-interval:60000}", fixedDelayString = "${app.rate-limit.purge-interval:60000}")
+    public void purge() {
+        long now = System.nanoTime();
+        //A bucket drained between the check and the removal comes back full; at worst one extra burst
+        buckets.entrySet().removeIf(bucket -> bucket.getValue().get() - now <= 0);
+    }
+
+    /**
+     * Retrieves the configured buckets.
+     *
+     * @return The buckets in the order they are configured
+     */
+    public Collection<Limit> limits() {
+        return limits.values();
+    }
+
+    /**
+     * Retrieves the number of client buckets in use.
+     *
+     * @return The number of client buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private static List<String> split(String value, String defaults) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : (value == null || value.isBlank() ? defaults : value).split(",")) {
+            if (!entry.isBlank()) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * A named bucket: the most tokens it holds and the nanoseconds each takes to come back, with the
+     * requests it turned away.
+     */
+    public record Limit(String name, long capacity, long nanosPerToken, LongAdder rejected) {
+
+        static Limit of(String name, long capacity, double perSecond) {
+            if (capacity < 1 || perSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit bucket " + name + " needs a capacity of 1 or more and a positive rate");
+            }
+            return new Limit(name, capacity, Math.max(1, Math.round(NANOS_PER_SECOND / perSecond)), new LongAdder());
+        }
+
+        /**
+         * The nanoseconds a full bucket takes to refill from empty.
+         */
+        long burstNanos() {
+            return capacity * nanosPerToken;
+        }
+
+        /**
+         * Retrieves the number of requests this bucket turned away.
+         *
+         * @return The number of rejected requests
+         */
+        public long rejectedCount() {
+            return rejected.sum();
+        }
+    }
+
+    /**
+     * The requests a route matches, the bucket they draw from and how many tokens each takes.
+     */
+    public record Route(AntPathRequestMatcher matcher, Limit limit, int cost) {
+    }
+}
@@ -0,0 +1,247 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory fan-out of committed ride request changes to the Server-Sent Events streams of their users.
+ * <p>
+ * A stream holds no thread while idle. Each stream buffers at most {@code app.request.events.buffer-size}
+ * events, written by a small pool of writer threads, so a slow client never blocks the request that made
+ * the change; a stream whose buffer fills up is closed, and its client reconnects and resumes.
+ * <p>
+ * Every event carries an increasing ID, and the last {@code app.request.events.history-size} events are
+ * kept, so a client reconnecting with {@code Last-Event-ID} gets the events of its user that it missed.
+ * When they are no longer kept, or after a restart, the client gets a {@value #RESET_EVENT} event instead
+ * and reloads its ride requests. Each node has its own hub, so clients resume against the node they left.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 04:20 am
+ */
+
+@Component
+public class RideRequestEventHub implements DisposableBean {
+
+    public static final String UPDATE_EVENT = "ride-request";
+    public static final String RESET_EVENT = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(RideRequestEventHub.class);
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Deque<Event> history = new ArrayDeque<>();
+    private final ReentrantLock historyLock = new ReentrantLock();
+    //IDs start from the clock so that IDs given out before a restart read as missed history, not as future events
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolTaskExecutor writer = new ThreadPoolTaskExecutor();
+    private final int bufferSize;
+    private final int historySize;
+    private final long timeoutMillis;
+
+    public RideRequestEventHub(@Value("${app.request.events.buffer-size:32}") int bufferSize,
+                               @Value("${app.request.events.history-size:10000}") int historySize,
+                               @Value("${app.request.events.timeout:30m}") Duration timeout,
+                               @Value("${app.request.events.writer-threads:4}") int writerThreads) {
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writer.setCorePoolSize(writerThreads);
+        this.writer.setMaxPoolSize(writerThreads);
+        this.writer.setThreadNamePrefix("sse-");
+        this.writer.initialize();
+    }
+
+    /**
+     * Opens an event stream of the changes to a user's ride requests.
+     *
+     * @param uid         The ID of the user
+     * @param lastEventId The ID of the last event the client received, or null for a new stream
+     * @return SseEmitter sending the missed events, then each change as it is committed
+     */
+    public SseEmitter subscribe(int uid, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(uid, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        //Registering and replaying under the history lock keeps the replay and the live events in order, without gaps
+        historyLock.lock();
+        try {
+            //Added inside compute, atomically with a closing stream dropping the user's emptied set, so the
+            //subscriber never lands in a set that has just been removed from the map
+            subscribers.compute(uid, (key, streams) -> {
+                Set<Subscriber> set = streams == null ? ConcurrentHashMap.newKeySet() : streams;
+                set.add(subscriber);
+                return set;
+            });
+            subscriberCount.incrementAndGet();
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+        } finally {
+            historyLock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends a committed change to the streams of the ride request's user, and keeps it for resuming streams.
+     *
+     * @param request The ride request as committed
+     */
+    public void publish(RideRequestDTO request) {
+        historyLock.lock();
+        try {
+            Event event = new Event(sequence.incrementAndGet(), request.getUser(), request);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            Set<Subscriber> targets = subscribers.get(request.getUser());
+            if (targets != null) {
+                for (Subscriber subscriber : targets) {
+                    subscriber.offer(updateEvent(event));
+                }
+            }
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * Sends a comment to every stream, so that proxies keep idle connections open and closed connections
+     * are noticed. Runs every {@code app.request.events.heartbeat} milliseconds.
+     */
+    @Scheduled(initialDelayString = "${app.request.events.heartbeat:25000}", fixedDelayString = "${app.request.events.heartbeat:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Retrieves the number of open streams.
+     *
+     * @return The number of open streams
+     */
+    public int size() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+        writer.shutdown();
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = history.isEmpty() ? sequence.get() + 1 : history.peekFirst().id();
+        List<Event> missed = new ArrayList<>();
+        if (lastEventId >= oldest - 1 && lastEventId <= sequence.get()) {
+            for (Event event : history) {
+                if (event.id() > lastEventId && event.uid() == subscriber.uid) {
+                    missed.add(event);
+                }
+            }
+            if (missed.size() < bufferSize) {
+                missed.forEach(event -> subscriber.offer(updateEvent(event)));
+                return;
+            }
+        }
+        //Missed events that are no longer kept, or too many to replay: the client reloads instead
+        subscriber.offer(SseEmitter.event().id(String.valueOf(sequence.get())).name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+    }
+
+    private static SseEmitter.SseEventBuilder updateEvent(Event event) {
+        return SseEmitter.event().id(String.valueOf(event.id())).name(UPDATE_EVENT).data(event.request(), MediaType.APPLICATION_JSON);
+    }
+
+    private record Event(long id, int uid, RideRequestDTO request) {
+    }
+
+    /**
+     * An open stream with its pending events. At most one writer thread drains it at a time.
+     */
+    private final class Subscriber {
+
+        private final int uid;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(int uid, SseEmitter emitter) {
+            this.uid = uid;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > bufferSize) {
+                //Too slow to keep up: the client reconnects and resumes from the history
+                log.debug("Closing the event stream of user {}, {} events behind", uid, bufferSize);
+                close();
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                writer.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                //The client went away; the container completes the emitter
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                writer.execute(this::drain);
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.computeIfPresent(uid, (key, streams) -> {
+                    streams.remove(this);
+                    return streams.isEmpty() ? null : streams;
+                });
+                subscriberCount.decrementAndGet();
+                pending.clear();
+            }
+        }
+    }
+}
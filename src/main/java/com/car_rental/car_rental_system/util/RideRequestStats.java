@@ -0,0 +1,304 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.DemandDTO;
+import com.car_rental.car_rental_system.dto.LeadTimeDTO;
+import com.car_rental.car_rental_system.dto.RequestOutcomeDTO;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory aggregates of the ride requests: the number of requests per pickup city and status, and the
+ * booking lead time per requested model.
+ * <p>
+ * The few facts of each request the aggregates need are kept, so a change to a request subtracts its old
+ * facts and adds the new ones, and no query has to scan the requests again. A rebuild folds all requests
+ * in parallel; changes made while it runs are replayed over its result.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 05:20 am
+ */
+
+@Component
+public class RideRequestStats {
+
+    public static final String UNKNOWN = "(none)";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, Facts> facts = new HashMap<>();
+    private Totals totals = new Totals();
+    private List<Runnable> changesDuringRebuild;
+    private volatile boolean ready;
+
+    /**
+     * Adds a ride request or replaces its facts.
+     *
+     * @param reqNo      The number of the ride request
+     * @param city       The pickup city
+     * @param model      The requested vehicle model
+     * @param status     The status
+     * @param pickupDate The pickup date
+     * @param created    The day the request was made, or null to keep the day already known
+     */
+    public void put(int reqNo, String city, String model, RequestStatus status, LocalDate pickupDate, LocalDate created) {
+        write(() -> {
+            Facts previous = facts.get(reqNo);
+            LocalDate madeOn = created == null && previous != null ? previous.created() : created;
+            replace(reqNo, previous, new Facts(city == null ? UNKNOWN : city, model == null ? UNKNOWN : model, status, pickupDate, madeOn));
+        });
+    }
+
+    /**
+     * Moves ride requests to a new status, keeping their other facts.
+     *
+     * @param reqNos The numbers of the ride requests
+     * @param status The new status
+     */
+    public void updateStatus(Collection<Integer> reqNos, RequestStatus status) {
+        write(() -> {
+            for (Integer reqNo : reqNos) {
+                Facts previous = facts.get(reqNo);
+                if (previous != null) {
+                    replace(reqNo, previous, new Facts(previous.city(), previous.model(), status, previous.pickupDate(), previous.created()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes a ride request.
+     *
+     * @param reqNo The number of the ride request
+     */
+    public void remove(int reqNo) {
+        write(() -> replace(reqNo, facts.get(reqNo), null));
+    }
+
+    /**
+     * Starts a rebuild: from now on, changes are also recorded to be replayed over the rebuilt aggregates.
+     */
+    public void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Abandons a failed rebuild: the changes recorded since {@link #startRebuild()} are dropped, and changes are
+     * no longer recorded. The aggregates are left as they were, kept up to date by the changes themselves.
+     */
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the aggregates with those of the given ride requests, folded in parallel, and replays the
+     * changes made since {@link #startRebuild()}.
+     *
+     * @param requests The facts of every ride request, by request number
+     * @param pool     The pool to fold them on
+     */
+    public void finishRebuild(Map<Integer, Facts> requests, ForkJoinPool pool) {
+        Totals rebuilt = ParallelAggregation.aggregate(pool, new ArrayList<>(requests.values()), Totals::new,
+                (aggregate, request) -> aggregate.add(request, 1), Totals::merge);
+
+        lock.writeLock().lock();
+        try {
+            facts = new HashMap<>(requests);
+            totals = rebuilt;
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.forEach(Runnable::run);
+            }
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of ride requests per pickup city and status, most pending first.
+     *
+     * @return List of DemandDTO, one per city
+     */
+    public List<DemandDTO> demand() {
+        lock.readLock().lock();
+        try {
+            List<DemandDTO> demand = new ArrayList<>(totals.byCity.size());
+            totals.byCity.forEach((city, counts) -> demand.add(new DemandDTO(city, counts[RequestStatus.PENDING.ordinal()],
+                    counts[RequestStatus.APPROVED.ordinal()], counts[RequestStatus.REJECT.ordinal()], sum(counts))));
+            demand.sort(Comparator.comparingLong(DemandDTO::getPending).reversed()
+                    .thenComparing(Comparator.comparingLong(DemandDTO::getTotal).reversed())
+                    .thenComparing(DemandDTO::getCity));
+            return demand;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of ride requests per status, the approval and rejection rates and the lead times.
+     *
+     * @return RequestOutcomeDTO of all ride requests
+     */
+    public RequestOutcomeDTO outcomes() {
+        lock.readLock().lock();
+        try {
+            long approved = totals.byStatus[RequestStatus.APPROVED.ordinal()];
+            long rejected = totals.byStatus[RequestStatus.REJECT.ordinal()];
+            long decided = approved + rejected;
+
+            List<LeadTimeDTO> leadTimes = new ArrayList<>(totals.leadByModel.size());
+            long leadDays = 0;
+            long leadRequests = 0;
+            for (Map.Entry<String, long[]> lead : totals.leadByModel.entrySet()) {
+                long[] sumAndCount = lead.getValue();
+                leadTimes.add(new LeadTimeDTO(lead.getKey(), sumAndCount[1], (double) sumAndCount[0] / sumAndCount[1]));
+                leadDays += sumAndCount[0];
+                leadRequests += sumAndCount[1];
+            }
+            leadTimes.sort(Comparator.comparing(LeadTimeDTO::getModel));
+
+            return new RequestOutcomeDTO(totals.byStatus[RequestStatus.PENDING.ordinal()], approved, rejected,
+                    decided == 0 ? 0 : (double) approved / decided, decided == 0 ? 0 : (double) rejected / decided,
+                    leadRequests == 0 ? 0 : (double) leadDays / leadRequests, leadTimes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of ride requests.
+     *
+     * @return The number of ride requests
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return facts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the aggregates have been built and can answer queries.
+     *
+     * @return True if the aggregates are built, false otherwise
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(int reqNo, Facts previous, Facts next) {
+        if (previous != null) {
+            totals.add(previous, -1);
+        }
+        if (next == null) {
+            facts.remove(reqNo);
+        } else {
+            facts.put(reqNo, next);
+            totals.add(next, 1);
+        }
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * The facts of a ride request the aggregates are made of.
+     */
+    public record Facts(String city, String model, RequestStatus status, LocalDate pickupDate, LocalDate created) {
+
+        /**
+         * The days between making the request and its pickup, or null if either is unknown.
+         */
+        Long leadDays() {
+            return created == null || pickupDate == null ? null : ChronoUnit.DAYS.between(created, pickupDate);
+        }
+    }
+
+    /**
+     * Counts per status overall and per city, and the sum and count of the lead days per model.
+     */
+    private static final class Totals {
+
+        private final long[] byStatus = new long[RequestStatus.values().length];
+        private final Map<String, long[]> byCity = new HashMap<>();
+        private final Map<String, long[]> leadByModel = new HashMap<>();
+
+        private void add(Facts request, int sign) {
+            if (request.status() != null) {
+                byStatus[request.status().ordinal()] += sign;
+                long[] city = byCity.computeIfAbsent(request.city(), key -> new long[RequestStatus.values().length]);
+                city[request.status().ordinal()] += sign;
+                if (sum(city) == 0) {
+                    byCity.remove(request.city());
+                }
+            }
+            Long leadDays = request.leadDays();
+            if (leadDays != null) {
+                long[] lead = leadByModel.computeIfAbsent(request.model(), key -> new long[2]);
+                lead[0] += sign * leadDays;
+                lead[1] += sign;
+                if (lead[1] == 0) {
+                    leadByModel.remove(request.model());
+                }
+            }
+        }
+
+        private Totals merge(Totals other) {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] += other.byStatus[i];
+            }
+            other.byCity.forEach((city, counts) -> {
+                long[] merged = byCity.computeIfAbsent(city, key -> new long[counts.length]);
+                for (int i = 0; i < counts.length; i++) {
+                    merged[i] += counts[i];
+                }
+            });
+            other.leadByModel.forEach((model, lead) -> {
+                long[] merged = leadByModel.computeIfAbsent(model, key -> new long[2]);
+                merged[0] += lead[0];
+                merged[1] += lead[1];
+            });
+            return this;
+        }
+    }
+}
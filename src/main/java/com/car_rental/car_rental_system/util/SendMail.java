@@ -1,11 +1,25 @@
 package com.car_rental.car_rental_system.util;
 
+import com.car_rental.car_rental_system.entity.MailOutbox;
+import com.car_rental.car_rental_system.entity.enums.OutboxStatus;
+import com.car_rental.car_rental_system.repo.MailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Dilan
  * @created 04/03/2024 - 07:24 pm
@@ -16,22 +30,99 @@ import org.springframework.stereotype.Service;
 @Log4j2
 public class SendMail {
 
+    public static final String SUBJECT = "Job Junction OTP";
+
     private final JavaMailSender javaMailSender;
+    private final MailOutboxRepository outboxRepository;
+    private final EntityManager entityManager;
 
+    private static final int ROWS_PER_INSERT = 100;
+
+    /**
+     * Queues an email in the outbox as part of the current transaction. It is sent by the outbox
+     * dispatcher once the transaction has committed.
+     *
+     * @param to   The recipient of the email
+     * @param text The text of the email
+     */
     public void sendEmail(String to, String text) {
 
-        log.info("Executing SendMail sendmail with to:{}",to);
+        log.debug("Executing SendMail sendmail with to:{}",to);
 
-        try {
+        Instant now = Instant.now();
+        outboxRepository.save(new MailOutbox(0, to, SUBJECT, text, OutboxStatus.PENDING, 0, now, null, now, null, null));
+    }
+
+    /**
+     * Queues several emails in the outbox as part of the current transaction, inserting up to
+     * {@value #ROWS_PER_INSERT} of them per statement.
+     *
+     * @param messages The emails to queue, each with a single recipient and a text
+     */
+    public void sendEmails(List<SimpleMailMessage> messages) {
+
+        log.debug("Executing SendMail sendEmails with {} emails", messages.size());
+
+        Instant now = Instant.now();
+        for (int from = 0; from < messages.size(); from += ROWS_PER_INSERT) {
+            List<SimpleMailMessage> rows = messages.subList(from, Math.min(from + ROWS_PER_INSERT, messages.size()));
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject("Job Junction OTP");
-            message.setText(text);
-            javaMailSender.send(message);
+            //Native SQL, as HQL types the enum in a values list by ordinal
+            StringBuilder sql = new StringBuilder("insert into mail_outbox (recipient, subject, text, status, attempts, next_attempt_at, created_at) values ");
+            for (int i = 0; i < rows.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(:to").append(i).append(", :subject, :text").append(i).append(", :status, 0, :now, :now)");
+            }
 
+            Query insert = entityManager.createNativeQuery(sql.toString())
+                    .setParameter("subject", SUBJECT)
+                    .setParameter("status", OutboxStatus.PENDING.name())
+                    .setParameter("now", now);
+            for (int i = 0; i < rows.size(); i++) {
+                insert.setParameter("to" + i, rows.get(i).getTo()[0]).setParameter("text" + i, rows.get(i).getText());
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Sends a batch of emails over a single SMTP connection.
+     *
+     * @param messages The emails to send
+     * @return The positions in the batch of the emails that failed, mapped to the reason, empty if all of them were sent
+     */
+    public Map<Integer, Exception> sendBatch(List<SimpleMailMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        //The failures are reported keyed by message. Simple messages are equal when their contents are, so
+        //identical emails would collapse into one entry; each is sent as a MIME message, which are only equal to themselves
+        Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+        MimeMessage[] mimeMessages = new MimeMessage[messages.size()];
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                mimeMessages[i] = javaMailSender.createMimeMessage();
+                messages.get(i).copyTo(new MimeMailMessage(mimeMessages[i]));
+                positions.put(mimeMessages[i], i);
+            }
+            javaMailSender.send(mimeMessages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failAll(failures, messages.size(), e);
+            } else {
+                e.getFailedMessages().forEach((message, failure) -> {
+                    Integer position = positions.get(message);
+                    if (position != null) {
+                        failures.put(position, failure);
+                    }
+                });
+            }
         } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
+            failAll(failures, messages.size(), e);
+        }
+        return failures;
+    }
+
+    private static void failAll(Map<Integer, Exception> failures, int size, Exception e) {
+        for (int i = 0; i < size; i++) {
+            failures.put(i, e);
         }
     }
 }
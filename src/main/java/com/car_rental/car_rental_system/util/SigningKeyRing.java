@@ -0,0 +1,121 @@
+package com.car_rental.car_rental_system.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The HMAC keys JWT tokens are signed and verified with, by key ID.
+ * <p>
+ * Keys are configured as {@code app.security.jwt.keys}, a comma separated list of {@code kid:base64-secret},
+ * and decoded once on startup. New tokens are signed with the {@code app.security.jwt.active-key} and carry
+ * its ID in the {@code kid} header; a token is verified with the key its header names, so a verification is
+ * one map lookup plus one HMAC. Tokens issued before tokens carried a key ID are verified with the first
+ * key of the list.
+ * <p>
+ * To rotate, add the new key to every node, then make it the active key, and drop the old key once the
+ * access tokens it signed have expired.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 07:00 am
+ */
+
+@Component
+public class SigningKeyRing extends SigningKeyResolverAdapter {
+
+    //The key tokens were signed with before the key ring; replace it with keys of your own in production
+    public static final String DEFAULT_KEYS = "k1:3A1F79A64C0B8E9CF29A670BBD8F5A436A3D344B2A683F0A3B2507E53BB1CD07";
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    private final Map<String, Key> keys;
+    private final Key legacyKey;
+    private final String activeKeyId;
+    private final Key activeKey;
+
+    public SigningKeyRing(@Value("${app.security.jwt.keys:}") String keys,
+                          @Value("${app.security.jwt.active-key:}") String activeKeyId) {
+        Map<String, Key> decoded = new HashMap<>();
+        Key first = null;
+        String firstId = null;
+        if (keys == null || keys.isBlank()) {
+            log.warn("app.security.jwt.keys is not set: tokens are signed with the built-in development key, which is public. "
+                    + "Configure keys of your own in production");
+            keys = DEFAULT_KEYS;
+        }
+        for (String entry : keys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Signing keys are configured as kid:base64-secret, got: " + entry.trim());
+            }
+            String kid = entry.substring(0, separator).trim();
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(separator + 1).trim()));
+            if (decoded.put(kid, key) != null) {
+                throw new IllegalArgumentException("Signing key ID configured twice: " + kid);
+            }
+            if (first == null) {
+                first = key;
+                firstId = kid;
+            }
+        }
+        this.keys = Map.copyOf(decoded);
+        this.legacyKey = first;
+        this.activeKeyId = activeKeyId == null || activeKeyId.isBlank() ? firstId : activeKeyId.trim();
+        this.activeKey = this.keys.get(this.activeKeyId);
+        if (this.activeKey == null) {
+            throw new IllegalArgumentException("The active signing key is not configured: " + this.activeKeyId);
+        }
+    }
+
+    /**
+     * Retrieves the ID of the key new tokens are signed with.
+     *
+     * @return The ID of the active key
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Retrieves the key new tokens are signed with.
+     *
+     * @return The active key
+     */
+    public Key getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * Retrieves the key a token is verified with.
+     *
+     * @param kid The key ID of the token header, or null for tokens issued without one
+     * @return The key of that ID
+     * @throws SignatureException If no key of that ID is configured
+     */
+    public Key verificationKey(String kid) {
+        if (kid == null) {
+            return legacyKey;
+        }
+        Key key = keys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return verificationKey(header.getKeyId());
+    }
+}
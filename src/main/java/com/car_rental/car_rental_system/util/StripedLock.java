@@ -0,0 +1,40 @@
+package com.car_rental.car_rental_system.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared out by key, so callers working on the same key are serialized while
+ * callers on different keys rarely wait on each other, without keeping a lock per key alive.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:05 am
+ */
+public class StripedLock {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * @param minimumStripes The minimum number of locks; rounded up to the next power of two
+     */
+    public StripedLock(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Retrieves the lock guarding the given key.
+     *
+     * @param key The key to lock
+     * @return The lock shared by every key that maps to the same stripe
+     */
+    public Lock get(int key) {
+        int hash = key * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,217 @@
+package com.car_rental.car_rental_system.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory set of revoked tokens, checked on every authenticated request without a database lookup.
+ * <p>
+ * Single tokens are revoked by their {@code jti} claim. The exact set of revoked IDs sits behind a bloom
+ * filter, so the usual check of a token that was never revoked reads a few bits and no map. All tokens
+ * of a user are revoked at once by recording when it happened: tokens issued up to that millisecond are
+ * refused, and those issued after it, such as on the user's next login, are not.
+ * <p>
+ * Every entry is dropped once the tokens it covers have expired; the filter is rebuilt from the remaining
+ * entries at the same time. When {@code app.security.revocation.snapshot} names a file, the entries are
+ * written to it periodically and on shutdown, and read back on startup, so revocations survive restarts.
+ * Each node keeps its own set.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 06:50 am
+ */
+
+@Component
+public class TokenRevocationList implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Map<String, UserRevocation> users = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final int expectedTokens;
+    private final Path snapshot;
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(@Value("${app.security.revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${app.security.revocation.snapshot:}") String snapshot) {
+        this.expectedTokens = expectedTokens;
+        this.snapshot = snapshot == null || snapshot.isBlank() ? null : Path.of(snapshot);
+        this.filter = new BloomFilter(expectedTokens, FALSE_POSITIVE_RATE);
+        load();
+    }
+
+    /**
+     * Revokes a single token.
+     *
+     * @param tokenId   The jti claim of the token
+     * @param expiresAt The expiry of the token, after which the entry is dropped
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        writeLock.lock();
+        try {
+            tokens.put(tokenId, expiresAt.getEpochSecond());
+            filter.put(tokenId);
+            changed.set(true);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Revokes every token of a user issued up to the current millisecond.
+     *
+     * @param username  The username of the user
+     * @param now       The current time
+     * @param expiresAt The time the last of those tokens expires, after which the entry is dropped
+     */
+    public void revokeAll(String username, Instant now, Instant expiresAt) {
+        users.merge(username, new UserRevocation(now.toEpochMilli(), expiresAt.getEpochSecond()),
+                (previous, next) -> new UserRevocation(Math.max(previous.revokedAt(), next.revokedAt()),
+                        Math.max(previous.expiresAt(), next.expiresAt())));
+        changed.set(true);
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param username The subject of the token
+     * @param tokenId  The jti claim of the token, or null for tokens issued without one
+     * @param issuedAt The issue time of the token, to the millisecond, or null for tokens issued without one
+     * @return True if the token has been revoked, false otherwise
+     */
+    public boolean isRevoked(String username, String tokenId, Instant issuedAt) {
+        if (!users.isEmpty()) {
+            UserRevocation revocation = users.get(username);
+            if (revocation != null && (issuedAt == null || issuedAt.toEpochMilli() <= revocation.revokedAt())) {
+                return true;
+            }
+        }
+        return tokenId != null && filter.mightContain(tokenId) && tokens.containsKey(tokenId);
+    }
+
+    /**
+     * Drops the entries whose tokens have expired, rebuilds the filter from the rest, and writes the
+     * snapshot if anything changed. Runs every {@code app.security.revocation.purge-interval} milliseconds.
+     */
+    @Scheduled(initialDelayString = "${app.security.revocation.purge-interval:60000}", fixedDelayString = "${app.security.revocation.purge-interval:60000}")
+    public void purge() {
+        long now = Instant.now().getEpochSecond();
+        writeLock.lock();
+        try {
+            if (tokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+                BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, tokens.size()), FALSE_POSITIVE_RATE);
+                tokens.keySet().forEach(rebuilt::put);
+                filter = rebuilt;
+                changed.set(true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (users.values().removeIf(revocation -> revocation.expiresAt() <= now)) {
+            changed.set(true);
+        }
+        if (changed.getAndSet(false)) {
+            save();
+        }
+    }
+
+    /**
+     * Retrieves the number of revoked tokens and users held.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return tokens.size() + users.size();
+    }
+
+    @Override
+    public void destroy() {
+        save();
+    }
+
+    /**
+     * Writes the entries to a temporary file and moves it over the snapshot, so a crash never leaves a
+     * partly written snapshot behind.
+     */
+    private void save() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Path absolute = snapshot.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> token : tokens.entrySet()) {
+                    writer.write("token " + encode(token.getKey()) + " " + token.getValue());
+                    writer.newLine();
+                }
+                for (Map.Entry<String, UserRevocation> user : users.entrySet()) {
+                    writer.write("user " + encode(user.getKey()) + " " + user.getValue().revokedAt() + " " + user.getValue().expiresAt());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error occurred in TokenRevocationList while writing the snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (snapshot == null || !Files.exists(snapshot)) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(" ");
+                if (fields[0].equals("token") && fields.length == 3 && Long.parseLong(fields[2]) > now) {
+                    tokens.put(decode(fields[1]), Long.parseLong(fields[2]));
+                    filter.put(decode(fields[1]));
+                } else if (fields[0].equals("user") && fields.length == 4 && Long.parseLong(fields[3]) > now) {
+                    users.put(decode(fields[1]), new UserRevocation(Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+                }
+            }
+            log.info("Loaded {} token revocations from {}", size(), snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error occurred in TokenRevocationList while reading the snapshot: {}", e.getMessage());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The tokens of a user issued up to revokedAt, in epoch milliseconds, are revoked; the entry is kept until
+     * expiresAt, in epoch seconds.
+     */
+    private record UserRevocation(long revokedAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.car_rental.car_rental_system.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work to the end of the current transaction, for state kept outside the database such as the
+ * in-memory indexes and caches, so it only ever reflects what was committed.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 08:20 am
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or at once outside a transaction.
+     *
+     * @param action The action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs an action if the current transaction does not commit. Outside a transaction it never runs.
+     *
+     * @param action The action undoing a change made in the transaction
+     */
+    public static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
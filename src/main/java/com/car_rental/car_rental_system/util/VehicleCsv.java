@@ -0,0 +1,162 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes vehicles as CSV records with the columns of {@link #HEADER}. Fields containing commas,
+ * quotes or line breaks are quoted, with quotes doubled, so a record spans several lines when a quoted
+ * field holds a line break.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 12:25 am
+ */
+public final class VehicleCsv {
+
+    public static final String HEADER = "vehicleId,name,model,plateNumber,reqDates";
+    private static final int COLUMNS = 5;
+    //A stray quote would otherwise pull the rest of the file into one record
+    private static final int MAX_RECORD_LINES = 100;
+
+    private VehicleCsv() {
+    }
+
+    /**
+     * Tells whether a line is the header line.
+     *
+     * @param line The line to check
+     * @return true if the line holds the column names
+     */
+    public static boolean isHeader(String line) {
+        return line.replace("\uFEFF", "").replace(" ", "").equalsIgnoreCase(HEADER);
+    }
+
+    /**
+     * Reads the next CSV record, joining the lines of quoted fields that hold line breaks with {@code \n}.
+     * A record whose quote is still open after {@value #MAX_RECORD_LINES} lines is returned as it is and
+     * rejected by {@link #parse(String)}.
+     *
+     * @param reader The reader of the CSV lines
+     * @return The record, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null || !isOpen(line, false)) {
+            return line;
+        }
+
+        StringBuilder record = new StringBuilder(line);
+        boolean open = true;
+        for (int lines = 1; open && lines < MAX_RECORD_LINES; lines++) {
+            String next = reader.readLine();
+            if (next == null) {
+                break;
+            }
+            record.append('\n').append(next);
+            open = isOpen(next, true);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Reads a vehicle from a CSV line. The vehicle ID column may be empty.
+     *
+     * @param line The line to read
+     * @return VehicleDTO holding the values of the line
+     * @throws IllegalArgumentException if the line does not have the expected columns or values
+     */
+    public static VehicleDTO parse(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns (" + HEADER + ") but found " + fields.size());
+        }
+
+        String model = fields.get(2).trim();
+        String reqDates = fields.get(4).trim();
+        try {
+            return new VehicleDTO(0, fields.get(1).trim(),
+                    model.isEmpty() ? null : VehicleModels.valueOf(model.toUpperCase()),
+                    fields.get(3).trim(),
+                    reqDates.isEmpty() ? null : LocalDate.parse(reqDates));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date " + reqDates);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown model " + model);
+        }
+    }
+
+    /**
+     * Writes a vehicle as a CSV line, without the line break.
+     *
+     * @param dto The vehicle to write
+     * @return The CSV line of the vehicle
+     */
+    public static String format(VehicleDTO dto) {
+        return dto.getVehicleId() + "," + quote(dto.getName()) + "," + (dto.getModel() == null ? "" : dto.getModel().name()) + ","
+                + quote(dto.getPlateNumber()) + "," + (dto.getReqDates() == null ? "" : dto.getReqDates().toString());
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Tells whether a quoted field is still open at the end of a line. Doubled quotes count twice, so they
+     * leave it as it was.
+     */
+    private static boolean isOpen(String line, boolean open) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
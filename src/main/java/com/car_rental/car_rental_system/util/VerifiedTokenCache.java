@@ -0,0 +1,118 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of verified tokens keyed by the SHA-256 hash of the token, so the raw token is never kept.
+ * Entries are served until the token expires. The cache is a Caffeine cache bounded by size, so an entry
+ * expires with its token and a full cache evicts the least recently used ones in amortized constant time.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 05:16 pm
+ */
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(int maximumSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Retrieves the cached verification of a token if it has not expired.
+     *
+     * @param key The key of the token, from {@link #keyOf(String)}
+     * @param now The current time
+     * @return The verified token, or null if it is not cached or has expired
+     */
+    public VerifiedToken get(String key, Instant now) {
+        VerifiedToken token = entries.getIfPresent(key);
+        if (token == null) {
+            return null;
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            entries.asMap().remove(key, token);
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Caches the verification of a token.
+     *
+     * @param key   The key of the token, from {@link #keyOf(String)}
+     * @param token The verified token
+     * @param now   The current time
+     */
+    public void put(String key, VerifiedToken token, Instant now) {
+        if (token.getExpiresAt().isAfter(now)) {
+            entries.put(key, token);
+        }
+    }
+
+    /**
+     * Removes every cached verification.
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Retrieves the number of cached verifications.
+     *
+     * @return The number of cached verifications
+     */
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    /**
+     * Derives the cache key of a token.
+     *
+     * @param token The raw token
+     * @return The Base64 encoded SHA-256 hash of the token
+     */
+    public static String keyOf(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expires an entry when its token does.
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- The optimistic lock versions, the pickup coordinate index, the vehicle reservations and the mail outbox, added
+-- after the baseline. Rows that exist before the upgrade start at version 0.
+
+alter table vehicle add column version integer not null default 0;
+alter table ride_request add column version integer not null default 0;
+
+create index idx_ride_request_pickup_lat_lon on ride_request (pickup_latitude, pickup_longitude);
+
+create table reservation (
+    reservation_id integer not null auto_increment,
+    vehicle_id     integer not null,
+    req_no         integer not null,
+    start_date     date    not null,
+    end_date       date    not null,
+    primary key (reservation_id),
+    constraint uk_reservation_req_no unique (req_no)
+) engine = InnoDB;
+
+create table mail_outbox (
+    id              bigint        not null auto_increment,
+    recipient       varchar(255)  not null,
+    subject         varchar(255)  not null,
+    text            varchar(2000) not null,
+    status          enum ('PENDING','SENT','DEAD') not null,
+    attempts        integer       not null,
+    next_attempt_at datetime(6)   not null,
+    last_error      varchar(500),
+    created_at      datetime(6)   not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_mail_outbox_status_next on mail_outbox (status, next_attempt_at);
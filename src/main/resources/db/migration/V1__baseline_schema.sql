@@ -0,0 +1,50 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update. Databases created that way are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run the later migrations.
+
+create table admin (
+    id       integer not null auto_increment,
+    password varchar(255),
+    role     varchar(255),
+    username varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create table user (
+    uid      integer not null auto_increment,
+    email    varchar(255),
+    name     varchar(255),
+    password varchar(255),
+    role     varchar(255),
+    username varchar(255),
+    primary key (uid)
+) engine = InnoDB;
+
+create table vehicle (
+    vehicle_id   integer not null auto_increment,
+    name         varchar(255),
+    model        enum ('CAR','VAN','THREE_WHEEL'),
+    plate_number varchar(255),
+    req_dates    date,
+    primary key (vehicle_id)
+) engine = InnoDB;
+
+create table ride_request (
+    req_no                integer not null auto_increment,
+    vehicle_model         varchar(255),
+    pickup_dates          date,
+    return_dates          date,
+    pickup_address        varchar(255),
+    pickup_city           varchar(255),
+    pickup_latitude       float(53),
+    pickup_longitude      float(53),
+    destination_address   varchar(255),
+    destination_city      varchar(255),
+    destination_latitude  float(53),
+    destination_longitude float(53),
+    status                varchar(10) default 'PENDING' not null,
+    vehicle_id            integer,
+    uid                   integer,
+    primary key (req_no),
+    constraint fk_ride_request_vehicle foreign key (vehicle_id) references vehicle (vehicle_id),
+    constraint fk_ride_request_user foreign key (uid) references user (uid)
+) engine = InnoDB;
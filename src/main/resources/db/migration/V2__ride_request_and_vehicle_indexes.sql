@@ -0,0 +1,22 @@
+-- Indexes for the hottest lookups. The unique plate number index fails if two vehicles already share a
+-- plate number; remove the duplicates before upgrading.
+
+-- findAllByStatus and the dispatcher / bulk transitions (status with a pickup date range)
+create index idx_ride_request_status_pickup on ride_request (status, pickup_dates);
+
+-- findAllByUserUid, optionally narrowed by pickup date
+create index idx_ride_request_uid_pickup on ride_request (uid, pickup_dates);
+
+-- findAllByPickupDate and findAllByPickupDateBetween
+create index idx_ride_request_pickup on ride_request (pickup_dates);
+
+-- findByPlateNumber and the duplicate check of the vehicle import
+create unique index uk_vehicle_plate_number on vehicle (plate_number);
+
+-- findAllByReqDatesLessThan
+create index idx_vehicle_req_dates on vehicle (req_dates);
+
+-- findAllByPlateNumberContainingIgnoreCase searches the upper-cased plate number kept by the database, so the
+-- search scans this narrow index rather than upper-casing every row of the table
+alter table vehicle add column plate_number_normalized varchar(255) generated always as (upper(plate_number));
+create index idx_vehicle_plate_number_normalized on vehicle (plate_number_normalized);
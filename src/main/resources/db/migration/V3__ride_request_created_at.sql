@@ -0,0 +1,4 @@
+-- When each ride request was made, for the booking lead time of the analytics. The column is filled by the
+-- database on insert; requests made before this release keep null and are left out of the lead time.
+alter table ride_request add column created_at datetime(6) null;
+alter table ride_request modify column created_at datetime(6) null default current_timestamp(6);
@@ -0,0 +1,17 @@
+-- Refresh tokens. Only the SHA-256 hash of a token is stored; a token used by a refresh keeps its row, with
+-- used_at set, until it expires, so that a second use is recognised and its family revoked.
+create table refresh_token (
+    id         bigint       not null auto_increment,
+    token_hash varchar(44)  not null,
+    username   varchar(255) not null,
+    family_id  varchar(36)  not null,
+    expires_at datetime(6)  not null,
+    used_at    datetime(6),
+    created_at datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
+
+create unique index uk_refresh_token_hash on refresh_token (token_hash);
+create index idx_refresh_token_family on refresh_token (family_id);
+create index idx_refresh_token_username on refresh_token (username);
+create index idx_refresh_token_expires on refresh_token (expires_at);
@@ -0,0 +1,5 @@
+-- Claims on queued emails, so that when several instances drain the outbox each email is sent by one of them.
+-- A run claims due rows with a conditional update; a claim older than the claim timeout is taken to belong to
+-- an instance that stopped mid-batch and may be claimed again.
+alter table mail_outbox add column claimed_by varchar(36) null;
+alter table mail_outbox add column claimed_at datetime(6) null;
@@ -0,0 +1,87 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.CarRentalSystemApplication;
+import com.car_rental.car_rental_system.entity.Admin;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.AdminRepository;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.AvailabilityService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Starts the application on the embedded test database for benchmarks, seeded with an admin account,
+ * vehicles and ride requests. Logging is turned down so that it does not dominate the measurements.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:20 pm
+ */
+final class BenchmarkApplication {
+
+    static final String ADMIN_USERNAME = "bench-admin";
+    static final String ADMIN_PASSWORD = "bench-password";
+    static final LocalDate FIRST_PICKUP = LocalDate.of(2030, 1, 1);
+    static final int VEHICLES = 200;
+    static final int REQUESTS = 5000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CarRentalSystemApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.properties.hibernate.generate_statistics=false")
+                .properties(properties)
+                .run();
+        seed(context);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        AdminRepository adminRepository = context.getBean(AdminRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        VehicleRepository vehicleRepository = context.getBean(VehicleRepository.class);
+        RideRequestRepository rideRequestRepository = context.getBean(RideRequestRepository.class);
+        AvailabilityService availabilityService = context.getBean(AvailabilityService.class);
+
+        adminRepository.save(new Admin(0, ADMIN_USERNAME, new BCryptPasswordEncoder().encode(ADMIN_PASSWORD), "ROLE_ADMIN"));
+        User customer = userRepository.save(new User(0, "Customer", "customer@example.com", "bench-customer", "secret", "ROLE_USER"));
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicles.add(new Vehicle(0, "Car " + i, VehicleModels.values()[i % VehicleModels.values().length], "BM-" + i, null, 0));
+        }
+        vehicles = vehicleRepository.saveAll(vehicles);
+
+        Random random = new Random(42);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate pickup = FIRST_PICKUP.plusDays(random.nextInt(365));
+            LocationDetails location = new LocationDetails("Pickup " + i, "Colombo", 79.5 + random.nextDouble() * 2.5, 5.9 + random.nextDouble() * 4);
+            requests.add(new RideRequest(0, "CAR", pickup, pickup.plusDays(random.nextInt(4)), location, location,
+                    RequestStatus.PENDING, null, customer, 0));
+        }
+        requests = rideRequestRepository.saveAll(requests);
+
+        //Book a quarter of the requests so availability checks have calendars to look at
+        for (int i = 0; i < requests.size(); i += 4) {
+            RideRequest request = requests.get(i);
+            Vehicle vehicle = vehicles.get(random.nextInt(vehicles.size()));
+            if (availabilityService.isAvailable(vehicle.getVehicleId(), request.getPickupDate(), request.getReturnDate())) {
+                availabilityService.reserve(vehicle.getVehicleId(), request.getReqNo(), request.getPickupDate(), request.getReturnDate());
+            }
+        }
+    }
+}
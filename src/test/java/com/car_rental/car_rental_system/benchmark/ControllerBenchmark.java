@@ -0,0 +1,104 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.AuthenticationRequest;
+import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.service.RideRequestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full MockMvc round trips through the security filter chain and the main controllers, with a real
+ * bearer token.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:50 pm
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String bearer;
+    private String loginBody;
+    private int firstReqNo;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        bearer = "Bearer " + context.getBean(JwtService.class).generateToken(BenchmarkApplication.ADMIN_USERNAME);
+        loginBody = context.getBean(ObjectMapper.class).writeValueAsString(
+                new AuthenticationRequest(BenchmarkApplication.ADMIN_USERNAME, BenchmarkApplication.ADMIN_PASSWORD));
+        firstReqNo = context.getBean(RideRequestService.class).findAll(0, 1).get(0).getReqNo();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult login() throws Exception {
+        return perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(loginBody));
+    }
+
+    @Benchmark
+    public MvcResult getVehiclePage() throws Exception {
+        return perform(get("/vehicle").header("Authorization", bearer));
+    }
+
+    @Benchmark
+    public MvcResult getRequestPage() throws Exception {
+        return perform(get("/request").param("size", "100").header("Authorization", bearer));
+    }
+
+    @Benchmark
+    public MvcResult getOneRequest() throws Exception {
+        int reqNo = firstReqNo + ThreadLocalRandom.current().nextInt(BenchmarkApplication.REQUESTS);
+        return perform(get("/request/{id}", reqNo).header("Authorization", bearer));
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus() + " for " + result.getRequest().getRequestURI());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.util.GeoIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pickup searches over 1M synthetic ride requests spread over Sri Lanka, using the grid index and a
+ * full scan of every point for comparison.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 08:50 pm
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class GeoIndexBenchmark {
+
+    private static final int REQUESTS = 1_000_000;
+    private static final double DEPOT_LATITUDE = 6.93;
+    private static final double DEPOT_LONGITUDE = 79.86;
+
+    private final GeoIndex index = new GeoIndex();
+    private final List<PickupPointDTO> points = new ArrayList<>(REQUESTS);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int reqNo = 1; reqNo <= REQUESTS; reqNo++) {
+            PickupPointDTO point = new PickupPointDTO(reqNo, 5.9 + random.nextDouble() * 4, 79.5 + random.nextDouble() * 2.5,
+                    random.nextInt(4) == 0 ? RequestStatus.PENDING : RequestStatus.APPROVED);
+            points.add(point);
+            index.put(point);
+        }
+    }
+
+    @Benchmark
+    public List<PickupPointDTO> radius5KmIndex() {
+        return index.withinRadius(DEPOT_LATITUDE, DEPOT_LONGITUDE, 5);
+    }
+
+    @Benchmark
+    public List<PickupPointDTO> radius5KmScan() {
+        List<PickupPointDTO> found = new ArrayList<>();
+        for (PickupPointDTO point : points) {
+            if (GeoIndex.distanceKm(DEPOT_LATITUDE, DEPOT_LONGITUDE, point.getLatitude(), point.getLongitude()) <= 5) {
+                found.add(point);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<PickupPointDTO> boxIndex() {
+        return index.withinBox(6.9, 79.8, 7.0, 79.9);
+    }
+
+    @Benchmark
+    public List<PickupPointDTO> nearest10PendingIndex() {
+        return index.nearest(DEPOT_LATITUDE, DEPOT_LONGITUDE, 10, point -> point.getStatus() == RequestStatus.PENDING);
+    }
+}
@@ -0,0 +1,118 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.VerifiedToken;
+import com.car_rental.car_rental_system.service.impl.JwtServiceImpl;
+import com.car_rental.car_rental_system.util.SigningKeyRing;
+import com.car_rental.car_rental_system.util.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifications per second of the token checks done by JwtAuthFilter for one request. The legacy path
+ * rebuilds the key and parser and parses the token once for each of extractUsername, getRolesFromToken,
+ * validateToken and isTokenExpired, as the filter used to; the cached path is the single-parse verify.
+ * The key ring path is the parse verify does on a cache miss: one key lookup by kid and one HMAC.
+ * Token generation and validation are measured on their own as well.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 05:40 pm
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "3A1F79A64C0B8E9CF29A670BBD8F5A436A3D344B2A683F0A3B2507E53BB1CD07";
+
+    private JwtServiceImpl jwtService;
+    private JwtParser keyRingParser;
+    private UserDetails admin;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        admin = User.withUsername("admin")
+                .password("password")
+                .roles("ADMIN")
+                .build();
+        //A full revocation list, so cachedVerify includes a realistic revocation check
+        TokenRevocationList revocations = new TokenRevocationList(100_000, "");
+        Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 100_000; i++) {
+            revocations.revoke(UUID.randomUUID().toString(), expiry);
+        }
+        SigningKeyRing keyRing = new SigningKeyRing(SigningKeyRing.DEFAULT_KEYS, "");
+        jwtService = new JwtServiceImpl(username -> admin, revocations, keyRing, Duration.ofMinutes(15));
+        keyRingParser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+        token = jwtService.generateToken("admin");
+    }
+
+    @Benchmark
+    public void legacyParsePerCheck(Blackhole blackhole) {
+        Claims username = parse(token);
+        Claims roles = parse(token);
+        Claims validate = parse(token);
+        Claims expiry = parse(token);
+        blackhole.consume(username.getSubject());
+        blackhole.consume(roles.get("role"));
+        blackhole.consume(validate.getSubject().equals("admin"));
+        blackhole.consume(expiry.getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Claims keyRingParse() {
+        return keyRingParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("admin");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, admin);
+    }
+
+    private static Claims parse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
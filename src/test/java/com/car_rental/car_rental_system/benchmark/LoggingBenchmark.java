@@ -0,0 +1,78 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Throughput of the largest ride request page with the application's loggers at DEBUG (every step traced),
+ * INFO (one summary line per request) and OFF. Events go through the asynchronous appender to
+ * {@code target/benchmark.log}.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 11:30 pm
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String APPLICATION_LOGGER = "com.car_rental.car_rental_system";
+
+    @Param({"DEBUG", "INFO", "OFF"})
+    private String level;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("logging.config=classpath:logback-benchmark.xml");
+        context.getBean(LoggingSystem.class).setLogLevel(APPLICATION_LOGGER, LogLevel.valueOf(level));
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        bearer = "Bearer " + context.getBean(JwtService.class).generateToken(BenchmarkApplication.ADMIN_USERNAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getRequestPage() throws Exception {
+        MvcResult result = mockMvc.perform(get("/request").param("size", "1000").header("Authorization", bearer)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus());
+        }
+        return result;
+    }
+}
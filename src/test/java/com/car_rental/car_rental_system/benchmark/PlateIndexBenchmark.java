@@ -0,0 +1,78 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
+import com.car_rental.car_rental_system.util.PlateIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plate number searches over 200k synthetic vehicles, using the trigram index and a full scan of every
+ * plate number for comparison.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 02:15 am
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PlateIndexBenchmark {
+
+    private static final int VEHICLES = 200_000;
+    private static final String[] PREFIXES = {"CAA", "CAB", "CAD", "KL", "KN", "WP", "NB", "BFG", "PH", "QA"};
+
+    private final PlateIndex index = new PlateIndex();
+    private final List<String> plates = new ArrayList<>(VEHICLES);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int vehicleId = 1; vehicleId <= VEHICLES; vehicleId++) {
+            String plateNumber = PREFIXES[random.nextInt(PREFIXES.length)] + "-" + (1000 + random.nextInt(9000));
+            plates.add(plateNumber);
+            index.put(new PlateNumberDTO(vehicleId, plateNumber));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> containingIndex() {
+        return index.containing("B-123");
+    }
+
+    @Benchmark
+    public List<Integer> containingScan() {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < plates.size(); i++) {
+            if (plates.get(i).contains("B-123")) {
+                found.add(i + 1);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<Integer> prefixIndex() {
+        return index.startingWith("KN-45");
+    }
+
+    @Benchmark
+    public List<Integer> similarIndex() {
+        return index.similar("CAB-12S4", 10, PlateIndex.DEFAULT_MIN_SIMILARITY);
+    }
+}
@@ -0,0 +1,156 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.AuthenticationRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Load test of the blocking and reactive ride request reads over real HTTP connections. Each read path
+ * gets the same number of requests for random ride requests, with at most {@code load.connections}
+ * requests in flight, and the throughput and latencies are printed for comparison.
+ * <p>
+ * Runs against {@code load.url}, or against the application started on the embedded database with the
+ * Spring profiles in {@code load.profiles} when it is not set. The embedded R2DBC driver for H2 is not truly non-blocking, so compare the two paths against
+ * MySQL:
+ * <pre>
+ * mvn -P load-test test -Dload.url=http://localhost:8080 -Dload.connections=5000 -Dload.requests=100000
+ * </pre>
+ * The server needs {@code server.tomcat.max-connections} above the number of connections,
+ * {@code app.rate-limit.enabled=false} since all requests come from one user, and the user running both
+ * sides a matching open file limit.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 03:20 am
+ */
+public final class ReadPathLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ReadPathLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url", "");
+        String profiles = System.getProperty("load.profiles", "");
+        int connections = Integer.getInteger("load.connections", 5000);
+        int requests = Integer.getInteger("load.requests", 50_000);
+
+        ConfigurableApplicationContext context = null;
+        if (url.isBlank()) {
+            context = BenchmarkApplication.start("server.tomcat.max-connections=" + (connections * 2),
+                    "server.tomcat.accept-count=" + connections,
+                    "spring.datasource.hikari.maximum-pool-size=50", "spring.r2dbc.pool.max-size=50",
+                    "spring.profiles.active=" + profiles);
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            String bearer = "Bearer " + login(client, url);
+            int[] reqNos = reqNos(client, url, bearer);
+            System.out.printf("%d ride requests, %d connections, %d requests per path%n", reqNos.length, connections, requests);
+
+            List<IntFunction<String>> paths = List.of(reqNo -> "/request/" + reqNo, reqNo -> "/request/reactive/" + reqNo);
+            List<String> names = List.of("blocking /request/{id}", "reactive /request/reactive/{id}");
+            for (int i = 0; i < paths.size(); i++) {
+                //The first run opens the connections and warms up the server
+                run(client, url, bearer, reqNos, paths.get(i), connections, Math.max(connections, requests / 5));
+                Result result = run(client, url, bearer, reqNos, paths.get(i), connections, requests);
+                System.out.printf("%-34s %8.0f req/s  p50 %6d ms  p99 %6d ms  max %6d ms  errors %d%n", names.get(i),
+                        result.throughput(), result.percentile(50), result.percentile(99), result.percentile(100), result.errors());
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, String url, String bearer, int[] reqNos, IntFunction<String> path,
+                              int connections, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(connections);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            int reqNo = reqNos[ThreadLocalRandom.current().nextInt(reqNos.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + path.apply(reqNo)))
+                    .header("Authorization", bearer)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+                latencies[index] = System.nanoTime() - sent;
+                if (e != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed, latencies, errors.get());
+    }
+
+    private static String login(HttpClient client, String url) throws Exception {
+        String body = MAPPER.writeValueAsString(new AuthenticationRequest(BenchmarkApplication.ADMIN_USERNAME, BenchmarkApplication.ADMIN_PASSWORD));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + BenchmarkApplication.ADMIN_USERNAME + " failed with status " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    private static int[] reqNos(HttpClient client, String url, String bearer) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url + "/request?size=1000"))
+                .header("Authorization", bearer)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        List<Integer> reqNos = new ArrayList<>();
+        for (JsonNode request : MAPPER.readTree(response.body()).get("body")) {
+            reqNos.add(request.get("reqNo").asInt());
+        }
+        if (reqNos.isEmpty()) {
+            throw new IllegalStateException("No ride requests to read");
+        }
+        return reqNos.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private record Result(double throughput, long[] latencies, int errors) {
+
+        long percentile(int percent) {
+            int index = (int) Math.ceil(percent / 100.0 * latencies.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(latencies[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.dto.UserDTO;
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.service.RideRequestService;
+import com.car_rental.car_rental_system.service.UserService;
+import com.car_rental.car_rental_system.service.VehicleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service hot paths on the embedded database: registration with BCrypt hashing, loading one ride request
+ * through its entity converter, reading a page of ride requests through the DTO projection, and finding
+ * the vehicles available on a date.
+ *
+ * @author Dilan
+ * @created 18/10/2026 - 09:35 pm
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private final AtomicInteger registrations = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private RideRequestService rideRequestService;
+    private VehicleService vehicleService;
+    private int firstReqNo;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        rideRequestService = context.getBean(RideRequestService.class);
+        vehicleService = context.getBean(VehicleService.class);
+        firstReqNo = rideRequestService.findAll(0, 1).get(0).getReqNo();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void registerUser() {
+        String username = "bench-user-" + registrations.incrementAndGet();
+        userService.save(new UserDTO(0, "Bench User", username + "@example.com", username, "password", "ROLE_USER"));
+    }
+
+    @Benchmark
+    public RideRequestDTO findRequestById() {
+        return rideRequestService.findById(firstReqNo + ThreadLocalRandom.current().nextInt(BenchmarkApplication.REQUESTS));
+    }
+
+    @Benchmark
+    public List<RideRequestDTO> findRequestPage() {
+        int after = firstReqNo - 1 + ThreadLocalRandom.current().nextInt(BenchmarkApplication.REQUESTS - 100);
+        return rideRequestService.findAll(after, 100);
+    }
+
+    @Benchmark
+    public List<VehicleDTO> findVehiclesByDate() {
+        LocalDate date = BenchmarkApplication.FIRST_PICKUP.plusDays(ThreadLocalRandom.current().nextInt(365));
+        return vehicleService.findAllByDate(date);
+    }
+}
@@ -0,0 +1,111 @@
+package com.car_rental.car_rental_system.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many concurrent requests that each wait on a pooled database connection and then on I/O, run on
+ * Tomcat's default pool of 200 platform threads and on one virtual thread per request, as with
+ * {@code spring.threads.virtual.enabled}. The connection pool is the same in both, so the difference
+ * is the threads parked while waiting. Virtual threads need Java 21; on Java 17 run only
+ * {@code -p threads=platform}.
+ *
+ * @author Dilan
+ * @created 19/10/2026 - 03:55 am
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int CONNECTIONS = 50;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"5000"})
+    public int concurrentRequests;
+
+    //Time spent on the database connection, and on remote I/O without one (SMTP, HTTP)
+    @Param({"2"})
+    public int dbMillis;
+
+    @Param({"20"})
+    public int ioMillis;
+
+    private AsyncTaskExecutor executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() {
+        connectionPool = new Semaphore(CONNECTIONS, true);
+        if (threads.equals("virtual")) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("bench-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+        } else {
+            ThreadPoolTaskExecutor platform = new ThreadPoolTaskExecutor();
+            platform.setCorePoolSize(PLATFORM_THREADS);
+            platform.setMaxPoolSize(PLATFORM_THREADS);
+            platform.setQueueCapacity(Integer.MAX_VALUE);
+            platform.initialize();
+            executor = platform;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor platform) {
+            platform.shutdown();
+        }
+    }
+
+    /**
+     * Serves {@code concurrentRequests} requests arriving at once; the score times concurrentRequests
+     * is the number of requests served per second.
+     */
+    @Benchmark
+    public void serveConcurrentRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            executor.execute(() -> {
+                try {
+                    connectionPool.acquire();
+                    try {
+                        Thread.sleep(dbMillis);
+                    } finally {
+                        connectionPool.release();
+                    }
+                    Thread.sleep(ioMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
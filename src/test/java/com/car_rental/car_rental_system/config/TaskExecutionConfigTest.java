@@ -0,0 +1,46 @@
+package com.car_rental.car_rental_system.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskExecutionConfigTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void tasksRunWithTheCallersSecurityAndLoggingContext() throws Exception {
+        Authentication caller = new UsernamePasswordAuthenticationToken("caller", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        MDC.put("reqNo", "42");
+
+        assertEquals(List.of(caller, "42"), taskExecutor.submit(() -> List.of(
+                SecurityContextHolder.getContext().getAuthentication(), MDC.get("reqNo"))).get(5, TimeUnit.SECONDS));
+
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+        assertNull(taskExecutor.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get(5, TimeUnit.SECONDS),
+                "A pooled thread must not keep the context of an earlier task");
+    }
+}
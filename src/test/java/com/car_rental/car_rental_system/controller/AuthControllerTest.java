@@ -0,0 +1,142 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.dto.AuthenticationRequest;
+import com.car_rental.car_rental_system.dto.AuthenticationResponse;
+import com.car_rental.car_rental_system.dto.RefreshTokenRequest;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.util.PasswordHasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Test
+    void loginRehashesAPasswordOfALowerCost() throws Exception {
+        String username = "rehash-" + UUID.randomUUID();
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        userRepository.save(new User(0, "Customer", username + "@example.com", username, weakHash, "ROLE_USER"));
+
+        MvcResult login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new AuthenticationRequest(username, "secret"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+
+        String stored = userRepository.findByUsername(username).orElseThrow().getPassword();
+        assertNotEquals(weakHash, stored);
+        assertFalse(passwordHasher.encoder().upgradeEncoding(stored));
+        assertTrue(passwordHasher.encoder().matches("secret", stored));
+    }
+
+    @Test
+    void loggedOutAndRevokedTokensAreRefused() throws Exception {
+        String username = "logout-" + UUID.randomUUID();
+        User customer = userRepository.save(new User(0, "Customer", username + "@example.com", username, "secret", "ROLE_USER"));
+        LocalDate pickup = LocalDate.of(2049, 1, 10);
+        LocationDetails location = new LocationDetails("Pickup", "Kandy", 80.63, 7.29);
+        rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+        String first = "Bearer " + jwtService.generateToken(username);
+        String second = "Bearer " + jwtService.generateToken(username);
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, second))
+                .andExpect(status().isOk());
+
+        jwtService.revokeAll(username);
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, second))
+                .andExpect(status().isUnauthorized());
+
+        //A token issued right after the revocation, within the same second, is accepted; only its millisecond differs
+        Thread.sleep(1);
+        String third = "Bearer " + jwtService.generateToken(username);
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, third))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshTokensRotateAndAReusedOneRevokesItsFamily() throws Exception {
+        String username = "refresh-" + UUID.randomUUID();
+        User customer = userRepository.save(new User(0, "Customer", username + "@example.com", username,
+                passwordHasher.encoder().encode("secret"), "ROLE_USER"));
+        LocalDate pickup = LocalDate.of(2049, 2, 10);
+        LocationDetails location = new LocationDetails("Pickup", "Kandy", 80.63, 7.29);
+        rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+
+        MvcResult login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new AuthenticationRequest(username, "secret"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        AuthenticationResponse first = read(mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresIn").value(jwtService.getAccessTokenTtl().toSeconds()))
+                .andReturn());
+
+        AuthenticationResponse second = read(mockMvc.perform(refresh(first.getRefreshToken()))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, "Bearer " + second.getToken()))
+                .andExpect(status().isOk());
+
+        //The first refresh token is used up; presenting it again revokes the family and the user's access tokens
+        mockMvc.perform(refresh(first.getRefreshToken()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(refresh(second.getRefreshToken()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, "Bearer " + second.getToken()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder refresh(String refreshToken) throws Exception {
+        return post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(new RefreshTokenRequest(refreshToken)));
+    }
+
+    private AuthenticationResponse read(MvcResult result) throws Exception {
+        return mapper.readValue(result.getResponse().getContentAsString(), AuthenticationResponse.class);
+    }
+}
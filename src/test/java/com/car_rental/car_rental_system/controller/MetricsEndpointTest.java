@@ -0,0 +1,39 @@
+package com.car_rental.car_rental_system.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpointExposesRequestServiceAndDatabaseMetrics() throws Exception {
+        mockMvc.perform(get("/request").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("http_server_requests_seconds_count{"), "Endpoint latency timer");
+        assertTrue(body.contains("service_method_seconds_count{class=\"RideRequestServiceImpl\""), "Service method timer");
+        assertTrue(body.contains("http_server_db_statements_count{method=\"GET\",uri=\"/request\""), "Statements per request");
+        assertTrue(body.contains("http_server_db_time_seconds_count{method=\"GET\",uri=\"/request\""), "Database time per request");
+        assertTrue(body.contains("rental_assignments_total{"), "Assignment counter");
+        assertTrue(body.contains("rental_mail_total{"), "Mail counter");
+    }
+}
@@ -0,0 +1,96 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.dto.RefreshTokenRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.buckets=auth=3:0.01,read=20:0.01",
+        "app.rate-limit.routes=POST /auth/**=auth:1,GET /request/all/*=read:10,GET /**=read:1"
+})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void anonymousRequestsAreLimitedByAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(refresh("10.0.0.1"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(refresh("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(refresh("10.0.0.2"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, meterRegistry.get("rental.ratelimit.rejected").tag("bucket", "auth").functionCounter().count());
+    }
+
+    @Test
+    void listRequestsAreLimitedByUserAtTheirCost() throws Exception {
+        User alice = user();
+        User bob = user();
+        String aliceToken = "Bearer " + jwtService.generateToken(alice.getUsername());
+        String bobToken = "Bearer " + jwtService.generateToken(bob.getUsername());
+
+        //Each list costs 10 of the 20 tokens, whatever the address it comes from (no requests yet, hence 400)
+        mockMvc.perform(get("/request/all/" + alice.getUid()).header(HttpHeaders.AUTHORIZATION, aliceToken).with(address("10.0.0.3")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/request/all/" + alice.getUid()).header(HttpHeaders.AUTHORIZATION, aliceToken).with(address("10.0.0.4")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/request/all/" + alice.getUid()).header(HttpHeaders.AUTHORIZATION, aliceToken))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/request/all/" + bob.getUid()).header(HttpHeaders.AUTHORIZATION, bobToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User user() {
+        String username = "limited-" + UUID.randomUUID();
+        return userRepository.save(new User(0, "Customer", username + "@example.com", username, "secret", "ROLE_USER"));
+    }
+
+    private MockHttpServletRequestBuilder refresh(String address) throws Exception {
+        return post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(new RefreshTokenRequest("unknown")))
+                .with(address(address));
+    }
+
+    private static RequestPostProcessor address(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
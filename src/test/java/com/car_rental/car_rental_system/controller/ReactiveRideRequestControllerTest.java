@@ -0,0 +1,111 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveRideRequestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    private User customer;
+    private String token;
+
+    @BeforeEach
+    void createCustomer() {
+        customer = userRepository.save(new User(0, "Customer", "reactive-" + UUID.randomUUID() + "@example.com", "reactive-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        token = "Bearer " + jwtService.generateToken(customer.getUsername());
+    }
+
+    @Test
+    void readsTheSameRideRequestsAsTheBlockingEndpoints() throws Exception {
+        RideRequest first = save(LocalDate.of(2047, 1, 10));
+        save(LocalDate.of(2047, 1, 12));
+
+        String blocking = mockMvc.perform(get("/request/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        perform(get("/request/reactive/all/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(content().json(blocking, true));
+
+        String one = mockMvc.perform(get("/request/" + first.getReqNo()).header(HttpHeaders.AUTHORIZATION, token))
+                .andReturn().getResponse().getContentAsString();
+        perform(get("/request/reactive/" + first.getReqNo()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(content().json(one, true));
+    }
+
+    @Test
+    void streamsRideRequestsAsNewlineDelimitedJson() throws Exception {
+        RideRequest first = save(LocalDate.of(2047, 2, 1));
+        RideRequest second = save(LocalDate.of(2047, 2, 3));
+
+        String body = perform(get("/request/reactive/all/" + customer.getUid())
+                .header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"reqNo\":" + first.getReqNo()));
+        assertTrue(lines[1].contains("\"reqNo\":" + second.getReqNo()));
+    }
+
+    @Test
+    void rejectsUnknownIdsAndMissingTokens() throws Exception {
+        perform(get("/request/reactive/" + Integer.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+        perform(get("/request/reactive/all/" + Integer.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No user in this id"));
+        mockMvc.perform(get("/request/reactive/all/" + customer.getUid()))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Performs a request whose response is written asynchronously, and the async dispatch that writes it.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private RideRequest save(LocalDate pickup) {
+        LocationDetails location = new LocationDetails("Pickup", "Kandy", 80.63, 7.29);
+        return rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+    }
+}
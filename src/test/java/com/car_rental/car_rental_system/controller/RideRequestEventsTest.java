@@ -0,0 +1,127 @@
+package com.car_rental.car_rental_system.controller;
+
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.JwtService;
+import com.car_rental.car_rental_system.service.RideRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RideRequestEventsTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)\nevent:ride-request\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    private User customer;
+    private String token;
+
+    @BeforeEach
+    void createCustomer() {
+        customer = userRepository.save(new User(0, "Customer", "events-" + UUID.randomUUID() + "@example.com", "events-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        token = "Bearer " + jwtService.generateToken(customer.getUsername());
+    }
+
+    @Test
+    void pushesCommittedChangesAndResumesFromTheLastEventId() throws Exception {
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(0, "Events car", VehicleModels.CAR, "EV-" + UUID.randomUUID(), null, 0));
+        LocalDate pickup = LocalDate.of(2048, 4, 1);
+        LocationDetails location = new LocationDetails("Pickup", "Kandy", 80.63, 7.29);
+        RideRequest request = rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+
+        MockHttpServletResponse stream = subscribe(events());
+        rideRequestService.assignVehicle(request.getReqNo(), vehicle.getVehicleId());
+        rideRequestService.updateStatus(request.getReqNo(), RequestStatus.APPROVED);
+
+        String body = awaitEvents(stream, 2);
+        assertTrue(body.contains("\"vehicle\":" + vehicle.getVehicleId()));
+        assertTrue(body.contains("\"status\":\"APPROVED\""));
+        Matcher ids = EVENT_ID.matcher(body);
+        assertTrue(ids.find());
+        String first = ids.group(1);
+        assertTrue(ids.find());
+        String second = ids.group(1);
+
+        String resumed = awaitEvents(subscribe(events().header("Last-Event-ID", first)), 1);
+        assertTrue(resumed.contains("id:" + second + "\n"));
+        assertFalse(resumed.contains("id:" + first + "\n"));
+
+        String reset = awaitContent(subscribe(events().header("Last-Event-ID", "1")), "event:reset");
+        assertFalse(EVENT_ID.matcher(reset).find());
+    }
+
+    @Test
+    void rejectsUnknownUsers() throws Exception {
+        mockMvc.perform(get("/request/events/" + Integer.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder events() {
+        return get("/request/events/" + customer.getUid()).header(HttpHeaders.AUTHORIZATION, token);
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static String awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = stream.getContentAsString();
+            if (EVENT_ID.matcher(body).results().count() >= count) {
+                return body;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Expected " + count + " events, got: " + stream.getContentAsString());
+    }
+
+    private static String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = stream.getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Expected " + expected + ", got: " + stream.getContentAsString());
+    }
+}
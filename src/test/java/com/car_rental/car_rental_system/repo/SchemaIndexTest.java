@@ -0,0 +1,78 @@
+package com.car_rental.car_rental_system.repo;
+
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hottest ride request and vehicle lookups are served by the indexes of the migrations,
+ * using the query plans of the embedded database.
+ */
+@SpringBootTest
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void rideRequestLookupsUseTheirIndexes() {
+        assertUsesIndex("idx_ride_request_status_pickup",
+                "select req_no from ride_request where status = 'PENDING'");
+        assertUsesIndex("idx_ride_request_status_pickup",
+                "select req_no from ride_request where status = 'PENDING' and pickup_dates between date '2030-01-01' and date '2030-01-31'");
+        assertUsesIndex("idx_ride_request_uid_pickup",
+                "select req_no from ride_request where uid = 1 and pickup_dates between date '2030-01-01' and date '2030-01-31'");
+        assertUsesIndex("idx_ride_request_pickup",
+                "select req_no from ride_request where pickup_dates between date '2030-01-01' and date '2030-01-31'");
+    }
+
+    @Test
+    void vehicleLookupsUseTheirIndexes() {
+        assertUsesIndex("uk_vehicle_plate_number",
+                "select vehicle_id from vehicle where plate_number = 'AB-1234'");
+        assertUsesIndex("idx_vehicle_req_dates",
+                "select vehicle_id from vehicle where req_dates < date '2030-01-01'");
+        assertUsesIndex("idx_vehicle_plate_number_normalized",
+                "select vehicle_id from vehicle where plate_number_normalized like 'AB-12%'");
+    }
+
+    @Test
+    void plateNumberSearchIgnoresCaseAndMatchesWildcardsLiterally() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        Vehicle plain = vehicleRepository.save(new Vehicle(0, "Car", VehicleModels.CAR, "IDX-" + suffix, null, 0));
+        Vehicle withPercent = vehicleRepository.save(new Vehicle(0, "Car", VehicleModels.CAR, "IDX%" + suffix, null, 0));
+
+        List<Integer> found = vehicleRepository.findAllByPlateNumberContainingIgnoreCase(suffix.toLowerCase()).stream()
+                .map(Vehicle::getVehicleId).toList();
+        assertEquals(List.of(plain.getVehicleId(), withPercent.getVehicleId()), found);
+
+        List<Integer> percent = vehicleRepository.findAllByPlateNumberContainingIgnoreCase("idx%" + suffix).stream()
+                .map(Vehicle::getVehicleId).toList();
+        assertEquals(List.of(withPercent.getVehicleId()), percent);
+    }
+
+    @Test
+    void plateNumbersAreUnique() {
+        String plateNumber = "UNQ-" + UUID.randomUUID();
+        vehicleRepository.save(new Vehicle(0, "Car", VehicleModels.CAR, plateNumber, null, 0));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> vehicleRepository.save(new Vehicle(0, "Van", VehicleModels.VAN, plateNumber, null, 0)));
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertTrue(plan.contains("." + index + ":"), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+}
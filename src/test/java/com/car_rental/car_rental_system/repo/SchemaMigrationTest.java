@@ -0,0 +1,43 @@
+package com.car_rental.car_rental_system.repo;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a database created by the release before the migrations, which has the V1 schema but no
+ * migration history, is baselined at V1 and upgraded by the later migrations.
+ */
+class SchemaMigrationTest {
+
+    @Test
+    void aDatabaseOfTheBaselineReleaseIsUpgraded() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        //The schema as the earlier release left it, with a row from before the upgrade
+        String baseline = new ClassPathResource("db/migration/V1__baseline_schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : baseline.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+        jdbcTemplate.update("insert into vehicle (name, model, plate_number) values ('Old', 'CAR', 'OLD-1')");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(0, jdbcTemplate.queryForObject("select version from vehicle where plate_number = 'OLD-1'", Integer.class));
+        assertEquals("NO", jdbcTemplate.queryForObject(
+                "select is_nullable from information_schema.columns where table_name = 'vehicle' and column_name = 'version'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from reservation", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from mail_outbox", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from refresh_token", Integer.class));
+    }
+}
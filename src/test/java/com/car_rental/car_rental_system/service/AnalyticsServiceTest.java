@@ -0,0 +1,97 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.DailyUtilisationDTO;
+import com.car_rental.car_rental_system.dto.DemandDTO;
+import com.car_rental.car_rental_system.dto.RequestOutcomeDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionDTO;
+import com.car_rental.car_rental_system.dto.UtilisationDTO;
+import com.car_rental.car_rental_system.dto.VehicleUtilisationDTO;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AnalyticsServiceTest {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Test
+    void countsFollowWritesAndMatchARebuild() {
+        User customer = userRepository.save(new User(0, "Customer", "analytics-" + UUID.randomUUID() + "@example.com", "analytics-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        String city = "City-" + UUID.randomUUID();
+        LocalDate pickup = LocalDate.now().plusDays(10);
+        LocationDetails location = new LocationDetails("Pickup", city, 80.63, 7.29);
+        RequestOutcomeDTO before = analyticsService.outcomes();
+
+        RideRequest approved = rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+        RideRequest rejected = rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+        rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, RequestStatus.PENDING, null, customer, 0));
+        rideRequestService.updateStatus(approved.getReqNo(), RequestStatus.APPROVED);
+        rideRequestService.updateStatuses(new StatusTransitionDTO(RequestStatus.REJECT, List.of(rejected.getReqNo()), null, null));
+
+        assertEquals(new DemandDTO(city, 1, 1, 1, 3), demandOf(city));
+        RequestOutcomeDTO after = analyticsService.outcomes();
+        assertEquals(before.getPending() + 1, after.getPending());
+        assertEquals(before.getApproved() + 1, after.getApproved());
+        assertEquals(before.getRejected() + 1, after.getRejected());
+        assertTrue(after.getLeadTimes().stream().anyMatch(lead -> lead.getModel().equals("CAR") && lead.getAverageDays() > 0));
+
+        //Other test contexts write to the same database, so only this city is compared after the rebuild
+        assertTrue(analyticsService.rebuild() >= 3);
+        assertEquals(new DemandDTO(city, 1, 1, 1, 3), demandOf(city));
+        assertTrue(analyticsService.outcomes().getLeadTimes().stream().anyMatch(lead -> lead.getModel().equals("CAR") && lead.getRequests() >= 3));
+    }
+
+    @Test
+    void utilisationCountsReservedDaysPerModelAndVehicle() {
+        User customer = userRepository.save(new User(0, "Customer", "analytics-" + UUID.randomUUID() + "@example.com", "analytics-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(0, "Analytics van", VehicleModels.VAN, "AN-" + UUID.randomUUID(), null, 0));
+        LocalDate pickup = LocalDate.of(2049, 6, 10);
+        LocationDetails location = new LocationDetails("Pickup", "Galle", 80.22, 6.03);
+        RideRequest request = rideRequestRepository.save(new RideRequest(0, "VAN", pickup, pickup.plusDays(2), location, location, RequestStatus.PENDING, null, customer, 0));
+        rideRequestService.assignVehicle(request.getReqNo(), vehicle.getVehicleId());
+
+        UtilisationDTO utilisation = analyticsService.utilisation(pickup.minusDays(1), pickup.plusDays(5), 1000);
+
+        VehicleUtilisationDTO reserved = utilisation.getVehicles().stream()
+                .filter(found -> found.getVehicleId() == vehicle.getVehicleId()).findFirst().orElseThrow();
+        assertEquals(3, reserved.getReservedDays());
+        assertEquals(3.0 / 7, reserved.getRate(), 1e-9);
+        List<DailyUtilisationDTO> vans = utilisation.getDaily().stream().filter(day -> day.getModel() == VehicleModels.VAN).toList();
+        assertEquals(7, vans.size());
+        assertEquals(0, vans.get(0).getReserved());
+        assertTrue(vans.get(1).getReserved() >= 1);
+        assertEquals(0, vans.get(6).getReserved());
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.utilisation(pickup, pickup.minusDays(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.utilisation(pickup, pickup.plusDays(366), 10));
+    }
+
+    private DemandDTO demandOf(String city) {
+        return analyticsService.demand().stream().filter(demand -> demand.getCity().equals(city)).findFirst().orElseThrow();
+    }
+}
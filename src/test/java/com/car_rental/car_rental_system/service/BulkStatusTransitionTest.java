@@ -0,0 +1,151 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.StatusTransitionDTO;
+import com.car_rental.car_rental_system.dto.StatusTransitionResultDTO;
+import com.car_rental.car_rental_system.entity.MailOutbox;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.OutboxStatus;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.MailOutboxRepository;
+import com.car_rental.car_rental_system.repo.ReservationRepository;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.service.impl.AvailabilityServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkStatusTransitionTest {
+
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private AvailabilityServiceImpl availabilityService;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    private User customer;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void createCustomerAndVehicle() {
+        customer = userRepository.save(new User(0, "Customer", "bulk-" + UUID.randomUUID() + "@example.com", "bulk-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        vehicle = vehicleRepository.save(new Vehicle(0, "Bulk car", VehicleModels.CAR, "BULK-" + UUID.randomUUID(), null, 0));
+    }
+
+    @Test
+    void rejectsListedPendingRequestsAndSkipsTheOthers() {
+        LocalDate pickup = LocalDate.of(2045, 3, 1);
+        RideRequest reserved = save(pickup, RequestStatus.PENDING);
+        RideRequest pending = save(pickup, RequestStatus.PENDING);
+        RideRequest approved = save(pickup, RequestStatus.APPROVED);
+        rideRequestService.assignVehicle(reserved.getReqNo(), vehicle.getVehicleId());
+        long queued = mailOutboxRepository.countByStatus(OutboxStatus.PENDING);
+
+        StatusTransitionResultDTO result = rideRequestService.updateStatuses(new StatusTransitionDTO(RequestStatus.REJECT,
+                List.of(reserved.getReqNo(), pending.getReqNo(), approved.getReqNo(), Integer.MAX_VALUE), null, null));
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(approved.getReqNo(), Integer.MAX_VALUE), result.getSkipped());
+        assertEquals(RequestStatus.REJECT, rideRequestRepository.findById(reserved.getReqNo()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.REJECT, rideRequestRepository.findById(pending.getReqNo()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.APPROVED, rideRequestRepository.findById(approved.getReqNo()).orElseThrow().getStatus());
+
+        assertTrue(reservationRepository.findByReqNo(reserved.getReqNo()).isEmpty());
+        assertTrue(availabilityService.isAvailable(vehicle.getVehicleId(), pickup, pickup.plusDays(1)));
+        assertEquals(queued + 2, mailOutboxRepository.countByStatus(OutboxStatus.PENDING));
+        assertEquals(2, mailOutboxRepository.findAll().stream()
+                .filter(mail -> mail.getStatus() == OutboxStatus.PENDING)
+                .filter(mail -> mail.getRecipient().equals(customer.getEmail()) && mail.getText().equals("Your request has been declined"))
+                .count());
+    }
+
+    @Test
+    void aRejectedRequestIsNotBookedAgainWhenTheCalendarsAreReloaded() {
+        LocalDate pickup = LocalDate.of(2048, 7, 1);
+        RideRequest request = save(pickup, RequestStatus.PENDING);
+        rideRequestService.assignVehicle(request.getReqNo(), vehicle.getVehicleId());
+
+        rideRequestService.updateStatus(request.getReqNo(), RequestStatus.REJECT);
+        availabilityService.loadCalendars();
+
+        //The rejected request keeps its vehicle, but not the dates it gave up
+        assertEquals(vehicle.getVehicleId(), rideRequestRepository.findById(request.getReqNo()).orElseThrow().getVehicle().getVehicleId());
+        assertTrue(reservationRepository.findByReqNo(request.getReqNo()).isEmpty());
+        assertTrue(availabilityService.isAvailable(vehicle.getVehicleId(), pickup, pickup.plusDays(1)));
+    }
+
+    @Test
+    void approvesPendingRequestsInAPickupDateRange() {
+        LocalDate pickup = LocalDate.of(2046, 5, 10);
+        RideRequest first = save(pickup, RequestStatus.PENDING);
+        RideRequest second = save(pickup.plusDays(2), RequestStatus.PENDING);
+        RideRequest later = save(pickup.plusDays(30), RequestStatus.PENDING);
+
+        StatusTransitionResultDTO result = rideRequestService.updateStatuses(
+                new StatusTransitionDTO(RequestStatus.APPROVED, null, pickup, pickup.plusDays(7)));
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(RequestStatus.APPROVED, rideRequestRepository.findById(first.getReqNo()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.APPROVED, rideRequestRepository.findById(second.getReqNo()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.PENDING, rideRequestRepository.findById(later.getReqNo()).orElseThrow().getStatus());
+        assertEquals(1, rideRequestRepository.findById(first.getReqNo()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void approvingARequestWithoutAVehicleSaysItIsApproved() {
+        LocalDate pickup = LocalDate.of(2049, 2, 1);
+        RideRequest assigned = save(pickup, RequestStatus.PENDING);
+        RideRequest unassigned = save(pickup, RequestStatus.PENDING);
+        rideRequestService.assignVehicle(assigned.getReqNo(), vehicle.getVehicleId());
+
+        rideRequestService.updateStatuses(new StatusTransitionDTO(RequestStatus.APPROVED,
+                List.of(assigned.getReqNo(), unassigned.getReqNo()), null, null));
+
+        assertEquals(RequestStatus.APPROVED, rideRequestRepository.findById(unassigned.getReqNo()).orElseThrow().getStatus());
+        List<String> texts = mailOutboxRepository.findAll().stream()
+                .filter(mail -> mail.getRecipient().equals(customer.getEmail()))
+                .map(MailOutbox::getText)
+                .toList();
+        assertEquals(2, texts.size());
+        assertTrue(texts.contains("Your request has been approved, we will let you know the vehicle once it is assigned"));
+        assertTrue(texts.contains("Your request has been approved with the following vehicle:\nCar: Bulk car\nPlate Number: " + vehicle.getPlateNumber()));
+    }
+
+    @Test
+    void invalidTransitionsAreRejected() {
+        LocalDate pickup = LocalDate.of(2047, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> rideRequestService.updateStatuses(
+                new StatusTransitionDTO(RequestStatus.PENDING, null, pickup, pickup)));
+        assertThrows(IllegalArgumentException.class, () -> rideRequestService.updateStatuses(
+                new StatusTransitionDTO(RequestStatus.APPROVED, null, pickup, null)));
+        assertThrows(IllegalArgumentException.class, () -> rideRequestService.updateStatuses(
+                new StatusTransitionDTO(RequestStatus.APPROVED, List.of(1), pickup, pickup)));
+    }
+
+    private RideRequest save(LocalDate pickup, RequestStatus status) {
+        LocationDetails location = new LocationDetails("Pickup", "Kandy", 80.63, 7.29);
+        return rideRequestRepository.save(new RideRequest(0, "CAR", pickup, pickup.plusDays(1), location, location, status, null, customer, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.DispatchResultDTO;
+import com.car_rental.car_rental_system.entity.Reservation;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.ReservationRepository;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//A database of its own: the dispatcher draws on every vehicle of a model, and other tests add vehicles too
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dispatch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///dispatch?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1"
+})
+class DispatchServiceTest {
+
+    @Autowired
+    private DispatchService dispatchService;
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private User customer;
+
+    @BeforeEach
+    void createCustomer() {
+        customer = userRepository.save(new User(0, "Customer", "dispatch-" + UUID.randomUUID() + "@example.com", "dispatch-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+    }
+
+    @Test
+    void assignsEachRequestToTheBestFittingFreeVehicle() {
+        Vehicle first = vehicle(VehicleModels.CAR);
+        Vehicle second = vehicle(VehicleModels.CAR);
+        Vehicle spare = vehicle(VehicleModels.CAR);
+        LocalDate day = LocalDate.of(2061, 5, 1);
+        RideRequest early = request("CAR", day, day.plusDays(2));
+        RideRequest overlapping = request("CAR", day.plusDays(1), day.plusDays(4));
+        RideRequest late = request("CAR", day.plusDays(3), day.plusDays(5));
+
+        DispatchResultDTO result = dispatchService.dispatchPending(day, day.plusDays(3));
+
+        assertEquals(3, result.getPending());
+        assertEquals(3, result.getMatched());
+        //The late request follows the early one on the first vehicle, the gap closest to its pickup
+        assertEquals(first.getVehicleId(), vehicleOf(early));
+        assertEquals(second.getVehicleId(), vehicleOf(overlapping));
+        assertEquals(first.getVehicleId(), vehicleOf(late));
+        //Only the assigned vehicles are version-checked, so the spare stays free for concurrent assignments
+        assertEquals(spare.getVersion(), vehicleRepository.findById(spare.getVehicleId()).orElseThrow().getVersion());
+        assertTrue(vehicleRepository.findById(first.getVehicleId()).orElseThrow().getVersion() > first.getVersion());
+    }
+
+    @Test
+    void leavesAConflictingRequestPendingWhenNoVehicleIsFree() {
+        Vehicle van = vehicle(VehicleModels.VAN);
+        LocalDate day = LocalDate.of(2062, 5, 1);
+        RideRequest shorter = request("VAN", day, day.plusDays(2));
+        RideRequest longer = request("VAN", day.plusDays(1), day.plusDays(6));
+
+        DispatchResultDTO result = dispatchService.dispatchPending(day, day.plusDays(1));
+
+        assertEquals(2, result.getPending());
+        assertEquals(1, result.getMatched());
+        assertEquals(van.getVehicleId(), vehicleOf(shorter));
+        assertNull(vehicleOf(longer));
+        assertEquals(RequestStatus.PENDING, rideRequestRepository.findById(longer.getReqNo()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void triesTheNextVehicleWhenTheBestOneWasReservedMeanwhile() {
+        Vehicle taken = vehicle(VehicleModels.CAR);
+        LocalDate day = LocalDate.of(2064, 5, 1);
+        //The reservation ending the day before pickup makes this vehicle the best fit
+        RideRequest before = request("CAR", day.minusDays(2), day.minusDays(1));
+        rideRequestService.assignVehicle(before.getReqNo(), taken.getVehicleId());
+        //A reservation committed elsewhere, which the calendars of this instance have not seen
+        RideRequest elsewhere = rideRequestRepository.save(new RideRequest(0, "CAR", day, day.plusDays(1), null, null, RequestStatus.APPROVED, taken, customer, 0));
+        reservationRepository.save(new Reservation(0, taken.getVehicleId(), elsewhere.getReqNo(), day, day.plusDays(1)));
+        vehicle(VehicleModels.CAR);
+        RideRequest request = request("CAR", day, day.plusDays(1));
+
+        DispatchResultDTO result = dispatchService.dispatchPending(day, day);
+
+        assertEquals(1, result.getPending());
+        assertEquals(1, result.getMatched());
+        assertNotNull(vehicleOf(request));
+        assertNotEquals(taken.getVehicleId(), vehicleOf(request));
+    }
+
+    @Test
+    void matchesNothingWithoutVehiclesOfTheModel() {
+        LocalDate day = LocalDate.of(2063, 5, 1);
+        RideRequest request = request("THREE_WHEEL", day, day.plusDays(1));
+        RideRequest unknownModel = request("BUS", day, day.plusDays(1));
+
+        DispatchResultDTO result = dispatchService.dispatchPending(day, day);
+
+        assertEquals(2, result.getPending());
+        assertEquals(0, result.getMatched());
+        assertNull(vehicleOf(request));
+        assertNull(vehicleOf(unknownModel));
+        assertEquals(RequestStatus.PENDING, rideRequestRepository.findById(request.getReqNo()).orElseThrow().getStatus());
+    }
+
+    private Vehicle vehicle(VehicleModels model) {
+        return vehicleRepository.save(new Vehicle(0, "Dispatch " + model, model, "DSP-" + UUID.randomUUID(), null, 0));
+    }
+
+    private RideRequest request(String model, LocalDate pickup, LocalDate returnDate) {
+        LocationDetails location = new LocationDetails("Pickup", "Galle", 80.22, 6.05);
+        return rideRequestRepository.save(new RideRequest(0, model, pickup, returnDate, location, location, RequestStatus.PENDING, null, customer, 0));
+    }
+
+    private Integer vehicleOf(RideRequest request) {
+        Vehicle vehicle = rideRequestRepository.findById(request.getReqNo()).orElseThrow().getVehicle();
+        return vehicle == null ? null : vehicle.getVehicleId();
+    }
+}
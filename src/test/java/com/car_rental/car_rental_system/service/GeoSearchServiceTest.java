@@ -0,0 +1,93 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.service.impl.GeoSearchServiceImpl;
+import com.car_rental.car_rental_system.util.GeoIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GeoSearchServiceTest {
+
+    //A remote spot, so requests saved by other tests are not in range
+    private static final double LATITUDE = -54.28;
+    private static final double LONGITUDE = -36.51;
+    private static final LocalDate PICKUP = LocalDate.of(2032, 2, 1);
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private GeoSearchService databaseSearch;
+    private RideRequest near;
+    private RideRequest far;
+
+    @BeforeEach
+    void createRequests() {
+        databaseSearch = new GeoSearchServiceImpl(rideRequestRepository, new GeoIndex(), false);
+        User customer = userRepository.save(new User(0, "Customer", "customer@example.com", "geo-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        near = rideRequestRepository.save(request(customer, LATITUDE + 0.01, LONGITUDE));
+        far = rideRequestRepository.save(request(customer, LATITUDE + 0.2, LONGITUDE + 0.2));
+    }
+
+    @AfterEach
+    void deleteRequests() {
+        rideRequestRepository.deleteAllById(List.of(near.getReqNo(), far.getReqNo()));
+    }
+
+    @Test
+    void indexAndDatabaseAnswerTheSameSearches() {
+        assertEquals(List.of(near.getReqNo()), reqNos(geoSearchService.findWithinRadius(LATITUDE, LONGITUDE, 5)));
+        assertEquals(reqNos(databaseSearch.findWithinRadius(LATITUDE, LONGITUDE, 5)), reqNos(geoSearchService.findWithinRadius(LATITUDE, LONGITUDE, 5)));
+
+        assertEquals(reqNos(databaseSearch.findWithinBox(LATITUDE - 1, LONGITUDE - 1, LATITUDE + 1, LONGITUDE + 1)),
+                reqNos(geoSearchService.findWithinBox(LATITUDE - 1, LONGITUDE - 1, LATITUDE + 1, LONGITUDE + 1)));
+
+        assertEquals(List.of(near.getReqNo(), far.getReqNo()), reqNos(geoSearchService.findNearestPending(LATITUDE, LONGITUDE, 2)));
+        assertEquals(List.of(near.getReqNo(), far.getReqNo()), reqNos(databaseSearch.findNearestPending(LATITUDE, LONGITUDE, 2)));
+    }
+
+    @Test
+    void statusChangesReachTheIndex() {
+        rideRequestService.updateStatus(near.getReqNo(), RequestStatus.REJECT);
+
+        assertEquals(far.getReqNo(), geoSearchService.findNearestPending(LATITUDE, LONGITUDE, 1).get(0).getReqNo());
+        assertEquals(far.getReqNo(), databaseSearch.findNearestPending(LATITUDE, LONGITUDE, 1).get(0).getReqNo());
+    }
+
+    @Test
+    void invalidSearchesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> geoSearchService.findWithinRadius(91, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> geoSearchService.findWithinRadius(0, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> geoSearchService.findNearestPending(0, 0, 0));
+    }
+
+    private static RideRequest request(User customer, double latitude, double longitude) {
+        LocationDetails pickup = new LocationDetails("Pickup", "Grytviken", longitude, latitude);
+        return new RideRequest(0, "CAR", PICKUP, PICKUP.plusDays(1), pickup, pickup, RequestStatus.PENDING, null, customer, 0);
+    }
+
+    private static List<Integer> reqNos(List<RideRequestDTO> requests) {
+        return requests.stream().map(RideRequestDTO::getReqNo).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.util.PageCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class KeysetPagingTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void pagesCoverEveryRowOnceAcrossTheBoundaries() {
+        List<Integer> created = createVehicles(5);
+        //Start just before the vehicles of this test, other tests share the database
+        String cursor = PageCursor.encode(created.get(0) - 1);
+
+        List<Integer> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        while (cursor != null) {
+            List<VehicleDTO> page = vehicleService.findAll(PageCursor.decode(cursor), 2);
+            page.forEach(vehicle -> seen.add(vehicle.getVehicleId()));
+            pageSizes.add(page.size());
+            cursor = PageCursor.next(page, 2, VehicleDTO::getVehicleId);
+        }
+
+        assertEquals(created, seen);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    @Test
+    void aLastPageThatIsFullIsFollowedByAnEmptyOne() {
+        List<Integer> created = createVehicles(4);
+
+        List<VehicleDTO> second = vehicleService.findAll(created.get(1), 2);
+        String cursor = PageCursor.next(second, 2, VehicleDTO::getVehicleId);
+
+        assertEquals(created.subList(2, 4), second.stream().map(VehicleDTO::getVehicleId).toList());
+        assertNotNull(cursor);
+        assertTrue(vehicleService.findAll(PageCursor.decode(cursor), 2).isEmpty());
+    }
+
+    private List<Integer> createVehicles(int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(vehicleRepository.save(new Vehicle(0, "Paged " + i, VehicleModels.CAR, "PG-" + UUID.randomUUID(), null, 0)).getVehicleId());
+        }
+        return ids;
+    }
+}
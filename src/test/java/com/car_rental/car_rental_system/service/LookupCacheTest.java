@@ -0,0 +1,107 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.config.CacheConfig;
+import com.car_rental.car_rental_system.dto.CachedUser;
+import com.car_rental.car_rental_system.dto.UserDTO;
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LookupCacheTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void vehicleLookupsAreCachedUntilTheVehicleChanges() {
+        String plateNumber = "LC-" + UUID.randomUUID().toString().substring(0, 8);
+        vehicleService.save(new VehicleDTO(0, "Cached", VehicleModels.CAR, plateNumber, null));
+        VehicleDTO saved = vehicleService.findByPlateNumber(plateNumber);
+        VehicleDTO byId = vehicleService.findById(saved.getVehicleId());
+
+        //Rows removed behind the service's back are still served from the caches, each time as a new copy
+        vehicleRepository.deleteById(saved.getVehicleId());
+        VehicleDTO cached = vehicleService.findByPlateNumber(plateNumber);
+        assertEquals(saved, cached);
+        assertNotSame(saved, cached);
+        assertEquals(byId, vehicleService.findById(saved.getVehicleId()));
+        assertNotSame(byId, vehicleService.findById(saved.getVehicleId()));
+
+        //Editing a returned copy leaves the cached vehicle as it was
+        byId.setName("Edited");
+        assertEquals("Cached", vehicleService.findById(saved.getVehicleId()).getName());
+
+        cacheManager.getCache(CacheConfig.VEHICLES).clear();
+        cacheManager.getCache(CacheConfig.VEHICLES_BY_PLATE).clear();
+        assertNull(vehicleService.findById(saved.getVehicleId()));
+    }
+
+    @Test
+    void updatingAVehicleEvictsItsOldAndNewPlateNumber() {
+        String plateNumber = "LC-" + UUID.randomUUID().toString().substring(0, 8);
+        vehicleService.save(new VehicleDTO(0, "Before", VehicleModels.CAR, plateNumber, null));
+        VehicleDTO saved = vehicleService.findByPlateNumber(plateNumber);
+        assertEquals("Before", vehicleService.findById(saved.getVehicleId()).getName());
+
+        String newPlateNumber = plateNumber + "-N";
+        vehicleService.update(new VehicleDTO(saved.getVehicleId(), "After", VehicleModels.CAR, newPlateNumber, null));
+
+        assertEquals("After", vehicleService.findById(saved.getVehicleId()).getName());
+        assertNull(vehicleService.findByPlateNumber(plateNumber));
+        assertEquals(saved.getVehicleId(), vehicleService.findByPlateNumber(newPlateNumber).getVehicleId());
+
+        vehicleRepository.deleteById(saved.getVehicleId());
+    }
+
+    @Test
+    void updatingAUserEvictsItsOldUsername() {
+        String username = "lc-" + UUID.randomUUID();
+        userService.save(new UserDTO(0, "Customer", "customer@example.com", username, "secret", "ROLE_USER"));
+        UserDTO saved = userService.findByUsername(username);
+        assertEquals(saved.getUid(), userService.findById(saved.getUid()).getUid());
+
+        String newUsername = username + "-renamed";
+        userService.update(new UserDTO(saved.getUid(), "Renamed", "customer@example.com", newUsername, "secret", "ROLE_USER"));
+
+        assertNull(userService.findByUsername(username));
+        assertEquals("Renamed", userService.findById(saved.getUid()).getName());
+        assertEquals(saved.getUid(), userService.findByUsername(newUsername).getUid());
+
+        userRepository.deleteById(saved.getUid());
+    }
+
+    @Test
+    void cachedUsersLeaveOutThePassword() {
+        String username = "lc-" + UUID.randomUUID();
+        userService.save(new UserDTO(0, "Customer", "customer@example.com", username, "secret", "ROLE_USER"));
+        UserDTO saved = userService.findByUsername(username);
+
+        assertNull(saved.getPassword());
+        assertNull(userService.findById(saved.getUid()).getPassword());
+        assertEquals(CachedUser.of(userRepository.findById(saved.getUid()).orElseThrow()),
+                cacheManager.getCache(CacheConfig.USERS).get(saved.getUid()).get());
+
+        saved.setName("Edited");
+        assertEquals("Customer", userService.findByUsername(username).getName());
+
+        userRepository.deleteById(saved.getUid());
+    }
+}
@@ -0,0 +1,141 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.entity.MailOutbox;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.OutboxStatus;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.MailOutboxRepository;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.util.SendMail;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final LocalDate PICKUP = LocalDate.of(2031, 5, 1);
+    private static final LocationDetails LOCATION = new LocationDetails("1 Main St", "Colombo", 79.86, 6.93);
+
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private SendMail sendMail;
+
+    private RideRequest request;
+
+    @BeforeEach
+    void createRequest() {
+        outboxRepository.deleteAll();
+        User customer = userRepository.save(new User(0, "Customer", "customer@example.com", "mailed-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(0, "Car", VehicleModels.CAR, "MO-" + UUID.randomUUID(), null, 0));
+        request = rideRequestRepository.save(new RideRequest(0, "CAR", PICKUP, PICKUP.plusDays(1), LOCATION, LOCATION,
+                RequestStatus.PENDING, vehicle, customer, 0));
+    }
+
+    @Test
+    void statusChangeIsQueuedAndSentByTheDispatcher() throws Exception {
+        rideRequestService.updateStatus(request.getReqNo(), RequestStatus.APPROVED);
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(1, outboxRepository.countByStatus(OutboxStatus.PENDING));
+
+        assertEquals(1, mailOutboxService.dispatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("customer@example.com", received[0].getAllRecipients()[0].toString());
+        assertEquals(1, outboxRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void failedEmailIsRetriedWithBackoffThenDeadLettered() {
+        rideRequestService.updateStatus(request.getReqNo(), RequestStatus.REJECT);
+        greenMail.stop();
+
+        assertEquals(0, mailOutboxService.dispatch());
+        MailOutbox mail = outboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertTrue(mail.getNextAttemptAt().isAfter(Instant.now()));
+
+        //Not due yet, so a second run leaves it alone
+        assertEquals(0, mailOutboxService.dispatch());
+        assertEquals(1, outboxRepository.findAll().get(0).getAttempts());
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            List<MailOutbox> pending = outboxRepository.findAll();
+            pending.forEach(queued -> queued.setNextAttemptAt(Instant.now()));
+            outboxRepository.saveAll(pending);
+            mailOutboxService.dispatch();
+        }
+
+        mail = outboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.DEAD, mail.getStatus());
+        assertEquals(6, mail.getAttempts());
+        assertNotNull(mail.getLastError());
+    }
+
+    @Test
+    void identicalEmailsAreEachSent() {
+        sendMail.sendEmail("same@example.com", "Same text");
+        sendMail.sendEmail("same@example.com", "Same text");
+
+        assertEquals(2, mailOutboxService.dispatch());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2, outboxRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void emailsClaimedByAnotherInstanceAreLeftUntilTheClaimLapses() {
+        sendMail.sendEmail("claimed@example.com", "Claimed");
+        MailOutbox mail = outboxRepository.findAll().get(0);
+        mail.setClaimedBy(UUID.randomUUID().toString());
+        mail.setClaimedAt(Instant.now());
+        outboxRepository.save(mail);
+
+        assertEquals(0, mailOutboxService.dispatch());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        //The other instance stopped before recording the batch
+        mail = outboxRepository.findAll().get(0);
+        mail.setClaimedAt(Instant.now().minusSeconds(3600));
+        outboxRepository.save(mail);
+
+        assertEquals(1, mailOutboxService.dispatch());
+        mail = outboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.SENT, mail.getStatus());
+        assertNull(mail.getClaimedBy());
+    }
+}
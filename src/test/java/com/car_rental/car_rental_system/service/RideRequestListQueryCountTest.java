@@ -0,0 +1,89 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.embedded.LocationDetails;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RideRequestListQueryCountTest {
+
+    private static final LocalDate PICKUP = LocalDate.of(2030, 1, 10);
+    private static final LocationDetails PICKUP_LOCATION = new LocationDetails("1 Main St", "Colombo", 79.86, 6.93);
+    private static final LocationDetails DESTINATION = new LocationDetails("2 Lake Rd", "Kandy", 80.63, 7.29);
+
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User customer;
+
+    @BeforeEach
+    void createRequests() {
+        customer = userRepository.save(new User(0, "Customer", "customer@example.com", "counted-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            vehicles.add(vehicleRepository.save(new Vehicle(0, "Car " + i, VehicleModels.CAR, "QC-" + UUID.randomUUID(), null, 0)));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            Vehicle vehicle = i % 2 == 0 ? vehicles.get(i % vehicles.size()) : null;
+            rideRequestRepository.save(new RideRequest(0, "CAR", PICKUP, PICKUP.plusDays(2), PICKUP_LOCATION, DESTINATION,
+                    RequestStatus.PENDING, vehicle, customer, 0));
+        }
+    }
+
+    @Test
+    void everyListCallRunsASingleQuery() {
+        assertSingleQuery(() -> rideRequestService.findAll());
+        assertSingleQuery(() -> rideRequestService.findAll(0, 10));
+        assertSingleQuery(() -> rideRequestService.findByState(RequestStatus.PENDING));
+        assertSingleQuery(() -> rideRequestService.findByState(RequestStatus.PENDING, 0, 10));
+        assertSingleQuery(() -> rideRequestService.findAllRequestsByUserId(customer.getUid()));
+        assertSingleQuery(() -> rideRequestService.filterFromDate(PICKUP));
+        assertSingleQuery(() -> rideRequestService.filterBetweenDate(PICKUP, PICKUP.plusDays(1)));
+        assertSingleQuery(() -> rideRequestService.filterBetweenDate(PICKUP, PICKUP.plusDays(1), 0, 10));
+        assertSingleQuery(() -> rideRequestService.findByPickupLocationAndDestination(PICKUP_LOCATION, DESTINATION));
+    }
+
+    private void assertSingleQuery(Supplier<List<RideRequestDTO>> listCall) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<RideRequestDTO> requests = listCall.get();
+
+        assertFalse(requests.isEmpty());
+        assertTrue(requests.stream().anyMatch(request -> request.getVehicle() != 0));
+        assertTrue(requests.stream().allMatch(request -> request.getUser() != 0));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single SQL statement per list call");
+    }
+}
@@ -0,0 +1,145 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.RideRequestDTO;
+import com.car_rental.car_rental_system.entity.Reservation;
+import com.car_rental.car_rental_system.entity.RideRequest;
+import com.car_rental.car_rental_system.entity.User;
+import com.car_rental.car_rental_system.entity.Vehicle;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.ReservationRepository;
+import com.car_rental.car_rental_system.repo.RideRequestRepository;
+import com.car_rental.car_rental_system.repo.UserRepository;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class VehicleAssignmentConcurrencyTest {
+
+    private static final int VEHICLES = 8;
+    private static final int REQUESTS = 300;
+    private static final int CALLS = 3000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private RideRequestService rideRequestService;
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Test
+    void parallelAssignmentsNeverDoubleBookAVehicle() throws Exception {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        User customer = userRepository.save(new User(0, "Customer", "customer@example.com", "customer-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+
+        List<Integer> vehicleIds = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            Vehicle vehicle = vehicleRepository.save(new Vehicle(0, "Car " + i, VehicleModels.CAR, "CON-" + UUID.randomUUID(), null, 0));
+            vehicleIds.add(vehicle.getVehicleId());
+        }
+
+        List<Integer> requestIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate pickup = today.plusDays(random.nextInt(60));
+            RideRequest request = new RideRequest(0, "CAR", pickup, pickup.plusDays(random.nextInt(5)),
+                    null, null, RequestStatus.PENDING, null, customer, 0);
+            requestIds.add(rideRequestRepository.save(request).getReqNo());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            int requestId = requestIds.get(random.nextInt(REQUESTS));
+            int vehicleId = vehicleIds.get(random.nextInt(VEHICLES));
+            calls.add(() -> {
+                int status = mockMvc.perform(put("/request/{id}", requestId)
+                                .param("vehicleId", String.valueOf(vehicleId))
+                                .with(user("admin").roles("ADMIN")))
+                        .andReturn().getResponse().getStatus();
+                if (status == 200) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        for (Future<Void> future : executor.invokeAll(calls)) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<Reservation> reservations = reservationRepository.findAll();
+        Map<Integer, List<Reservation>> byVehicle = reservations.stream()
+                .collect(Collectors.groupingBy(Reservation::getVehicleId));
+
+        for (List<Reservation> vehicleReservations : byVehicle.values()) {
+            vehicleReservations.sort(Comparator.comparing(Reservation::getStartDate));
+            for (int i = 1; i < vehicleReservations.size(); i++) {
+                assertTrue(vehicleReservations.get(i - 1).getEndDate().isBefore(vehicleReservations.get(i).getStartDate()),
+                        "Overlapping reservations " + vehicleReservations.get(i - 1) + " and " + vehicleReservations.get(i));
+            }
+        }
+
+        for (Reservation reservation : reservations) {
+            RideRequest request = rideRequestRepository.findById(reservation.getReqNo()).orElseThrow();
+            assertEquals(reservation.getVehicleId(), request.getVehicle().getVehicleId());
+        }
+        assertTrue(succeeded.get() > 0);
+    }
+
+    @Test
+    void changingTheDatesOfAnAssignedRequestMovesItsReservation() {
+        LocalDate day = LocalDate.of(2070, 4, 1);
+        User customer = userRepository.save(new User(0, "Customer", "customer@example.com", "customer-" + UUID.randomUUID(), "secret", "ROLE_USER"));
+        Vehicle vehicle = vehicleRepository.save(new Vehicle(0, "Moved car", VehicleModels.CAR, "MOV-" + UUID.randomUUID(), null, 0));
+        RideRequest moved = rideRequestRepository.save(new RideRequest(0, "CAR", day, day.plusDays(1), null, null, RequestStatus.PENDING, null, customer, 0));
+        RideRequest other = rideRequestRepository.save(new RideRequest(0, "CAR", day.plusDays(5), day.plusDays(6), null, null, RequestStatus.PENDING, null, customer, 0));
+        rideRequestService.assignVehicle(moved.getReqNo(), vehicle.getVehicleId());
+        rideRequestService.assignVehicle(other.getReqNo(), vehicle.getVehicleId());
+
+        //The vehicle is taken at the new dates, so nothing changes
+        assertThrows(RuntimeException.class, () -> rideRequestService.update(dates(moved, day.plusDays(6), day.plusDays(7))));
+        assertEquals(day, rideRequestRepository.findById(moved.getReqNo()).orElseThrow().getPickupDate());
+        assertEquals(day, reservationRepository.findByReqNo(moved.getReqNo()).orElseThrow().getStartDate());
+        assertFalse(availabilityService.isAvailable(vehicle.getVehicleId(), day, day));
+
+        rideRequestService.update(dates(moved, day.plusDays(10), day.plusDays(11)));
+
+        Reservation reservation = reservationRepository.findByReqNo(moved.getReqNo()).orElseThrow();
+        assertEquals(day.plusDays(10), reservation.getStartDate());
+        assertEquals(day.plusDays(11), reservation.getEndDate());
+        assertTrue(availabilityService.isAvailable(vehicle.getVehicleId(), day, day.plusDays(1)));
+        assertFalse(availabilityService.isAvailable(vehicle.getVehicleId(), day.plusDays(11), day.plusDays(11)));
+        assertEquals(vehicle.getVehicleId(), rideRequestRepository.findById(moved.getReqNo()).orElseThrow().getVehicle().getVehicleId());
+    }
+
+    private static RideRequestDTO dates(RideRequest request, LocalDate pickupDate, LocalDate returnDate) {
+        return new RideRequestDTO(request.getReqNo(), request.getModel(), pickupDate, returnDate, null, null, null, 0, 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.car_rental.car_rental_system.service;
+
+import com.car_rental.car_rental_system.dto.ImportErrorDTO;
+import com.car_rental.car_rental_system.dto.VehicleDTO;
+import com.car_rental.car_rental_system.dto.VehicleImportResultDTO;
+import com.car_rental.car_rental_system.entity.enums.VehicleModels;
+import com.car_rental.car_rental_system.repo.VehicleRepository;
+import com.car_rental.car_rental_system.util.VehicleCsv;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class VehicleImportTest {
+
+    private final String prefix = "IM-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @AfterEach
+    void deleteVehicles() {
+        vehicleRepository.deleteAll(vehicleRepository.findAllByPlateNumberContainingIgnoreCase(prefix));
+    }
+
+    @Test
+    void importsValidCsvLinesAndReportsTheOthers() {
+        vehicleService.save(new VehicleDTO(0, "Existing", VehicleModels.CAR, prefix + "1", null));
+
+        String csv = VehicleCsv.HEADER + "\n" +
+                ",Existing plate,CAR," + prefix + "1,\n" +
+                ",\"Van, long\",van," + prefix + "2,2030-01-05\n" +
+                ",Duplicate in file,CAR," + prefix + "2,\n" +
+                ",Bad model,BUS," + prefix + "3,\n" +
+                ",Bad date,CAR," + prefix + "4,tomorrow\n" +
+                "\n" +
+                ",No plate,CAR,,\n" +
+                ",Tuk,THREE_WHEEL," + prefix + "5,\n";
+
+        VehicleImportResultDTO result = vehicleImportService.importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(5, result.getRejected());
+        assertEquals(List.of(2, 4, 5, 6, 8), result.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+
+        VehicleDTO van = vehicleService.findByPlateNumber(prefix + "2");
+        assertEquals("Van, long", van.getName());
+        assertEquals(VehicleModels.VAN, van.getModel());
+        assertEquals(LocalDate.of(2030, 1, 5), van.getReqDates());
+        assertNotNull(vehicleService.findByPlateNumber(prefix + "5"));
+
+        //The JDBC inserts bypass the entity listener, so the import adds the vehicles to the plate number index itself
+        assertEquals(List.of(prefix + "1", prefix + "2", prefix + "5"),
+                vehicleService.findAllByPlateNumber(prefix.toLowerCase()).stream().map(VehicleDTO::getPlateNumber).toList());
+    }
+
+    @Test
+    void exportedCsvImportsAgainUnderNewPlateNumbers() {
+        String json = "{\"name\":\"Car A\",\"model\":\"CAR\",\"plateNumber\":\"" + prefix + "A\"}\n" +
+                "{\"name\":\"Car B\",\"model\":\"VAN\",\"plateNumber\":\"" + prefix + "B\",\"reqDates\":\"2030-02-01\"}\n" +
+                "{not json}\n";
+        VehicleImportResultDTO imported = vehicleImportService.importJsonLines(new BufferedReader(new StringReader(json)));
+        assertEquals(2, imported.getImported());
+        assertEquals(3, imported.getErrors().get(0).getLine());
+
+        List<String> lines = new ArrayList<>();
+        lines.add(VehicleCsv.HEADER);
+        vehicleService.streamAll(dto -> {
+            if (dto.getPlateNumber().startsWith(prefix)) {
+                dto.setPlateNumber(dto.getPlateNumber() + "-copy");
+                lines.add(VehicleCsv.format(dto));
+            }
+        });
+
+        VehicleImportResultDTO copied = vehicleImportService.importCsv(new BufferedReader(new StringReader(String.join("\n", lines))));
+        assertEquals(2, copied.getImported());
+        assertEquals(LocalDate.of(2030, 2, 1), vehicleService.findByPlateNumber(prefix + "B-copy").getReqDates());
+    }
+
+    @Test
+    void aRowTheDatabaseRefusesIsRejectedWithoutItsBatch() {
+        String csv = VehicleCsv.HEADER + "\n" +
+                ",First,CAR," + prefix + "1,\n" +
+                "," + "Too long".repeat(40) + ",CAR," + prefix + "2,\n" +
+                ",Third,VAN," + prefix + "3,\n";
+
+        VehicleImportResultDTO result = vehicleImportService.importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(prefix + "2", result.getErrors().get(0).getPlateNumber());
+        assertNotNull(vehicleService.findByPlateNumber(prefix + "1"));
+        assertNull(vehicleService.findByPlateNumber(prefix + "2"));
+        assertNotNull(vehicleService.findByPlateNumber(prefix + "3"));
+    }
+
+    @Test
+    void namesWithLineBreaksSurviveAnExportAndImport() {
+        String name = "Line one\nLine \"two\", and more";
+        String csv = "\uFEFF" + VehicleCsv.HEADER + "\r\n" +
+                VehicleCsv.format(new VehicleDTO(0, name, VehicleModels.CAR, prefix + "1", null)) + "\r\n" +
+                ",After,VAN," + prefix + "2,\r\n" +
+                ",\"Unterminated,CAR," + prefix + "3,\n";
+
+        VehicleImportResultDTO result = vehicleImportService.importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(name, vehicleService.findByPlateNumber(prefix + "1").getName());
+        //Errors are reported by the first line of their record
+        assertEquals(5, result.getErrors().get(0).getLine());
+        assertEquals("Unterminated quoted field", result.getErrors().get(0).getMessage());
+    }
+}
@@ -0,0 +1,57 @@
+package com.car_rental.car_rental_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCalendarTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void futureBookingDoesNotBlockEarlierDays() {
+        BookingCalendar calendar = new BookingCalendar();
+        assertTrue(calendar.book(DAY.plusDays(20), DAY.plusDays(25), 1));
+
+        assertTrue(calendar.isFree(DAY, DAY.plusDays(19)));
+        assertTrue(calendar.book(DAY, DAY.plusDays(5), 2));
+        assertTrue(calendar.isFree(DAY.plusDays(26), DAY.plusDays(30)));
+    }
+
+    @Test
+    void overlappingBookingsAreRejected() {
+        BookingCalendar calendar = new BookingCalendar();
+        assertTrue(calendar.book(DAY.plusDays(10), DAY.plusDays(15), 1));
+
+        assertFalse(calendar.book(DAY.plusDays(15), DAY.plusDays(18), 2));
+        assertFalse(calendar.book(DAY.plusDays(5), DAY.plusDays(10), 3));
+        assertFalse(calendar.book(DAY.plusDays(11), DAY.plusDays(12), 4));
+        assertFalse(calendar.book(DAY.plusDays(5), DAY.plusDays(20), 5));
+        assertEquals(1, calendar.size());
+    }
+
+    @Test
+    void releasedBookingFreesTheInterval() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.book(DAY, DAY.plusDays(3), 1);
+
+        assertFalse(calendar.release(DAY, 2));
+        assertTrue(calendar.release(DAY, 1));
+        assertTrue(calendar.isFree(DAY, DAY.plusDays(3)));
+        assertNull(calendar.lastBookedDate());
+    }
+
+    @Test
+    void bookedDaysAreClippedToTheInterval() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.book(DAY, DAY.plusDays(3), 1);
+        calendar.book(DAY.plusDays(6), DAY.plusDays(6), 2);
+        calendar.book(DAY.plusDays(8), DAY.plusDays(12), 3);
+
+        int[] perDay = new int[8];
+        assertEquals(5, calendar.bookedDays(DAY.plusDays(2), DAY.plusDays(9), perDay));
+        assertArrayEquals(new int[]{1, 1, 0, 0, 1, 0, 1, 1}, perDay);
+    }
+}
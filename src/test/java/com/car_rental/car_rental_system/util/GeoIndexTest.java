@@ -0,0 +1,75 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.PickupPointDTO;
+import com.car_rental.car_rental_system.entity.enums.RequestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTest {
+
+    private final GeoIndex index = new GeoIndex();
+    private final List<PickupPointDTO> points = new ArrayList<>();
+
+    @BeforeEach
+    void indexRandomPoints() {
+        Random random = new Random(42);
+        for (int reqNo = 1; reqNo <= 5000; reqNo++) {
+            PickupPointDTO point = new PickupPointDTO(reqNo, 5.9 + random.nextDouble() * 4, 79.5 + random.nextDouble() * 2.5,
+                    reqNo % 3 == 0 ? RequestStatus.APPROVED : RequestStatus.PENDING);
+            points.add(point);
+            index.put(point);
+        }
+    }
+
+    @Test
+    void radiusSearchMatchesAFullScan() {
+        List<PickupPointDTO> expected = points.stream()
+                .filter(point -> GeoIndex.distanceKm(6.93, 79.86, point.getLatitude(), point.getLongitude()) <= 25)
+                .sorted(Comparator.comparingDouble(point -> GeoIndex.distanceKm(6.93, 79.86, point.getLatitude(), point.getLongitude())))
+                .toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, index.withinRadius(6.93, 79.86, 25));
+    }
+
+    @Test
+    void boxSearchMatchesAFullScan() {
+        long expected = points.stream()
+                .filter(point -> point.getLatitude() >= 7 && point.getLatitude() <= 7.5
+                        && point.getLongitude() >= 80 && point.getLongitude() <= 80.4)
+                .count();
+
+        assertEquals(expected, index.withinBox(7, 80, 7.5, 80.4).size());
+        assertEquals(points.size(), index.withinBox(-90, -180, 90, 180).size());
+    }
+
+    @Test
+    void nearestSearchMatchesAFullScan() {
+        List<PickupPointDTO> expected = points.stream()
+                .filter(point -> point.getStatus() == RequestStatus.PENDING)
+                .sorted(Comparator.comparingDouble(point -> GeoIndex.distanceKm(7.29, 80.63, point.getLatitude(), point.getLongitude())))
+                .limit(20)
+                .toList();
+
+        assertEquals(expected, index.nearest(7.29, 80.63, 20, point -> point.getStatus() == RequestStatus.PENDING));
+        assertEquals(3334, index.nearest(0, 0, 10_000, point -> point.getStatus() == RequestStatus.PENDING).size());
+    }
+
+    @Test
+    void movedAndRemovedPointsAreNotFound() {
+        index.put(new PickupPointDTO(1, -33.86, 151.2, RequestStatus.PENDING));
+        index.remove(2);
+
+        assertTrue(index.withinRadius(points.get(0).getLatitude(), points.get(0).getLongitude(), 0.001).isEmpty());
+        assertTrue(index.withinRadius(points.get(1).getLatitude(), points.get(1).getLongitude(), 0.001).isEmpty());
+        assertEquals(1, index.nearest(-33.8, 151.3, 1, point -> true).get(0).getReqNo());
+        assertEquals(points.size() - 1, index.size());
+    }
+}
@@ -0,0 +1,51 @@
+package com.car_rental.car_rental_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void cursorsRoundTripTheLastId() {
+        for (int lastId : new int[]{0, 1, 42, Integer.MAX_VALUE}) {
+            String cursor = PageCursor.encode(lastId);
+
+            assertEquals(lastId, PageCursor.decode(cursor));
+            assertFalse(cursor.contains(String.valueOf(lastId)), "The cursor should not expose the ID as is");
+        }
+        assertEquals(0, PageCursor.decode(null));
+        assertEquals(0, PageCursor.decode(" "));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        for (String cursor : new String[]{"not base64!", encoded("42"), encoded("k2:42"), encoded("k1:"), encoded("k1:abc"),
+                encoded("k1:-1"), encoded("k1:99999999999")}) {
+            assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor), cursor);
+        }
+    }
+
+    @Test
+    void onlyAFullPageHasANextCursor() {
+        assertEquals(PageCursor.encode(3), PageCursor.next(List.of(1, 2, 3), 3, Integer::intValue));
+        assertNull(PageCursor.next(List.of(1, 2), 3, Integer::intValue));
+        assertNull(PageCursor.next(List.<Integer>of(), 3, Integer::intValue));
+    }
+
+    @Test
+    void pageSizesAreClamped() {
+        assertEquals(1, PageCursor.size(0));
+        assertEquals(1, PageCursor.size(-5));
+        assertEquals(50, PageCursor.size(50));
+        assertEquals(PageCursor.MAX_SIZE, PageCursor.size(Integer.MAX_VALUE));
+    }
+
+    private static String encoded(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
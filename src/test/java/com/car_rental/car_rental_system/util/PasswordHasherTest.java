@@ -0,0 +1,58 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.exceptions.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    @Test
+    void turnsWorkAwayWhenThePoolAndQueueAreFull() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(4, Duration.ofMillis(250), 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = hasher.submit(() -> {
+                started.countDown();
+                await(release);
+                return hasher.encoder().encode("secret");
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = hasher.submit(() -> hasher.encoder().matches("secret", running.join()));
+
+            assertThrows(ServiceBusyException.class, () -> hasher.submit(() -> "rejected"));
+            assertEquals(1, hasher.queued());
+            assertEquals(1, hasher.rejected());
+
+            release.countDown();
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    void calibratesToAtLeastTheMinimumCost() {
+        PasswordHasher hasher = new PasswordHasher(0, Duration.ofMillis(1), 1, 1);
+        try {
+            assertTrue(hasher.encoder().encode("secret").startsWith("$2a$" + PasswordHasher.MIN_STRENGTH + "$"));
+        } finally {
+            hasher.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
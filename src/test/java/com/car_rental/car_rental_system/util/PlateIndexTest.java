@@ -0,0 +1,119 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.PlateNumberDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlateIndexTest {
+
+    private static final String[] PREFIXES = {"CAB", "CAA", "KL", "WP", "NB", "BFG"};
+
+    private final PlateIndex index = new PlateIndex();
+    private final List<PlateNumberDTO> plates = new ArrayList<>();
+
+    @BeforeEach
+    void indexRandomPlates() {
+        Random random = new Random(42);
+        for (int vehicleId = 1; vehicleId <= 5000; vehicleId++) {
+            String plateNumber = PREFIXES[random.nextInt(PREFIXES.length)] + "-" + (1000 + random.nextInt(9000));
+            PlateNumberDTO plate = new PlateNumberDTO(vehicleId, random.nextBoolean() ? plateNumber : plateNumber.toLowerCase(Locale.ROOT));
+            plates.add(plate);
+            index.put(plate);
+        }
+    }
+
+    @Test
+    void substringSearchMatchesAFullScan() {
+        for (String value : List.of("cab-12", "-123", "23", "4", "BFG-9", "XYZ", "")) {
+            assertEquals(scan(plate -> plate.contains(value.toUpperCase(Locale.ROOT))), index.containing(value), value);
+        }
+    }
+
+    @Test
+    void prefixSearchMatchesAFullScan() {
+        for (String value : List.of("C", "ca", "CAB-1", "kl-2345", "-1")) {
+            assertEquals(scan(plate -> plate.startsWith(value.toUpperCase(Locale.ROOT))), index.startingWith(value), value);
+        }
+    }
+
+    @Test
+    void similaritySearchFindsMistypedPlateNumbers() {
+        PlateIndex small = new PlateIndex();
+        small.put(new PlateNumberDTO(1, "CAB-1234"));
+        small.put(new PlateNumberDTO(2, "CAB-9876"));
+        small.put(new PlateNumberDTO(3, "KL-1234"));
+        small.put(new PlateNumberDTO(4, "WP-5555"));
+
+        //"CAB-12S4" shares 6 of 12 distinct trigrams with "CAB-1234", 4 of 14 with "CAB-9876" and 1 of 16 with "KL-1234"
+        assertEquals(List.of(1), small.similar("CAB-12S4", 5, PlateIndex.DEFAULT_MIN_SIMILARITY));
+        assertEquals(List.of(1, 2), small.similar("CAB-12S4", 5, 0.25));
+        assertEquals(List.of(1, 2, 3), small.similar("cab-12s4", 5, 0.05));
+        assertEquals(List.of(1), small.similar("cab-1234", 5, 1.0));
+        assertTrue(small.similar("ZZZZZZ", 5, 0.05).isEmpty());
+        assertFalse(index.similar("CAB-12S4", 10, PlateIndex.DEFAULT_MIN_SIMILARITY).isEmpty());
+    }
+
+    @Test
+    void changedAndRemovedPlateNumbersAreNoLongerFound() {
+        index.put(new PlateNumberDTO(20_001, "OLD-0001"));
+        index.put(new PlateNumberDTO(20_001, "NEW-0001"));
+        index.put(new PlateNumberDTO(20_002, "OLD-0002"));
+        index.remove(20_002);
+
+        assertEquals(List.of(), index.containing("OLD-000"));
+        assertEquals(List.of(20_001), index.containing("NEW-0001"));
+        assertEquals(plates.size() + 1, index.size());
+    }
+
+    @Test
+    void initialLoadDoesNotOverwriteNewerPlateNumbers() {
+        index.put(new PlateNumberDTO(30_001, "NEWER-1"));
+        index.putIfAbsent(new PlateNumberDTO(30_001, "OLDER-1"));
+
+        assertEquals(List.of(30_001), index.containing("NEWER-1"));
+        assertEquals(List.of(), index.containing("OLDER-1"));
+    }
+
+    @Test
+    void concurrentChangesSharingTrigramsLoseNoPlateNumber() {
+        PlateIndex shared = new PlateIndex();
+        //Every thread adds and removes plate numbers with the same trigrams, so the sets of those trigrams keep
+        //being emptied and dropped while others add to them
+        CompletableFuture<?>[] writers = IntStream.range(0, 8).mapToObj(thread -> CompletableFuture.runAsync(() -> {
+            int vehicleId = 40_000 + thread;
+            for (int i = 0; i < 5000; i++) {
+                shared.put(new PlateNumberDTO(vehicleId, "RACE-" + thread));
+                shared.remove(vehicleId);
+            }
+            shared.put(new PlateNumberDTO(vehicleId, "RACE-" + thread));
+        })).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writers).join();
+
+        assertEquals(IntStream.range(40_000, 40_008).boxed().toList(), shared.containing("RACE-").stream().sorted().toList());
+    }
+
+    @Test
+    void limitIsCheckedAndHonoured() {
+        assertEquals(PlateIndex.MAX_LIMIT, index.similar("CAB-1234", PlateIndex.MAX_LIMIT, 0.05).size());
+        assertThrows(IllegalArgumentException.class, () -> index.similar("CAB-1234", PlateIndex.MAX_LIMIT + 1, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> index.similar("CAB-1234", Integer.MAX_VALUE, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> index.similar("CAB-1234", 0, 0.05));
+    }
+
+    private List<Integer> scan(Predicate<String> matches) {
+        return plates.stream()
+                .filter(plate -> matches.test(plate.getPlateNumber().toUpperCase(Locale.ROOT)))
+                .map(PlateNumberDTO::getVehicleId)
+                .toList();
+    }
+}
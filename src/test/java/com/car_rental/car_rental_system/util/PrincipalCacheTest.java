@@ -0,0 +1,73 @@
+package com.car_rental.car_rental_system.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("password").roles("USER").build();
+    };
+
+    @Test
+    void cachedPrincipalIsLoadedOnce() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(1), 100);
+
+        UserDetails first = cache.get("dilan", loader);
+        UserDetails second = cache.get("dilan", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void cachedPrincipalHasNoPassword() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(1), 100);
+
+        UserDetails principal = cache.get("dilan", loader);
+
+        assertNull(principal.getPassword());
+        assertEquals("dilan", principal.getUsername());
+    }
+
+    @Test
+    void fullCacheEvictsInsteadOfGrowing() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(1), 10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("user-" + i, loader);
+        }
+
+        assertEquals(100, loads.get());
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void invalidatedPrincipalIsLoadedAgain() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(1), 100);
+        cache.get("dilan", loader);
+
+        cache.invalidate("dilan");
+        cache.get("dilan", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void zeroTtlAlwaysLoads() {
+        PrincipalCache cache = new PrincipalCache(Duration.ZERO, 100);
+        cache.get("dilan", loader);
+        cache.get("dilan", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
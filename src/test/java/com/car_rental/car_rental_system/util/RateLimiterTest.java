@@ -0,0 +1,77 @@
+package com.car_rental.car_rental_system.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final RateLimiter rateLimiter = new RateLimiter("read=20:2,auth=2:0.5",
+            "POST /auth/**=auth:1,GET /request/all/*=read:10,GET /**=read:1");
+
+    @Test
+    void aBurstOfTheCapacityPassesAndThenTheRefillRate() {
+        RateLimiter.Route route = rateLimiter.route(request("GET", "/request/7"));
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(route, "user:alice", now));
+        }
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire(route, "user:alice", now));
+        assertEquals(0, rateLimiter.tryAcquire(route, "user:bob", now));
+
+        //Two tokens a second come back
+        assertEquals(0, rateLimiter.tryAcquire(route, "user:alice", now + SECOND / 2));
+        assertTrue(rateLimiter.tryAcquire(route, "user:alice", now + SECOND / 2) > 0);
+        assertEquals(2, limit("read").rejectedCount());
+    }
+
+    @Test
+    void listRoutesCostMoreOfTheSameBucket() {
+        RateLimiter.Route list = rateLimiter.route(request("GET", "/request/all/3"));
+        RateLimiter.Route lookup = rateLimiter.route(request("GET", "/request/3"));
+        assertEquals(10, list.cost());
+        assertEquals(1, lookup.cost());
+        assertSame(list.limit(), lookup.limit());
+        assertEquals("auth", rateLimiter.route(request("POST", "/auth/login")).limit().name());
+        assertNull(rateLimiter.route(request("PUT", "/request")));
+
+        long now = System.nanoTime();
+        assertEquals(0, rateLimiter.tryAcquire(list, "user:alice", now));
+        assertEquals(0, rateLimiter.tryAcquire(list, "user:alice", now));
+        assertEquals(5 * SECOND, rateLimiter.tryAcquire(list, "user:alice", now));
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire(lookup, "user:alice", now));
+    }
+
+    @Test
+    void fullBucketsArePurged() {
+        RateLimiter.Route route = rateLimiter.route(request("POST", "/auth/login"));
+        assertEquals(0, rateLimiter.tryAcquire(route, "ip:10.0.0.1", System.nanoTime() - 10 * SECOND));
+        assertEquals(0, rateLimiter.tryAcquire(route, "ip:10.0.0.2", System.nanoTime() + 10 * SECOND));
+
+        rateLimiter.purge();
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void misconfiguredRoutesAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read=5:1", "GET /**=write:1"));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read=5:1", "GET /**=read:6"));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read=5:0", "GET /**=read:1"));
+        assertDoesNotThrow(() -> new RateLimiter("", ""));
+    }
+
+    private RateLimiter.Limit limit(String name) {
+        return rateLimiter.limits().stream().filter(limit -> limit.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
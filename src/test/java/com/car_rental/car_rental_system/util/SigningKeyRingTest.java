@@ -0,0 +1,64 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyRingTest {
+
+    private static final String OLD_KEY = "k1:" + Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    private static final String NEW_KEY = "k2:" + Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    private static final UserDetails ALICE = User.withUsername("alice").password("").roles("USER").build();
+
+    @Test
+    void tokensOfARetiredActiveKeyStillVerify() {
+        JwtServiceImpl before = jwtService(new SigningKeyRing(OLD_KEY, "k1"));
+        JwtServiceImpl during = jwtService(new SigningKeyRing(OLD_KEY + "," + NEW_KEY, "k2"));
+        JwtServiceImpl after = jwtService(new SigningKeyRing(NEW_KEY, "k2"));
+
+        String oldToken = before.generateToken("alice");
+        String newToken = during.generateToken("alice");
+
+        assertEquals("k1", Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyRing(OLD_KEY, "")).build()
+                .parseClaimsJws(oldToken).getHeader().getKeyId());
+        assertEquals("alice", during.verify(oldToken).getUsername());
+        assertEquals("alice", after.verify(newToken).getUsername());
+        assertThrows(SignatureException.class, () -> after.verify(oldToken));
+        assertThrows(SignatureException.class, () -> before.verify(newToken));
+    }
+
+    @Test
+    void tokensWithoutAKeyIdVerifyWithTheFirstKey() {
+        SigningKeyRing ring = new SigningKeyRing(SigningKeyRing.DEFAULT_KEYS + "," + NEW_KEY, "k2");
+        String legacyToken = Jwts.builder()
+                .setSubject("alice")
+                .claim("role", ALICE.getAuthorities())
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(ring.verificationKey("k1"), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals("alice", jwtService(ring).verify(legacyToken).getUsername());
+    }
+
+    @Test
+    void anUnknownActiveKeyIsRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing(OLD_KEY, "k2"));
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyRing(OLD_KEY + "," + OLD_KEY, ""));
+    }
+
+    private static JwtServiceImpl jwtService(SigningKeyRing ring) {
+        return new JwtServiceImpl(username -> ALICE, new TokenRevocationList(1000, ""), ring, Duration.ofMinutes(15));
+    }
+}
@@ -0,0 +1,66 @@
+package com.car_rental.car_rental_system.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.now();
+
+    @Test
+    void revokedTokensAndUsersAreRefused() {
+        TokenRevocationList revocations = new TokenRevocationList(1000, "");
+        revocations.revoke("token-1", NOW.plus(1, ChronoUnit.HOURS));
+        revocations.revokeAll("alice", NOW, NOW.plus(1, ChronoUnit.HOURS));
+
+        assertTrue(revocations.isRevoked("bob", "token-1", NOW));
+        assertFalse(revocations.isRevoked("bob", "token-2", NOW));
+        assertTrue(revocations.isRevoked("alice", "token-3", NOW.minusSeconds(60)));
+        assertFalse(revocations.isRevoked("alice", "token-4", NOW.plusSeconds(1)));
+    }
+
+    @Test
+    void tokensIssuedLaterInTheSameSecondAsARevocationAreAccepted() {
+        TokenRevocationList revocations = new TokenRevocationList(1000, "");
+        Instant revokedAt = Instant.ofEpochSecond(NOW.getEpochSecond(), 400_000_000);
+        revocations.revokeAll("alice", revokedAt, revokedAt.plus(1, ChronoUnit.HOURS));
+
+        assertTrue(revocations.isRevoked("alice", null, revokedAt.minusMillis(1)));
+        assertTrue(revocations.isRevoked("alice", null, revokedAt));
+        assertFalse(revocations.isRevoked("alice", null, revokedAt.plusMillis(1)));
+    }
+
+    @Test
+    void expiredEntriesArePurged() {
+        TokenRevocationList revocations = new TokenRevocationList(1000, "");
+        revocations.revoke("expired", NOW.minusSeconds(1));
+        revocations.revoke("live", NOW.plus(1, ChronoUnit.HOURS));
+        revocations.revokeAll("alice", NOW.minusSeconds(7200), NOW.minusSeconds(3600));
+
+        revocations.purge();
+
+        assertEquals(1, revocations.size());
+        assertFalse(revocations.isRevoked("bob", "expired", NOW));
+        assertTrue(revocations.isRevoked("bob", "live", NOW));
+    }
+
+    @Test
+    void revocationsSurviveARestartThroughTheSnapshot(@TempDir Path directory) {
+        String snapshot = directory.resolve("revocations.txt").toString();
+        TokenRevocationList before = new TokenRevocationList(1000, snapshot);
+        before.revoke("token-1", NOW.plus(1, ChronoUnit.HOURS));
+        before.revokeAll("user name", NOW, NOW.plus(1, ChronoUnit.HOURS));
+        before.destroy();
+
+        TokenRevocationList after = new TokenRevocationList(1000, snapshot);
+        assertEquals(2, after.size());
+        assertTrue(after.isRevoked("bob", "token-1", NOW));
+        assertTrue(after.isRevoked("user name", null, NOW));
+    }
+}
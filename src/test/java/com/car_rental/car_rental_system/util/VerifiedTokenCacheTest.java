@@ -0,0 +1,42 @@
+package com.car_rental.car_rental_system.util;
+
+import com.car_rental.car_rental_system.dto.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void cachedTokensAreServedUntilTheyExpire() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Instant now = Instant.now();
+        cache.put("live", token(now.plusSeconds(60)), now);
+        cache.put("expired", token(now.minusSeconds(1)), now);
+
+        assertNotNull(cache.get("live", now));
+        assertNull(cache.get("live", now.plusSeconds(60)));
+        assertNull(cache.get("expired", now));
+    }
+
+    @Test
+    void theCacheStaysWithinItsBound() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Instant now = Instant.now();
+        for (int i = 0; i < 1000; i++) {
+            cache.put("token-" + i, token(now.plusSeconds(60)), now);
+        }
+
+        assertTrue(cache.size() <= 100, "Size was " + cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    private static VerifiedToken token(Instant expiresAt) {
+        return new VerifiedToken("alice", 1, false, List.of(), expiresAt, "id", expiresAt.minusSeconds(900));
+    }
+}